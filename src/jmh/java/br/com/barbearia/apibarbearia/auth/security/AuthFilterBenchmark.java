@@ -0,0 +1,81 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import br.com.barbearia.apibarbearia.auth.security.AuthFilterFixtures.TokenKind;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de uma requisição autenticada antes do controller: JwtAuthenticationFilter +
+ * JwtService + UserDetailsService, com request/response mock e sem banco
+ * (o UserDetailsService em memória mede só a montagem do principal, não a query).
+ *
+ * Cada tipo de token roda com 1, 8 e 64 threads. No setup, o resultado de cada token é
+ * conferido com o esperado ({@link TokenKind}): uma otimização que mude aceitação ou
+ * rejeição derruba o benchmark em vez de medir o caminho errado.
+ * <pre>
+ * mvn -P benchmark verify -Djmh.args="AuthFilterBenchmark -prof gc"
+ * mvn -P benchmark verify -Djmh.args="AuthFilterBenchmark.threads64 -p kind=VALID,REVOKED -p stateless=true"
+ * </pre>
+ * Reporta latência por requisição (percentis, modo sample); com {@code -prof gc},
+ * alocação por requisição (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthFilterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Chain {
+
+        @Param({"VALID", "EXPIRED", "MALFORMED", "REVOKED"})
+        public String kind;
+
+        @Param({"false", "true"})
+        public boolean stateless;
+
+        AuthFilterFixtures fixtures;
+        String token;
+
+        @Setup
+        public void setUp() throws Exception {
+            TokenKind expected = TokenKind.valueOf(kind);
+            fixtures = AuthFilterFixtures.create(stateless);
+            token = fixtures.token(expected);
+
+            int status = fixtures.run(token, new MockHttpServletRequest(), new MockHttpServletResponse());
+            if (status != expected.status) {
+                throw new IllegalStateException("Token " + kind + " deveria dar " + expected.status + ", deu " + status);
+            }
+        }
+    }
+
+    /** Request/response reaproveitados por thread: a alocação medida é a do filtro. */
+    @State(Scope.Thread)
+    public static class Exchange {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/me");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int threads1(Chain chain, Exchange exchange) throws Exception {
+        return chain.fixtures.run(chain.token, exchange.request, exchange.response);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int threads8(Chain chain, Exchange exchange) throws Exception {
+        return chain.fixtures.run(chain.token, exchange.request, exchange.response);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public int threads64(Chain chain, Exchange exchange) throws Exception {
+        return chain.fixtures.run(chain.token, exchange.request, exchange.response);
+    }
+}
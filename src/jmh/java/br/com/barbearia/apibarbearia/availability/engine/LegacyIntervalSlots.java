@@ -0,0 +1,138 @@
+package br.com.barbearia.apibarbearia.availability.engine;
+
+import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentSlotResponse;
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
+import br.com.barbearia.apibarbearia.availability.entity.TimeInterval;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Cópia do cálculo de slots por listas de intervalos (subtractBreaks / subtractOne /
+ * applyBlocks) que o AppointmentAvailabilityFacade usava antes do motor de bitmap.
+ * Existe só como referência de comparação nos benchmarks.
+ */
+final class LegacyIntervalSlots {
+
+    private LegacyIntervalSlots() {
+    }
+
+    static List<AppointmentSlotResponse> listSlots(LocalDate date, LocalTime dayStart, LocalTime dayEnd,
+                                                   List<TimeInterval> breaks, List<ScheduleBlock> blocks,
+                                                   List<LocalTime[]> busy, int duration, int stepMinutes) {
+
+        List<Interval> intervals = freeIntervals(date, dayStart, dayEnd, breaks, blocks);
+        List<AppointmentSlotResponse> result = new ArrayList<>();
+
+        for (Interval free : intervals) {
+            LocalTime cursor = free.start;
+
+            while (!cursor.plusMinutes(duration).isAfter(free.end)) {
+                LocalTime slotEnd = cursor.plusMinutes(duration);
+
+                boolean collides = false;
+                for (LocalTime[] b : busy) {
+                    if (overlaps(cursor, slotEnd, b[0], b[1])) {
+                        collides = true;
+                        break;
+                    }
+                }
+
+                if (!collides) {
+                    result.add(AppointmentSlotResponse.builder()
+                            .date(date)
+                            .start(cursor)
+                            .end(slotEnd)
+                            .build());
+                }
+
+                cursor = cursor.plusMinutes(stepMinutes);
+            }
+        }
+        return result;
+    }
+
+    /** Expediente menos pausas e bloqueios. */
+    static List<Interval> freeIntervals(LocalDate date, LocalTime dayStart, LocalTime dayEnd,
+                                        List<TimeInterval> breaks, List<ScheduleBlock> blocks) {
+        return applyBlocks(date, subtractBreaks(dayStart, dayEnd, breaks), blocks);
+    }
+
+    static final class Interval {
+        final LocalTime start;
+        final LocalTime end;
+
+        Interval(LocalTime start, LocalTime end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static boolean overlaps(LocalTime aStart, LocalTime aEnd, LocalTime bStart, LocalTime bEnd) {
+        return aStart.isBefore(bEnd) && aEnd.isAfter(bStart);
+    }
+
+    private static List<Interval> subtractBreaks(LocalTime dayStart, LocalTime dayEnd, List<TimeInterval> breaks) {
+        List<Interval> base = new ArrayList<>();
+        base.add(new Interval(dayStart, dayEnd));
+
+        if (breaks == null || breaks.isEmpty()) return base;
+
+        List<TimeInterval> sorted = breaks.stream()
+                .sorted(Comparator.comparing(TimeInterval::getStart))
+                .collect(Collectors.toList());
+
+        for (TimeInterval br : sorted) {
+            if (br.getStart() == null || br.getEnd() == null) continue;
+            base = subtractOne(base, br.getStart(), br.getEnd());
+        }
+
+        return base;
+    }
+
+    private static List<Interval> subtractOne(List<Interval> intervals, LocalTime subStart, LocalTime subEnd) {
+        List<Interval> res = new ArrayList<>();
+
+        for (Interval i : intervals) {
+            if (!overlaps(i.start, i.end, subStart, subEnd)) {
+                res.add(i);
+                continue;
+            }
+            if (i.start.isBefore(subStart)) {
+                res.add(new Interval(i.start, subStart));
+            }
+            if (i.end.isAfter(subEnd)) {
+                res.add(new Interval(subEnd, i.end));
+            }
+        }
+
+        return res.stream()
+                .filter(x -> x.start.isBefore(x.end))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Interval> applyBlocks(LocalDate date, List<Interval> freeIntervals, List<ScheduleBlock> blocks) {
+        if (blocks == null || blocks.isEmpty()) return freeIntervals;
+
+        List<Interval> res = new ArrayList<>(freeIntervals);
+
+        for (ScheduleBlock b : blocks) {
+            boolean dateOverlap = !(date.isBefore(b.getStartDate()) || date.isAfter(b.getEndDate()));
+            if (!dateOverlap) continue;
+
+            if (b.isFullDay()) return Collections.emptyList();
+
+            if (b.getStartDate() != null && b.getStartDate().equals(date)
+                    && b.getStartTime() != null && b.getEndTime() != null) {
+                res = subtractOne(res, b.getStartTime(), b.getEndTime());
+            }
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.barbearia.apibarbearia.availability.engine;
+
+import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentSlotResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de slots de um dia, sem banco: listas de intervalos (modo antigo) contra
+ * o motor de bitmap com agenda compilada (caminho atual do listAvailableSlots).
+ *
+ * {@code density} = "pausas-bloqueios-agendamentos". Exemplos:
+ * <pre>
+ * mvn -P benchmark verify
+ * mvn -P benchmark verify -Djmh.args="SlotComputationBenchmark -p density=6-12-30 -p step=5 -prof gc"
+ * </pre>
+ * Reporta ops/s; com {@code -prof gc}, também alocação por operação (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotComputationBenchmark {
+
+    @Param({"0-0-0", "2-1-8", "6-4-24"})
+    public String density;
+
+    @Param({"5", "15", "30"})
+    public int step;
+
+    @Param({"30"})
+    public int duration;
+
+    private SlotFixtures fixtures;
+    private CompiledSchedule schedule;
+
+    @Setup
+    public void setUp() {
+        fixtures = SlotFixtures.of(density);
+        // a agenda compilada fica em cache (WorkScheduleCache); compilar não faz parte do caminho quente
+        schedule = CompiledSchedule.of(Collections.singletonList(fixtures.day));
+    }
+
+    /** Só expediente menos pausas e bloqueios, por listas de intervalos. */
+    @Benchmark
+    public List<LegacyIntervalSlots.Interval> legacyFreeIntervals() {
+        return LegacyIntervalSlots.freeIntervals(SlotFixtures.DATE, SlotFixtures.DAY_START, SlotFixtures.DAY_END,
+                fixtures.day.getBreaks(), fixtures.blocks);
+    }
+
+    /** Só expediente menos pausas e bloqueios, por bitmap. */
+    @Benchmark
+    public DayBitmap bitmapWorkingMinutes() {
+        return schedule.workingMinutes(SlotFixtures.DATE, fixtures.blocks);
+    }
+
+    @Benchmark
+    public List<AppointmentSlotResponse> legacySlots() {
+        return LegacyIntervalSlots.listSlots(SlotFixtures.DATE, SlotFixtures.DAY_START, SlotFixtures.DAY_END,
+                fixtures.day.getBreaks(), fixtures.blocks, fixtures.appointments, duration, step);
+    }
+
+    /** Mesmos passos do AppointmentAvailabilityFacade.computeSlots depois das consultas. */
+    @Benchmark
+    public List<AppointmentSlotResponse> bitmapSlots() {
+        DayBitmap working = schedule.workingMinutes(SlotFixtures.DATE, fixtures.blocks);
+        if (working.isEmpty()) return Collections.emptyList();
+
+        DayBitmap busy = new DayBitmap();
+        for (LocalTime[] a : fixtures.appointments) {
+            AvailabilityEngine.markBusy(busy, a[0], a[1]);
+        }
+
+        int[] buffer = new int[DayBitmap.MINUTES_PER_DAY];
+        int count = AvailabilityEngine.findStarts(working, busy, duration, step, 0, buffer);
+
+        List<AppointmentSlotResponse> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(AppointmentSlotResponse.builder()
+                    .date(SlotFixtures.DATE)
+                    .start(DayBitmap.toTime(buffer[i]))
+                    .end(DayBitmap.toTime(buffer[i] + duration))
+                    .build());
+        }
+        return result;
+    }
+}
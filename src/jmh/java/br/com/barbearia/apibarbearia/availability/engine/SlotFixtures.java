@@ -0,0 +1,85 @@
+package br.com.barbearia.apibarbearia.availability.engine;
+
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleDay;
+import br.com.barbearia.apibarbearia.availability.entity.TimeInterval;
+import br.com.barbearia.apibarbearia.availability.entity.enums.BlockType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Dados sintéticos para os benchmarks: um dia de expediente (08:00–20:00) com
+ * N pausas, M bloqueios parciais e K agendamentos, sempre com a mesma semente.
+ */
+final class SlotFixtures {
+
+    static final LocalDate DATE = LocalDate.of(2030, 1, 7); // segunda-feira, sempre no futuro
+    static final LocalTime DAY_START = LocalTime.of(8, 0);
+    static final LocalTime DAY_END = LocalTime.of(20, 0);
+
+    private static final int OPEN_MINUTES = 12 * 60;
+
+    final ScheduleDay day;
+    final List<ScheduleBlock> blocks;
+    /** Agendamentos do dia em pares início/fim. */
+    final List<LocalTime[]> appointments;
+
+    private SlotFixtures(ScheduleDay day, List<ScheduleBlock> blocks, List<LocalTime[]> appointments) {
+        this.day = day;
+        this.blocks = blocks;
+        this.appointments = appointments;
+    }
+
+    /** {@code density} no formato "pausas-bloqueios-agendamentos", ex.: "2-1-8". */
+    static SlotFixtures of(String density) {
+        String[] parts = density.split("-");
+        int breaks = Integer.parseInt(parts[0]);
+        int blockCount = Integer.parseInt(parts[1]);
+        int appointmentCount = Integer.parseInt(parts[2]);
+
+        Random random = new Random(42);
+
+        ScheduleDay day = new ScheduleDay();
+        day.setDayOfWeek(DATE.getDayOfWeek());
+        day.setActive(true);
+        day.setStartTime(DAY_START);
+        day.setEndTime(DAY_END);
+        day.setBreaks(new ArrayList<>(randomIntervals(random, breaks, 10, 60)));
+
+        List<ScheduleBlock> blocks = new ArrayList<>();
+        for (TimeInterval t : randomIntervals(random, blockCount, 15, 90)) {
+            ScheduleBlock b = new ScheduleBlock();
+            b.setStartDate(DATE);
+            b.setEndDate(DATE);
+            b.setFullDay(false);
+            b.setStartTime(t.getStart());
+            b.setEndTime(t.getEnd());
+            b.setType(BlockType.values()[0]);
+            blocks.add(b);
+        }
+
+        List<LocalTime[]> appointments = new ArrayList<>();
+        for (TimeInterval t : randomIntervals(random, appointmentCount, 30, 60)) {
+            appointments.add(new LocalTime[]{t.getStart(), t.getEnd()});
+        }
+
+        return new SlotFixtures(day, Collections.unmodifiableList(blocks), Collections.unmodifiableList(appointments));
+    }
+
+    /** Intervalos alinhados em 5 minutos dentro do expediente; podem se sobrepor. */
+    private static List<TimeInterval> randomIntervals(Random random, int count, int minLength, int maxLength) {
+        List<TimeInterval> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = minLength + 5 * random.nextInt((maxLength - minLength) / 5 + 1);
+            int start = 5 * random.nextInt((OPEN_MINUTES - length) / 5 + 1);
+            LocalTime s = DAY_START.plusMinutes(start);
+            list.add(new TimeInterval(s, s.plusMinutes(length)));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.barbearia.apibarbearia.notification.email.template;
+
+import br.com.barbearia.apibarbearia.notification.email.template.appointment.AppointmentCanceledForClientTemplate;
+import br.com.barbearia.apibarbearia.notification.email.template.appointment.AppointmentCreatedForClientTemplate;
+import br.com.barbearia.apibarbearia.notification.email.template.catalog.CatalogCreatedTemplate;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render de e-mail: templates compilados ({@link CompiledTemplate}) contra as versões
+ * anteriores por concatenação (classes Legacy*, cópias fiéis de antes da troca).
+ *
+ * - catalog*: corpo do fan-out de catálogo (CatalogCreatedTemplate.htmlForOthers), um por usuário;
+ * - created* / canceled*: e-mails de agendamento ao cliente.
+ *
+ * No setup, cada par é comparado caractere a caractere: se o compilado divergir do
+ * legado, o benchmark falha em vez de medir HTML diferente.
+ * <pre>
+ * mvn -P benchmark verify -Djmh.args="EmailTemplateBenchmark -prof gc"
+ * </pre>
+ * Com {@code -prof gc}, gc.alloc.rate.norm dá a alocação por e-mail.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EmailTemplateBenchmark {
+
+    private static final String APP = "Barbearia Online";
+    private static final String FRONT = "https://barbearia.example.com";
+    private static final LocalDateTime START = LocalDateTime.of(2030, 3, 14, 15, 30);
+    private static final String CANCEL_LINK = FRONT + "/cancelar-agendamento?token=AAAAAAAAAAEAAAAAZpY.bWFjbWFjbWFjbWFj";
+
+    private final String[] names = new String[64];
+    private int next;
+
+    private LegacyEmailLayout legacyLayout;
+    private LegacyAppointmentCreatedForClientTemplate legacyCreated;
+    private LegacyAppointmentCanceledForClientTemplate legacyCanceled;
+
+    private CatalogCreatedTemplate catalog;
+    private AppointmentCreatedForClientTemplate created;
+    private AppointmentCanceledForClientTemplate canceled;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < names.length; i++) {
+            names[i] = (i % 8 == 0) ? "Cliente & Filhos <" + i + ">" : "Cliente " + i;
+        }
+
+        legacyLayout = new LegacyEmailLayout(APP, FRONT);
+        legacyCreated = new LegacyAppointmentCreatedForClientTemplate(legacyLayout);
+        legacyCanceled = new LegacyAppointmentCanceledForClientTemplate(legacyLayout);
+
+        EmailLayout layout = new EmailLayout(APP, FRONT);
+        catalog = new CatalogCreatedTemplate(layout);
+        created = new AppointmentCreatedForClientTemplate(layout);
+        canceled = new AppointmentCanceledForClientTemplate(layout);
+
+        for (String name : names) {
+            same("catalog", legacyCatalog(name), catalog.htmlForOthers(name, "Corte & Barba", "R$ 60,00"));
+            same("created", legacyCreated.html(name, "João", "Corte", START, CANCEL_LINK),
+                    created.html(name, "João", "Corte", START, CANCEL_LINK));
+            same("canceled", legacyCanceled.html(name, "João", "Corte", START, "admin", "INTERNAL", "Imprevisto <urgente>"),
+                    canceled.html(name, "João", "Corte", START, "admin", "INTERNAL", "Imprevisto <urgente>"));
+        }
+    }
+
+    @Benchmark
+    public String catalogLegacy() {
+        return legacyCatalog(name());
+    }
+
+    @Benchmark
+    public String catalogCompiled() {
+        return catalog.htmlForOthers(name(), "Corte & Barba", "R$ 60,00");
+    }
+
+    @Benchmark
+    public String createdLegacy() {
+        return legacyCreated.html(name(), "João", "Corte", START, CANCEL_LINK);
+    }
+
+    @Benchmark
+    public String createdCompiled() {
+        return created.html(name(), "João", "Corte", START, CANCEL_LINK);
+    }
+
+    @Benchmark
+    public String canceledLegacy() {
+        return legacyCanceled.html(name(), "João", "Corte", START, "admin", "INTERNAL", "Imprevisto");
+    }
+
+    @Benchmark
+    public String canceledCompiled() {
+        return canceled.html(name(), "João", "Corte", START, "admin", "INTERNAL", "Imprevisto");
+    }
+
+    private String name() {
+        return names[next++ & (names.length - 1)];
+    }
+
+    /** CatalogCreatedTemplate.htmlForOthers sobre o layout antigo. */
+    private String legacyCatalog(String nome) {
+        String content = legacyLayout.paragraph("Temos novidade! Um novo serviço acaba de ser adicionado ao nosso catálogo.") +
+                "<br>" +
+                legacyLayout.infoRow("Serviço", "Corte & Barba") +
+                legacyLayout.infoRow("Valor", "R$ 60,00");
+
+        return legacyLayout.baseTemplate(
+                "Olá, " + legacyLayout.escape(nome),
+                "Novidade no Catálogo ✨",
+                content,
+                "Conferir",
+                legacyLayout.frontendUrl() + "/catalogo"
+        );
+    }
+
+    private static void same(String template, String legacy, String compiled) {
+        if (!legacy.equals(compiled)) {
+            throw new IllegalStateException("Template " + template + " diverge do legado:\n" + legacy + "\n---\n" + compiled);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.barbearia.apibarbearia.appointment.controller;
 
 import br.com.barbearia.apibarbearia.appointment.dto.request.CreateAppointmentInternalRequest;
+import br.com.barbearia.apibarbearia.appointment.dto.response.AnyProfessionalSlotResponse;
 import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentCreatedResponse;
+import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentDaySlotsResponse;
 import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentSlotResponse;
 import br.com.barbearia.apibarbearia.appointment.dto.response.CancelInfoResponse;
+import br.com.barbearia.apibarbearia.appointment.dto.response.DayAvailabilityResponse;
 import br.com.barbearia.apibarbearia.appointment.dto.response.ProfessionalSimpleResponse;
 import br.com.barbearia.apibarbearia.appointment.service.AppointmentPublicService;
 import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
@@ -56,6 +59,34 @@ public class PublicAppointmentController {
         return ResponseEntity.ok(slots);
     }
 
+    @GetMapping("/slots/search")
+    public ResponseEntity<List<AppointmentDaySlotsResponse>> searchAvailableSlots(
+            @RequestParam Long serviceId,
+            @RequestParam Long professionalId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(publicService.searchSlots(serviceId, professionalId, from, to, limit));
+    }
+
+    @GetMapping("/slots/any")
+    public ResponseEntity<List<AnyProfessionalSlotResponse>> getAvailableSlotsAnyProfessional(
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(publicService.listSlotsAnyProfessional(serviceId, date));
+    }
+
+    @GetMapping("/availability/month")
+    public ResponseEntity<List<DayAvailabilityResponse>> getMonthAvailability(
+            @RequestParam Long serviceId,
+            @RequestParam Long professionalId,
+            @RequestParam String yearMonth
+    ) {
+        return ResponseEntity.ok(publicService.monthAvailability(serviceId, professionalId, yearMonth));
+    }
+
     @PostMapping
     public ResponseEntity<AppointmentCreatedResponse> create(
             @Valid @RequestBody CreateAppointmentInternalRequest req
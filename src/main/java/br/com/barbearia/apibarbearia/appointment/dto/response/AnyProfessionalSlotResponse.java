@@ -0,0 +1,25 @@
+package br.com.barbearia.apibarbearia.appointment.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnyProfessionalSlotResponse {
+
+    private LocalDate date;
+
+    private LocalTime start;
+
+    private LocalTime end;
+
+    /** Profissionais que podem atender neste horário */
+    private List<ProfessionalSimpleResponse> professionals;
+
+}
@@ -15,6 +15,8 @@ public class AppointmentCreatedResponse {
 
     private Long appointmentId;
 
+    private String code;
+
     private String status;
 
     private String serviceName;
@@ -0,0 +1,19 @@
+package br.com.barbearia.apibarbearia.appointment.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentDaySlotsResponse {
+
+    private LocalDate date;
+
+    private List<AppointmentSlotResponse> slots;
+
+}
@@ -0,0 +1,22 @@
+package br.com.barbearia.apibarbearia.appointment.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DayAvailabilityResponse {
+
+    private LocalDate date;
+
+    /** Minutos livres no expediente (sem pausas, bloqueios e agendamentos) */
+    private int freeMinutes;
+
+    /** true se cabe ao menos um atendimento do serviço no dia */
+    private boolean available;
+
+}
@@ -5,6 +5,10 @@ import lombok.*;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+/**
+ * Token de cancelamento no formato antigo (dois UUIDs). Links novos são assinados e não
+ * gravam linha ({@code CancelLinkService}); a tabela só atende links já enviados até vencerem.
+ */
 @Getter
 @Setter
 @Builder
@@ -15,7 +19,8 @@ import java.time.LocalDateTime;
         name = "appointment_cancel_tokens",
         indexes = {
                 @Index(name = "idx_cancel_token_token", columnList = "token", unique = true),
-                @Index(name = "idx_cancel_token_appointment", columnList = "appointment_id")
+                @Index(name = "idx_cancel_token_appointment", columnList = "appointment_id"),
+                @Index(name = "idx_cancel_token_expires_at", columnList = "expires_at")
         }
 )
 public class AppointmentCancelToken {
@@ -0,0 +1,26 @@
+package br.com.barbearia.apibarbearia.appointment.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * Último sequencial reservado de códigos de agendamento por mês (prefixo AAMM).
+ * Cada nó reserva faixas inteiras de uma vez e distribui em memória.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "appointment_code_counters")
+public class AppointmentCodeCounter {
+
+    @Id
+    @Column(length = 4)
+    private String prefix;
+
+    @Column(name = "last_value", nullable = false)
+    private int lastValue;
+}
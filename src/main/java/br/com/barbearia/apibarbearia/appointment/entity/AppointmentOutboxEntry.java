@@ -0,0 +1,71 @@
+package br.com.barbearia.apibarbearia.appointment.entity;
+
+import br.com.barbearia.apibarbearia.appointment.entity.enums.NotificationRecipient;
+import br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus;
+import br.com.barbearia.apibarbearia.appointment.events.AppointmentEventType;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Notificação de agendamento pendente de entrega (outbox transacional).
+ *
+ * Gravada na mesma transação que altera o agendamento: se a transação volta, a
+ * notificação some junto. O payload é o AppointmentChangedEvent em JSON.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "appointment_outbox",
+        indexes = {
+                @Index(name = "idx_appointment_outbox_due", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_appointment_outbox_appointment", columnList = "appointment_id")
+        }
+)
+public class AppointmentOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private AppointmentEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationRecipient recipient;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+}
@@ -0,0 +1,10 @@
+package br.com.barbearia.apibarbearia.appointment.entity.enums;
+
+/**
+ * Destinatário de uma notificação de agendamento. Cada destinatário é uma entrega
+ * separada na outbox: falha no e-mail do profissional não reenvia o do cliente.
+ */
+public enum NotificationRecipient {
+    CLIENT,
+    PROFESSIONAL
+}
@@ -0,0 +1,19 @@
+package br.com.barbearia.apibarbearia.appointment.entity.enums;
+
+/**
+ * Situação de uma entrega na appointment_outbox.
+ */
+public enum OutboxStatus {
+
+    /** Aguardando envio (primeira tentativa ou retry agendado em next_attempt_at) */
+    PENDING,
+
+    /** Reservada por um nó até locked_until; se o nó cair, volta a ser elegível depois disso */
+    PROCESSING,
+
+    /** Entregue */
+    SENT,
+
+    /** Esgotou as tentativas; fica para análise e não é mais reenviada */
+    DEAD
+}
@@ -2,15 +2,19 @@ package br.com.barbearia.apibarbearia.appointment.events;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 
 /**
  * Evento publicado após qualquer mudança relevante em um agendamento.
- * Consumido pelo AppointmentEventListener para disparar notificações.
+ * O AppointmentOutboxWriter grava as notificações na outbox, na mesma transação;
+ * o AppointmentOutboxDispatcher entrega depois pelo AppointmentNotificationHandler.
+ * Serializável em JSON (payload da outbox).
  */
 @Getter
 @Builder
+@Jacksonized
 public class AppointmentChangedEvent {
 
     // ── Identificação ────────────────────────────────────────────────────
@@ -23,6 +27,7 @@ public class AppointmentChangedEvent {
     private final String clientEmail;
 
     // ── Dados do profissional ───────────────────────────────────────────
+    private final Long   professionalUserId;
     private final String professionalName;
     private final String professionalEmail;
 
@@ -30,6 +35,7 @@ public class AppointmentChangedEvent {
     private final String       serviceName;
     private final Integer      durationMinutes;
     private final LocalDateTime startAt;
+    private final LocalDateTime endAt;
 
     // ── Criação ─────────────────────────────────────────────────────────
     private final LocalDateTime createdAt;
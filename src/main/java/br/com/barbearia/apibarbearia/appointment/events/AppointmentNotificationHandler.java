@@ -0,0 +1,113 @@
+package br.com.barbearia.apibarbearia.appointment.events;
+
+import br.com.barbearia.apibarbearia.appointment.entity.enums.NotificationRecipient;
+import br.com.barbearia.apibarbearia.notification.email.appointment.AppointmentEmailNotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Traduz eventos de agendamento em e-mails. Chamado pelo AppointmentOutboxDispatcher,
+ * uma vez por destinatário; falhas sobem para o dispatcher decidir o retry.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentNotificationHandler {
+
+    private final AppointmentEmailNotificationService emailService;
+
+    /**
+     * Destinatários que recebem e-mail para este evento (um registro na outbox cada).
+     * Confirmação, lembrete e no-show não notificam por e-mail.
+     */
+    public List<NotificationRecipient> recipients(AppointmentChangedEvent event) {
+        if (event.getType() != AppointmentEventType.CREATED && event.getType() != AppointmentEventType.CANCELED) {
+            return Collections.emptyList();
+        }
+        List<NotificationRecipient> recipients = new ArrayList<>(2);
+        if (hasEmail(event.getClientEmail())) recipients.add(NotificationRecipient.CLIENT);
+        if (hasEmail(event.getProfessionalEmail())) recipients.add(NotificationRecipient.PROFESSIONAL);
+        return recipients;
+    }
+
+    /** Envia o e-mail do evento para um destinatário. Lança exceção se o envio falhar. */
+    public void deliver(AppointmentChangedEvent event, NotificationRecipient recipient) {
+        switch (event.getType()) {
+            case CREATED:
+                if (recipient == NotificationRecipient.CLIENT) createdToClient(event);
+                else createdToProfessional(event);
+                break;
+            case CANCELED:
+                if (recipient == NotificationRecipient.CLIENT) canceledToClient(event);
+                else canceledToProfessional(event);
+                break;
+            default:
+                throw new IllegalArgumentException("Evento sem notificação: " + event.getType());
+        }
+    }
+
+    // ────────────────────────────────────────────────────────────────────────
+
+    private void createdToClient(AppointmentChangedEvent e) {
+        // Cliente — com PDF anexado
+        emailService.sendAppointmentCreatedToClient(
+                e.getClientEmail(),
+                e.getClientName(),
+                e.getProfessionalName(),
+                e.getServiceName(),
+                e.getStartAt(),
+                e.getDurationMinutes(),
+                e.getAppointmentCode(),
+                e.getCancelLink(),
+                e.getAppointmentId()   // ← novo: para gerar o PDF
+        );
+    }
+
+    private void createdToProfessional(AppointmentChangedEvent e) {
+        // Profissional — sem PDF
+        emailService.sendNewAppointmentToProfessional(
+                e.getProfessionalEmail(),
+                e.getProfessionalName(),
+                e.getClientName(),
+                e.getServiceName(),
+                e.getStartAt()
+        );
+    }
+
+    private void canceledToClient(AppointmentChangedEvent e) {
+        // Cliente — com PDF cancelado anexado
+        emailService.sendCanceledToClient(
+                e.getClientEmail(),
+                e.getClientName(),
+                e.getProfessionalName(),
+                e.getServiceName(),
+                e.getStartAt(),
+                e.getCanceledByUsername(),
+                e.getCancelOrigin(),
+                e.getCancelMessage(),
+                e.getAppointmentId(),  // ← novo
+                e.getAppointmentCode() // ← novo (para nomear o arquivo)
+        );
+    }
+
+    private void canceledToProfessional(AppointmentChangedEvent e) {
+        // Profissional — sem PDF
+        emailService.sendCanceledToProfessional(
+                e.getProfessionalEmail(),
+                e.getProfessionalName(),
+                e.getClientName(),
+                e.getServiceName(),
+                e.getStartAt(),
+                e.getCanceledByUsername(),
+                e.getCancelOrigin(),
+                e.getCancelMessage()
+        );
+    }
+
+    private boolean hasEmail(String email) {
+        return email != null && !email.isBlank();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,253 @@
+package br.com.barbearia.apibarbearia.appointment.events;
+
+import br.com.barbearia.apibarbearia.appointment.entity.AppointmentOutboxEntry;
+import br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * Entrega as notificações da appointment_outbox.
+ *
+ * Cada ciclo reserva um lote com SELECT ... FOR UPDATE SKIP LOCKED numa transação curta:
+ * marca PROCESSING, soma a tentativa e grava locked_until = agora + lease. O envio acontece
+ * fora da transação, sem segurar lock durante o SMTP; o resultado é gravado linha a linha.
+ * Vários nós podem drenar ao mesmo tempo: cada um reserva linhas diferentes.
+ *
+ * Antes de cada envio a reserva da linha é renovada por mais um lease, então um lote lento
+ * não deixa as últimas linhas vencerem enquanto esperam. Renovação e resultado só gravam se
+ * a linha ainda está PROCESSING com o locked_until deste nó; se outro nó a reservou (lease
+ * vencido), a linha é pulada e fica com ele.
+ *
+ * Falha: volta para PENDING com espera exponencial (base * 2^(tentativa-1), com teto e um
+ * pouco de jitter); ao atingir {@code max-attempts}, vai para DEAD. Se o nó cair no meio,
+ * a linha volta a ser elegível quando o lease vence — a entrega é "pelo menos uma vez".
+ *
+ * Roda numa thread própria: acordada pelo poll e, logo após cada commit, pelo
+ * AppointmentOutboxWriter.
+ */
+@Slf4j
+@Component
+public class AppointmentOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final AppointmentOutboxRepository repository;
+    private final AppointmentNotificationHandler handler;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+
+    private final ExecutorService worker;
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+    private final Counter lost;
+
+    public AppointmentOutboxDispatcher(
+            AppointmentOutboxRepository repository,
+            AppointmentNotificationHandler handler,
+            PlatformTransactionManager txManager,
+            MeterRegistry registry,
+            @Value("${app.outbox.batch-size:50}") int batchSize,
+            @Value("${app.outbox.max-batches:20}") int maxBatches,
+            @Value("${app.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.outbox.lease-seconds:300}") long leaseSeconds,
+            @Value("${app.outbox.backoff-base-seconds:30}") long backoffBaseSeconds,
+            @Value("${app.outbox.backoff-max-seconds:3600}") long backoffMaxSeconds
+    ) {
+        this.repository = repository;
+        this.handler = handler;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.backoffBase = Duration.ofSeconds(Math.max(1, backoffBaseSeconds));
+        this.backoffMax = Duration.ofSeconds(Math.max(backoffBase.getSeconds(), backoffMaxSeconds));
+
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "appointment-outbox");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.sent = Counter.builder("appointment.outbox.deliveries").tag("result", "sent").register(registry);
+        this.retried = Counter.builder("appointment.outbox.deliveries").tag("result", "retry").register(registry);
+        this.dead = Counter.builder("appointment.outbox.deliveries").tag("result", "dead").register(registry);
+        this.lost = Counter.builder("appointment.outbox.deliveries").tag("result", "lost").register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    @Scheduled(initialDelayString = "${app.outbox.initial-delay-ms:10000}",
+            fixedDelayString = "${app.outbox.poll-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /** Agenda um ciclo na thread da outbox; chamadas repetidas antes dele começar viram uma só. */
+    public void wakeUp() {
+        if (!queued.compareAndSet(false, true)) return;
+        try {
+            worker.execute(() -> {
+                queued.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            queued.set(false);
+        }
+    }
+
+    /** Processa lotes até esvaziar o que está vencido (ou {@code max-batches}). Devolve quantas linhas tratou. */
+    int drain() {
+        int processed = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            List<AppointmentOutboxEntry> batch;
+            try {
+                batch = claim(Instant.now());
+            } catch (RuntimeException e) {
+                log.warn("[OUTBOX] Falha ao reservar lote: {}", e.getMessage());
+                break;
+            }
+
+            for (AppointmentOutboxEntry entry : batch) {
+                try {
+                    process(entry);
+                } catch (RuntimeException e) {
+                    // Falhou ao gravar o resultado: a linha continua PROCESSING e volta quando o lease vencer.
+                    log.warn("[OUTBOX] Falha ao registrar entrega id={}: {}", entry.getId(), e.getMessage());
+                }
+            }
+            processed += batch.size();
+            if (batch.size() < batchSize) break;
+        }
+        return processed;
+    }
+
+    private List<AppointmentOutboxEntry> claim(Instant now) {
+        List<AppointmentOutboxEntry> batch = tx.execute(status -> {
+            List<AppointmentOutboxEntry> due = repository.lockDue(now, batchSize);
+            for (AppointmentOutboxEntry entry : due) {
+                entry.setStatus(OutboxStatus.PROCESSING);
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setLockedUntil(leaseFrom(now));
+            }
+            return due;
+        });
+        return batch == null ? Collections.emptyList() : batch;
+    }
+
+    private void process(AppointmentOutboxEntry entry) {
+        Instant renewed = leaseFrom(Instant.now());
+        Instant held = entry.getLockedUntil();
+        if (!update(() -> repository.renewLease(entry.getId(), held, renewed))) {
+            lost(entry, "antes do envio");
+            return;
+        }
+        entry.setLockedUntil(renewed);
+
+        AppointmentChangedEvent event;
+        try {
+            event = OutboxPayload.read(entry.getPayload());
+        } catch (IllegalArgumentException e) {
+            // Payload ilegível não melhora com retry.
+            markDead(entry, e);
+            return;
+        }
+
+        try {
+            handler.deliver(event, entry.getRecipient());
+        } catch (RuntimeException e) {
+            if (entry.getAttempts() >= maxAttempts) {
+                markDead(entry, e);
+            } else {
+                Instant next = Instant.now().plus(backoff(entry.getAttempts()));
+                if (!update(() -> repository.reschedule(entry.getId(), renewed, next, errorOf(e)))) {
+                    lost(entry, "após falha no envio");
+                    return;
+                }
+                retried.increment();
+                log.warn("[OUTBOX] Entrega id={} ({} {}) falhou na tentativa {}; nova tentativa em {}: {}",
+                        entry.getId(), entry.getEventType(), entry.getRecipient(), entry.getAttempts(), next, e.getMessage());
+            }
+            return;
+        }
+
+        if (!update(() -> repository.markSent(entry.getId(), renewed, Instant.now()))) {
+            lost(entry, "após o envio");
+            return;
+        }
+        sent.increment();
+    }
+
+    private void markDead(AppointmentOutboxEntry entry, RuntimeException e) {
+        if (!update(() -> repository.markDead(entry.getId(), entry.getLockedUntil(), errorOf(e)))) {
+            lost(entry, "ao descartar");
+            return;
+        }
+        dead.increment();
+        log.error("[OUTBOX] Entrega id={} ({} {}) descartada após {} tentativa(s): {}",
+                entry.getId(), entry.getEventType(), entry.getRecipient(), entry.getAttempts(), e.getMessage());
+    }
+
+    private void lost(AppointmentOutboxEntry entry, String when) {
+        lost.increment();
+        log.warn("[OUTBOX] Reserva da entrega id={} ({} {}) perdida {}; a linha fica com o nó que a reservou.",
+                entry.getId(), entry.getEventType(), entry.getRecipient(), when);
+    }
+
+    /** Executa a atualização condicional numa transação própria; false se nenhuma linha mudou. */
+    private boolean update(IntSupplier statement) {
+        Integer rows = tx.execute(status -> statement.getAsInt());
+        return rows != null && rows > 0;
+    }
+
+    /** Fim da reserva; em milissegundos para comparar igual ao valor gravado no banco. */
+    private Instant leaseFrom(Instant now) {
+        return now.plus(lease).truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    /** Espera antes da próxima tentativa, dado quantas já foram feitas (>= 1). */
+    Duration backoff(int attempts) {
+        int shift = Math.min(Math.max(0, attempts - 1), 30);
+        long seconds = Math.min(backoffBase.getSeconds() << shift, backoffMax.getSeconds());
+        long jitter = ThreadLocalRandom.current().nextLong(seconds / 10 + 1);
+        return Duration.ofSeconds(seconds + jitter);
+    }
+
+    private static String errorOf(Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.barbearia.apibarbearia.appointment.events;
+
+import br.com.barbearia.apibarbearia.appointment.entity.AppointmentOutboxEntry;
+import br.com.barbearia.apibarbearia.appointment.entity.enums.NotificationRecipient;
+import br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentOutboxRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava as notificações de um AppointmentChangedEvent na outbox, de forma síncrona e
+ * dentro da transação de quem publicou: rollback do agendamento = nenhum e-mail.
+ *
+ * Depois do commit acorda o dispatcher local, para o e-mail não esperar o próximo poll.
+ */
+@Component
+public class AppointmentOutboxWriter {
+
+    private final AppointmentOutboxRepository repository;
+    private final AppointmentNotificationHandler handler;
+    private final AppointmentOutboxDispatcher dispatcher;
+
+    public AppointmentOutboxWriter(
+            AppointmentOutboxRepository repository,
+            AppointmentNotificationHandler handler,
+            AppointmentOutboxDispatcher dispatcher
+    ) {
+        this.repository = repository;
+        this.handler = handler;
+        this.dispatcher = dispatcher;
+    }
+
+    @EventListener
+    @Transactional
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        List<NotificationRecipient> recipients = handler.recipients(event);
+        if (recipients.isEmpty()) return;
+
+        String payload = OutboxPayload.write(event);
+        Instant now = Instant.now();
+        List<AppointmentOutboxEntry> entries = new ArrayList<>(recipients.size());
+        for (NotificationRecipient recipient : recipients) {
+            entries.add(AppointmentOutboxEntry.builder()
+                    .appointmentId(event.getAppointmentId())
+                    .eventType(event.getType())
+                    .recipient(recipient)
+                    .payload(payload)
+                    .status(OutboxStatus.PENDING)
+                    .attempts(0)
+                    .nextAttemptAt(now)
+                    .createdAt(now)
+                    .build());
+        }
+        repository.saveAll(entries);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.wakeUp();
+                }
+            });
+        }
+    }
+}
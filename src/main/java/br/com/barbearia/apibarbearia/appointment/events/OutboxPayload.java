@@ -0,0 +1,38 @@
+package br.com.barbearia.apibarbearia.appointment.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * JSON do AppointmentChangedEvent guardado na outbox. Mapper próprio (e não o da API):
+ * mudar o formato das respostas HTTP não pode quebrar linhas já gravadas.
+ */
+final class OutboxPayload {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private OutboxPayload() {
+    }
+
+    static String write(AppointmentChangedEvent event) {
+        try {
+            return MAPPER.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento de agendamento.", e);
+        }
+    }
+
+    static AppointmentChangedEvent read(String json) {
+        try {
+            return MAPPER.readValue(json, AppointmentChangedEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload da outbox inválido: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package br.com.barbearia.apibarbearia.appointment.repository;
 
 import br.com.barbearia.apibarbearia.appointment.entity.AppointmentCancelToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AppointmentCancelTokenRepository extends JpaRepository<AppointmentCancelToken, Long> {
     Optional<AppointmentCancelToken> findByToken(String token);
     Optional<AppointmentCancelToken> findByAppointmentId(Long appointmentId);
+
+    @Query("SELECT t.id FROM AppointmentCancelToken t WHERE t.expiresAt < :cutoff")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM AppointmentCancelToken t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
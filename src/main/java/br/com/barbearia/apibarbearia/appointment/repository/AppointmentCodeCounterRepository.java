@@ -0,0 +1,17 @@
+package br.com.barbearia.apibarbearia.appointment.repository;
+
+import br.com.barbearia.apibarbearia.appointment.entity.AppointmentCodeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface AppointmentCodeCounterRepository extends JpaRepository<AppointmentCodeCounter, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM AppointmentCodeCounter c WHERE c.prefix = :prefix")
+    Optional<AppointmentCodeCounter> lockByPrefix(@Param("prefix") String prefix);
+}
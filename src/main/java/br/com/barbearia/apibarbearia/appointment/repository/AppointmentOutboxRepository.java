@@ -0,0 +1,72 @@
+package br.com.barbearia.apibarbearia.appointment.repository;
+
+import br.com.barbearia.apibarbearia.appointment.entity.AppointmentOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface AppointmentOutboxRepository extends JpaRepository<AppointmentOutboxEntry, Long> {
+
+    /**
+     * Trava um lote de entregas vencidas: PENDING com next_attempt_at já passado, ou
+     * PROCESSING cuja reserva expirou (nó que caiu no meio do envio). SKIP LOCKED faz
+     * cada nó pegar linhas diferentes sem esperar pelos outros. Precisa de transação.
+     */
+    @Query(value = "SELECT * FROM appointment_outbox " +
+            "WHERE (status = 'PENDING' AND next_attempt_at <= :now) " +
+            "   OR (status = 'PROCESSING' AND locked_until < :now) " +
+            "ORDER BY next_attempt_at, id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<AppointmentOutboxEntry> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    /*
+     * As atualizações abaixo só valem para quem ainda tem a reserva: PROCESSING com o
+     * locked_until que gravou. Devolvem 0 se outro nó reservou a linha depois que o lease venceu.
+     */
+
+    @Modifying
+    @Query("UPDATE AppointmentOutboxEntry e SET e.lockedUntil = :until WHERE e.id = :id AND " +
+            "e.status = br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus.PROCESSING " +
+            "AND e.lockedUntil = :lease")
+    int renewLease(@Param("id") Long id, @Param("lease") Instant lease, @Param("until") Instant until);
+
+    @Modifying
+    @Query("UPDATE AppointmentOutboxEntry e SET e.status = " +
+            "br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus.SENT, e.sentAt = :sentAt, " +
+            "e.lockedUntil = null, e.lastError = null WHERE e.id = :id AND " +
+            "e.status = br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus.PROCESSING " +
+            "AND e.lockedUntil = :lease")
+    int markSent(@Param("id") Long id, @Param("lease") Instant lease, @Param("sentAt") Instant sentAt);
+
+    @Modifying
+    @Query("UPDATE AppointmentOutboxEntry e SET e.status = " +
+            "br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus.PENDING, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lockedUntil = null, e.lastError = :error WHERE e.id = :id AND " +
+            "e.status = br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus.PROCESSING " +
+            "AND e.lockedUntil = :lease")
+    int reschedule(@Param("id") Long id, @Param("lease") Instant lease,
+                   @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE AppointmentOutboxEntry e SET e.status = " +
+            "br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus.DEAD, " +
+            "e.lockedUntil = null, e.lastError = :error WHERE e.id = :id AND " +
+            "e.status = br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus.PROCESSING " +
+            "AND e.lockedUntil = :lease")
+    int markDead(@Param("id") Long id, @Param("lease") Instant lease, @Param("error") String error);
+
+    @Query("SELECT e.id FROM AppointmentOutboxEntry e WHERE " +
+            "e.status = br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus.SENT AND e.sentAt < :cutoff")
+    List<Long> findExpiredIds(@Param("cutoff") Instant cutoff, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM AppointmentOutboxEntry e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
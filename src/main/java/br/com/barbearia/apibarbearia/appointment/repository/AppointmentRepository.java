@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 
 import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,8 +17,8 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>,
 
     Optional<Appointment> findByCode(String code);
 
-    @Query("SELECT a.code FROM Appointment a WHERE a.code LIKE CONCAT(:prefix, '%') ORDER BY a.code DESC")
-    List<String> findCodesByPrefix(@Param("prefix") String prefix);
+    @Query("SELECT MAX(a.code) FROM Appointment a WHERE a.code LIKE CONCAT(:prefix, '%')")
+    String findMaxCodeByPrefix(@Param("prefix") String prefix);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM Appointment a " +
@@ -44,6 +45,18 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>,
             @Param("activeStatuses") List<AppointmentStatus> activeStatuses
     );
 
+    @Query("SELECT a FROM Appointment a " +
+            "WHERE a.professionalUserId IN (:professionalIds) " +
+            "AND a.status IN (:activeStatuses) " +
+            "AND a.startAt >= :from AND a.startAt < :to " +
+            "ORDER BY a.startAt ASC")
+    List<Appointment> listAppointmentsForProfessionals(
+            @Param("professionalIds") Collection<Long> professionalIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("activeStatuses") List<AppointmentStatus> activeStatuses
+    );
+
     List<Appointment> findAllByStatusAndStartAtBetween(
             AppointmentStatus status,
             LocalDateTime from,
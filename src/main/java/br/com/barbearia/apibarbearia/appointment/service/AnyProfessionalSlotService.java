@@ -0,0 +1,184 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.dto.response.AnyProfessionalSlotResponse;
+import br.com.barbearia.apibarbearia.appointment.dto.response.ProfessionalSimpleResponse;
+import br.com.barbearia.apibarbearia.appointment.entity.Appointment;
+import br.com.barbearia.apibarbearia.appointment.entity.enums.AppointmentStatus;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
+import br.com.barbearia.apibarbearia.availability.engine.AvailabilityEngine;
+import br.com.barbearia.apibarbearia.availability.engine.DayBitmap;
+import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
+import br.com.barbearia.apibarbearia.common.exception.BadRequestException;
+import br.com.barbearia.apibarbearia.users.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Slots para "qualquer profissional" de um serviço.
+ *
+ * Fluxo:
+ * 1. responsáveis ativos do serviço
+ * 2. agendamentos do dia de todos eles em uma única consulta
+ * 3. disponibilidade de cada profissional calculada em paralelo (executor limitado)
+ * 4. timeline única, sem horários repetidos, com os profissionais livres em cada horário
+ *
+ * O executor é próprio e não é exposto como bean, para não virar o executor padrão do @Async.
+ * Fila cheia roda a tarefa na thread da requisição (backpressure em vez de erro).
+ */
+@Slf4j
+@Service
+public class AnyProfessionalSlotService {
+
+    private static final List<AppointmentStatus> ACTIVE_STATUSES =
+            Arrays.asList(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED);
+
+    private final AppointmentAvailabilityFacade availabilityFacade;
+    private final AppointmentRepository appointmentRepository;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    public AnyProfessionalSlotService(
+            AppointmentAvailabilityFacade availabilityFacade,
+            AppointmentRepository appointmentRepository,
+            @Value("${app.slots.any.parallelism:4}") int parallelism,
+            @Value("${app.slots.any.queue-capacity:64}") int queueCapacity,
+            @Value("${app.slots.any.timeout-ms:3000}") long timeoutMs
+    ) {
+        this.availabilityFacade = availabilityFacade;
+        this.appointmentRepository = appointmentRepository;
+        this.timeoutMs = timeoutMs;
+
+        int threads = Math.max(1, parallelism);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "slots-any-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<AnyProfessionalSlotResponse> listSlots(Long serviceId, LocalDate date, int stepMinutes) {
+
+        if (date == null) throw new BadRequestException("date é obrigatório.");
+        if (stepMinutes <= 0) stepMinutes = 5;
+
+        CatalogItem service = availabilityFacade.getServiceOrFail(serviceId);
+
+        Integer duration = service.getDurationMinutes();
+        if (duration == null || duration < 5) throw new BadRequestException("Duração do serviço inválida.");
+
+        List<User> professionals = service.getResponsibles() == null ? Collections.emptyList() :
+                service.getResponsibles().stream()
+                        .filter(User::isActive)
+                        .sorted(Comparator.comparing(User::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                                .thenComparing(User::getId))
+                        .collect(Collectors.toList());
+
+        if (professionals.isEmpty()) return Collections.emptyList();
+
+        Map<Long, DayBitmap> busyByProfessional = loadBusy(professionals, date);
+
+        final int dur = duration;
+        final int step = stepMinutes;
+        List<Callable<int[]>> tasks = new ArrayList<>(professionals.size());
+        for (User p : professionals) {
+            DayBitmap busy = busyByProfessional.get(p.getId());
+            tasks.add(() -> {
+                int[] buffer = new int[DayBitmap.MINUTES_PER_DAY];
+                int count = availabilityFacade.findFreeStarts(p.getId(), date, dur, step, busy, buffer);
+                return Arrays.copyOf(buffer, count);
+            });
+        }
+
+        List<Future<int[]>> futures;
+        try {
+            futures = executor.invokeAll(tasks, timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta de horários interrompida.", e);
+        }
+
+        // minuto de início -> profissionais livres (ordem alfabética preservada)
+        TreeMap<Integer, List<ProfessionalSimpleResponse>> timeline = new TreeMap<>();
+        for (int i = 0; i < professionals.size(); i++) {
+            int[] starts = collect(futures.get(i), professionals.get(i));
+            if (starts.length == 0) continue;
+
+            ProfessionalSimpleResponse prof = ProfessionalSimpleResponse.builder()
+                    .id(professionals.get(i).getId())
+                    .name(professionals.get(i).getName())
+                    .build();
+
+            for (int start : starts) {
+                timeline.computeIfAbsent(start, k -> new ArrayList<>()).add(prof);
+            }
+        }
+
+        List<AnyProfessionalSlotResponse> result = new ArrayList<>(timeline.size());
+        for (Map.Entry<Integer, List<ProfessionalSimpleResponse>> e : timeline.entrySet()) {
+            result.add(AnyProfessionalSlotResponse.builder()
+                    .date(date)
+                    .start(DayBitmap.toTime(e.getKey()))
+                    .end(DayBitmap.toTime(e.getKey() + dur))
+                    .professionals(e.getValue())
+                    .build());
+        }
+        return result;
+    }
+
+    /** Uma consulta para os agendamentos do dia de todos os profissionais, já em bitmaps de ocupados. */
+    private Map<Long, DayBitmap> loadBusy(List<User> professionals, LocalDate date) {
+        Map<Long, DayBitmap> busy = new HashMap<>();
+        for (User p : professionals) busy.put(p.getId(), new DayBitmap());
+
+        List<Appointment> appointments = appointmentRepository.listAppointmentsForProfessionals(
+                busy.keySet(),
+                date.atStartOfDay(),
+                date.plusDays(1).atStartOfDay(),
+                ACTIVE_STATUSES
+        );
+
+        for (Appointment a : appointments) {
+            DayBitmap b = busy.get(a.getProfessionalUserId());
+            if (b != null) AvailabilityEngine.markBusy(b, a.getStartAt().toLocalTime(), a.getEndAt().toLocalTime());
+        }
+        return busy;
+    }
+
+    /** Resultado de um profissional; falha ou timeout de um não derruba a resposta dos demais. */
+    private int[] collect(Future<int[]> future, User professional) {
+        if (future.isCancelled()) {
+            log.warn("Timeout ao calcular horários do profissional {}", professional.getId());
+            return new int[0];
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            log.warn("Falha ao calcular horários do profissional {}: {}", professional.getId(), e.getCause().getMessage());
+            return new int[0];
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new int[0];
+        }
+    }
+}
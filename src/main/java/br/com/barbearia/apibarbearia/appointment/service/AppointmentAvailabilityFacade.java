@@ -1,10 +1,13 @@
 package br.com.barbearia.apibarbearia.appointment.service;
 
+import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentDaySlotsResponse;
 import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentSlotResponse;
 import br.com.barbearia.apibarbearia.appointment.entity.Appointment;
 import br.com.barbearia.apibarbearia.appointment.entity.enums.AppointmentStatus;
 import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
-import br.com.barbearia.apibarbearia.availability.dto.ScheduleDTOs;
+import br.com.barbearia.apibarbearia.availability.engine.AvailabilityEngine;
+import br.com.barbearia.apibarbearia.availability.engine.CompiledSchedule;
+import br.com.barbearia.apibarbearia.availability.engine.DayBitmap;
 import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
 import br.com.barbearia.apibarbearia.availability.service.AvailabilityService;
 import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
@@ -13,8 +16,6 @@ import br.com.barbearia.apibarbearia.common.exception.BadRequestException;
 import br.com.barbearia.apibarbearia.common.exception.NotFoundException;
 import br.com.barbearia.apibarbearia.users.entity.User;
 import br.com.barbearia.apibarbearia.users.repository.UserRepository;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,26 +24,36 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Component
 public class AppointmentAvailabilityFacade {
 
+    private static final List<AppointmentStatus> ACTIVE_STATUSES =
+            Arrays.asList(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED);
+
+    private static final int DEFAULT_SEARCH_DAYS = 14;
+    private static final int MAX_SEARCH_DAYS = 62;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 500;
+
     private final CatalogRepository catalogRepository;
     private final UserRepository userRepository;
     private final AvailabilityService availabilityService;
     private final AppointmentRepository appointmentRepository;
+    private final AvailableSlotCache slotCache;
 
     public AppointmentAvailabilityFacade(
             CatalogRepository catalogRepository,
             UserRepository userRepository,
             AvailabilityService availabilityService,
-            AppointmentRepository appointmentRepository
+            AppointmentRepository appointmentRepository,
+            AvailableSlotCache slotCache
     ) {
         this.catalogRepository = catalogRepository;
         this.userRepository = userRepository;
         this.availabilityService = availabilityService;
         this.appointmentRepository = appointmentRepository;
+        this.slotCache = slotCache;
     }
 
     @Transactional(readOnly = true)
@@ -79,33 +90,22 @@ public class AppointmentAvailabilityFacade {
             throw new BadRequestException("Agendamento deve começar e terminar no mesmo dia.");
         }
 
-        ScheduleDTOs.ScheduleRequest schedule = availabilityService.getSchedule(
-                professionalId, // requesterId "fake" por causa do validateHierarchy
-                "DEV",
-                professionalId
-        );
-
-        ScheduleDTOs.DayConfig dayCfg = findDayConfig(schedule, date.getDayOfWeek());
-        if (dayCfg == null || !dayCfg.isActive()) throw new BadRequestException("Profissional não atende nesse dia.");
-
-        LocalTime dayStart = dayCfg.getStartTime();
-        LocalTime dayEnd = dayCfg.getEndTime();
+        CompiledSchedule schedule = availabilityService.getCompiledSchedule(professionalId);
+        DayOfWeek dow = date.getDayOfWeek();
+        if (!schedule.isActive(dow)) throw new BadRequestException("Profissional não atende nesse dia.");
 
         LocalTime st = startAt.toLocalTime();
         LocalTime en = endAt.toLocalTime();
 
-        if (dayStart == null || dayEnd == null) throw new BadRequestException("Agenda inválida para o dia.");
-        if (st.isBefore(dayStart) || en.isAfter(dayEnd)) throw new BadRequestException("Horário fora do expediente.");
-
-        // expediente menos pausas
-        List<Interval> baseIntervals = subtractBreaks(dayStart, dayEnd, dayCfg.getBreaks());
+        if (DayBitmap.minuteOf(st) < schedule.dayStart(dow) || DayBitmap.minuteCeil(en) > schedule.dayEnd(dow)) {
+            throw new BadRequestException("Horário fora do expediente.");
+        }
 
-        // aplica blocks
-        List<ScheduleBlock> blocks = availabilityService.listBlocks(professionalId, "DEV", professionalId);
-        final List<Interval> freeIntervals = applyBlocks(date, baseIntervals, blocks);
+        // expediente menos pausas e blocks, em bitmap de minutos
+        List<ScheduleBlock> blocks = availabilityService.findBlocksInRange(professionalId, date, date);
+        DayBitmap working = schedule.workingMinutes(date, blocks);
 
-        boolean fits = freeIntervals.stream().anyMatch(i -> !st.isBefore(i.getStart()) && !en.isAfter(i.getEnd()));
-        if (!fits) throw new BadRequestException("Horário indisponível (pausa/bloqueio).");
+        if (!AvailabilityEngine.fits(working, st, en)) throw new BadRequestException("Horário indisponível (pausa/bloqueio).");
     }
 
     // ==========================
@@ -127,158 +127,156 @@ public class AppointmentAvailabilityFacade {
         Integer duration = service.getDurationMinutes();
         if (duration == null || duration < 5) throw new BadRequestException("Duração do serviço inválida.");
 
-        ScheduleDTOs.ScheduleRequest schedule = availabilityService.getSchedule(professionalId, "DEV", professionalId);
-        ScheduleDTOs.DayConfig dayCfg = findDayConfig(schedule, date.getDayOfWeek());
-
-        if (dayCfg == null || !dayCfg.isActive()) return Collections.emptyList();
-
-        LocalTime dayStart = dayCfg.getStartTime();
-        LocalTime dayEnd = dayCfg.getEndTime();
-        if (dayStart == null || dayEnd == null) return Collections.emptyList();
+        final int step = stepMinutes;
+        return slotCache.get(professionalId, date, duration, step,
+                () -> computeSlots(professionalId, date, duration, step));
+    }
 
-        // expediente menos pausas
-        List<Interval> baseIntervals = subtractBreaks(dayStart, dayEnd, dayCfg.getBreaks());
+    private List<AppointmentSlotResponse> computeSlots(Long professionalId, LocalDate date, int duration, int stepMinutes) {
+        CompiledSchedule schedule = availabilityService.getCompiledSchedule(professionalId);
+        if (!schedule.isActive(date.getDayOfWeek())) return Collections.emptyList();
 
-        // aplica blocks
-        List<ScheduleBlock> blocks = availabilityService.listBlocks(professionalId, "DEV", professionalId);
-        final List<Interval> intervals = applyBlocks(date, baseIntervals, blocks);
+        // expediente menos pausas e blocks
+        List<ScheduleBlock> blocks = availabilityService.findBlocksInRange(professionalId, date, date);
+        DayBitmap working = schedule.workingMinutes(date, blocks);
+        if (working.isEmpty()) return Collections.emptyList();
 
         // agendamentos do dia (ocupados)
-        LocalDateTime from = date.atStartOfDay();
-        LocalDateTime to = date.plusDays(1).atStartOfDay();
-
         List<Appointment> dayAppointments = appointmentRepository.listDayAppointments(
                 professionalId,
-                from,
-                to,
-                Arrays.asList(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED)
+                date.atStartOfDay(),
+                date.plusDays(1).atStartOfDay(),
+                ACTIVE_STATUSES
         );
 
-        final List<IntervalDT> busy = dayAppointments.stream()
-                .map(a -> new IntervalDT(a.getStartAt().toLocalTime(), a.getEndAt().toLocalTime()))
-                .collect(Collectors.toList());
-
-        List<AppointmentSlotResponse> result = new ArrayList<>();
-
-        for (Interval free : intervals) {
-            LocalTime cursor = free.getStart();
-
-            while (!cursor.plusMinutes(duration).isAfter(free.getEnd())) {
-                LocalTime slotEnd = cursor.plusMinutes(duration);
-
-                boolean collides = false;
-                for (IntervalDT b : busy) {
-                    if (overlaps(cursor, slotEnd, b.getStart(), b.getEnd())) {
-                        collides = true;
-                        break;
-                    }
-                }
-
-
-                if (!collides) {
-                    result.add(AppointmentSlotResponse.builder()
-                            .date(date)
-                            .start(cursor)
-                            .end(slotEnd)
-                            .build());
-                }
-
-                cursor = cursor.plusMinutes(stepMinutes);
-            }
-        }
-
-        if (date.equals(LocalDate.now())) {
-            LocalTime now = LocalTime.now();
-            return result.stream()
-                    .filter(s -> s.getStart().isAfter(now))
-                    .collect(Collectors.toList());
+        DayBitmap busy = new DayBitmap();
+        for (Appointment a : dayAppointments) {
+            AvailabilityEngine.markBusy(busy, a.getStartAt().toLocalTime(), a.getEndAt().toLocalTime());
         }
 
+        List<AppointmentSlotResponse> result = new ArrayList<>();
+        appendSlots(result, date, working, busy, duration, stepMinutes, Integer.MAX_VALUE,
+                new int[DayBitmap.MINUTES_PER_DAY]);
         return result;
     }
 
-    private ScheduleDTOs.DayConfig findDayConfig(ScheduleDTOs.ScheduleRequest schedule, DayOfWeek dow) {
-        if (schedule == null || schedule.getDays() == null) return null;
-        return schedule.getDays().stream()
-                .filter(d -> d.getDayOfWeek() == dow)
-                .findFirst()
-                .orElse(null);
-    }
+    // ==========================
+    // ✅ BUSCA DE SLOTS em um intervalo de datas (próximos horários livres)
+    // ==========================
+    @Transactional(readOnly = true)
+    public List<AppointmentDaySlotsResponse> searchAvailableSlots(Long serviceId, Long professionalId,
+                                                                  LocalDate from, LocalDate to,
+                                                                  int limit, int stepMinutes) {
+
+        LocalDate today = LocalDate.now();
+        if (from == null || from.isBefore(today)) from = today;
+        if (to == null) to = from.plusDays(DEFAULT_SEARCH_DAYS - 1);
+        if (to.isBefore(from)) throw new BadRequestException("A data final deve ser igual ou posterior à inicial.");
+        if (from.plusDays(MAX_SEARCH_DAYS).isBefore(to.plusDays(1))) {
+            throw new BadRequestException("Intervalo máximo de busca é de " + MAX_SEARCH_DAYS + " dias.");
+        }
+        if (limit <= 0) limit = DEFAULT_SEARCH_LIMIT;
+        limit = Math.min(limit, MAX_SEARCH_LIMIT);
+        if (stepMinutes <= 0) stepMinutes = 5;
 
-    @Getter
-    @AllArgsConstructor
-    private static class Interval {
-        private LocalTime start;
-        private LocalTime end;
-    }
+        CatalogItem service = getServiceOrFail(serviceId);
+        User professional = getProfessionalOrFail(professionalId);
 
-    @Getter
-    @AllArgsConstructor
-    private static class IntervalDT {
-        private LocalTime start;
-        private LocalTime end;
-    }
+        if (!professional.isActive()) throw new BadRequestException("Profissional inativo.");
+        validateProfessionalIsResponsible(service, professionalId);
 
-    private boolean overlaps(LocalTime aStart, LocalTime aEnd, LocalTime bStart, LocalTime bEnd) {
-        return aStart.isBefore(bEnd) && aEnd.isAfter(bStart);
-    }
+        Integer duration = service.getDurationMinutes();
+        if (duration == null || duration < 5) throw new BadRequestException("Duração do serviço inválida.");
 
-    private List<Interval> subtractBreaks(LocalTime dayStart, LocalTime dayEnd, List<ScheduleDTOs.IntervalDTO> breaks) {
-        List<Interval> base = new ArrayList<>();
-        base.add(new Interval(dayStart, dayEnd));
+        // agenda e blocks carregados uma única vez para todo o intervalo
+        CompiledSchedule schedule = availabilityService.getCompiledSchedule(professionalId);
+        List<ScheduleBlock> blocks = availabilityService.findBlocksInRange(professionalId, from, to);
 
-        if (breaks == null || breaks.isEmpty()) return base;
+        // todos os agendamentos do intervalo em uma única consulta (ordenados por startAt)
+        List<Appointment> appointments = appointmentRepository.listDayAppointments(
+                professionalId,
+                from.atStartOfDay(),
+                to.plusDays(1).atStartOfDay(),
+                ACTIVE_STATUSES
+        );
 
-        List<ScheduleDTOs.IntervalDTO> sorted = breaks.stream()
-                .sorted(Comparator.comparing(ScheduleDTOs.IntervalDTO::getStart))
-                .collect(Collectors.toList());
+        List<AppointmentDaySlotsResponse> result = new ArrayList<>();
+        DayBitmap busy = new DayBitmap();
+        int[] buffer = new int[DayBitmap.MINUTES_PER_DAY];
+        int remaining = limit;
+        int cursor = 0;
+
+        for (LocalDate date = from; !date.isAfter(to) && remaining > 0; date = date.plusDays(1)) {
+            // avança o ponteiro dos agendamentos até o dia corrente
+            busy.reset();
+            while (cursor < appointments.size()
+                    && !appointments.get(cursor).getStartAt().toLocalDate().isAfter(date)) {
+                Appointment a = appointments.get(cursor++);
+                if (a.getStartAt().toLocalDate().equals(date)) {
+                    AvailabilityEngine.markBusy(busy, a.getStartAt().toLocalTime(), a.getEndAt().toLocalTime());
+                }
+            }
 
-        for (ScheduleDTOs.IntervalDTO br : sorted) {
-            if (br.getStart() == null || br.getEnd() == null) continue;
-            base = subtractOne(base, br.getStart(), br.getEnd());
-        }
+            if (!schedule.isActive(date.getDayOfWeek())) continue;
 
-        return base;
-    }
+            DayBitmap working = schedule.workingMinutes(date, blocks);
+            if (working.isEmpty()) continue;
 
-    private List<Interval> subtractOne(List<Interval> intervals, LocalTime subStart, LocalTime subEnd) {
-        List<Interval> res = new ArrayList<>();
+            List<AppointmentSlotResponse> daySlots = new ArrayList<>();
+            remaining -= appendSlots(daySlots, date, working, busy, duration, stepMinutes, remaining, buffer);
 
-        for (Interval i : intervals) {
-            if (!overlaps(i.getStart(), i.getEnd(), subStart, subEnd)) {
-                res.add(i);
-                continue;
-            }
-            if (i.getStart().isBefore(subStart)) {
-                res.add(new Interval(i.getStart(), subStart));
-            }
-            if (i.getEnd().isAfter(subEnd)) {
-                res.add(new Interval(subEnd, i.getEnd()));
+            if (!daySlots.isEmpty()) {
+                result.add(AppointmentDaySlotsResponse.builder()
+                        .date(date)
+                        .slots(daySlots)
+                        .build());
             }
         }
 
-        return res.stream()
-                .filter(x -> x.getStart().isBefore(x.getEnd()))
-                .collect(Collectors.toList());
+        return result;
     }
 
-    private List<Interval> applyBlocks(LocalDate date, List<Interval> freeIntervals, List<ScheduleBlock> blocks) {
-        if (blocks == null || blocks.isEmpty()) return freeIntervals;
+    /**
+     * Inícios livres de um profissional no dia, com o bitmap de ocupados já montado pelo chamador.
+     * Usado pela agregação "qualquer profissional", que busca os agendamentos de todos de uma vez.
+     * Pode rodar fora da thread da requisição: agenda e blocks abrem a própria transação.
+     *
+     * @return quantidade de inícios gravados em {@code buffer}
+     */
+    int findFreeStarts(Long professionalId, LocalDate date, int duration, int stepMinutes,
+                       DayBitmap busy, int[] buffer) {
 
-        List<Interval> res = new ArrayList<>(freeIntervals);
+        CompiledSchedule schedule = availabilityService.getCompiledSchedule(professionalId);
+        if (!schedule.isActive(date.getDayOfWeek())) return 0;
 
-        for (ScheduleBlock b : blocks) {
-            boolean dateOverlap = !(date.isBefore(b.getStartDate()) || date.isAfter(b.getEndDate()));
-            if (!dateOverlap) continue;
+        List<ScheduleBlock> blocks = availabilityService.findBlocksInRange(professionalId, date, date);
+        DayBitmap working = schedule.workingMinutes(date, blocks);
+        if (working.isEmpty()) return 0;
 
-            if (b.isFullDay()) return Collections.emptyList();
+        return AvailabilityEngine.findStarts(working, busy, duration, stepMinutes, notBefore(date), buffer);
+    }
 
-            if (b.getStartDate() != null && b.getStartDate().equals(date)
-                    && b.getStartTime() != null && b.getEndTime() != null) {
-                res = subtractOne(res, b.getStartTime(), b.getEndTime());
-            }
+    /**
+     * Calcula os inícios livres do dia e adiciona até {@code max} slots em {@code target}.
+     * Para hoje, só entram horários que começam depois de agora.
+     */
+    private int appendSlots(List<AppointmentSlotResponse> target, LocalDate date, DayBitmap working, DayBitmap busy,
+                            int duration, int stepMinutes, int max, int[] buffer) {
+
+        int count = Math.min(AvailabilityEngine.findStarts(working, busy, duration, stepMinutes, notBefore(date), buffer), max);
+
+        for (int i = 0; i < count; i++) {
+            target.add(AppointmentSlotResponse.builder()
+                    .date(date)
+                    .start(DayBitmap.toTime(buffer[i]))
+                    .end(DayBitmap.toTime(buffer[i] + duration))
+                    .build());
         }
+        return count;
+    }
 
-        return res;
+    /** Menor minuto de início aceito no dia: para hoje, só depois de agora. */
+    private int notBefore(LocalDate date) {
+        return date.equals(LocalDate.now()) ? DayBitmap.minuteOf(LocalTime.now()) + 1 : 0;
     }
 }
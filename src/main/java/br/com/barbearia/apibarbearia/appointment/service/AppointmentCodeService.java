@@ -1,13 +1,18 @@
 package br.com.barbearia.apibarbearia.appointment.service;
 
+import br.com.barbearia.apibarbearia.appointment.entity.AppointmentCodeCounter;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentCodeCounterRepository;
 import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Serviço para geração de códigos únicos de agendamento.
@@ -18,46 +23,55 @@ import java.util.List;
  * - XXXX: Sequencial do mês (4 dígitos, começa em 0001)
  *
  * Exemplo: 25020001 (primeiro agendamento de fevereiro de 2025)
+ *
+ * O sequencial vem de um contador por mês (appointment_code_counters). Cada nó
+ * reserva uma faixa de códigos em uma transação curta e própria e distribui a faixa
+ * em memória com um {@link AtomicInteger}: sem varredura de códigos e sem repetição
+ * entre requisições ou nós concorrentes. Códigos de faixas não usadas (restart) são pulados.
  */
 @Service
-@RequiredArgsConstructor
 public class AppointmentCodeService {
 
-    private final AppointmentRepository appointmentRepository;
-
     private static final DateTimeFormatter PREFIX_FORMAT =
             DateTimeFormatter.ofPattern("yyMM");
 
+    private static final int MAX_SEQUENCE = 9999;
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentCodeCounterRepository counterRepository;
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+
+    private volatile CodeBlock current;
+
+    public AppointmentCodeService(
+            AppointmentRepository appointmentRepository,
+            AppointmentCodeCounterRepository counterRepository,
+            PlatformTransactionManager txManager,
+            @Value("${app.appointments.code-block-size:50}") int blockSize
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.counterRepository = counterRepository;
+        this.requiresNew = new TransactionTemplate(txManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
     /**
      * Gera um novo código único para o agendamento.
-     * Thread-safe: usa transação para evitar duplicatas.
+     * Thread-safe: só toca o banco quando a faixa reservada acaba ou o mês vira.
      */
-    @Transactional
     public String generateCode() {
-
         String prefix = LocalDate.now().format(PREFIX_FORMAT); // Ex: "2502"
 
-        // Agora buscamos sem traço
-        List<String> existingCodes = appointmentRepository.findCodesByPrefix(prefix);
-
-        int nextSequence = 1;
-
-        if (!existingCodes.isEmpty()) {
-            String lastCode = existingCodes.get(0);
-
-            // 8 caracteres: 4 prefixo + 4 sequência
-            if (lastCode != null && lastCode.length() == 8) {
-                try {
-                    String sequencePart = lastCode.substring(4); // pega "0001" de "25020001"
-                    nextSequence = Integer.parseInt(sequencePart) + 1;
-                } catch (NumberFormatException ignored) {
-                    nextSequence = 1;
-                }
+        while (true) {
+            CodeBlock block = current;
+            if (block != null && block.prefix.equals(prefix)) {
+                int seq = block.next.getAndIncrement();
+                if (seq <= block.last) return format(prefix, seq);
             }
+            reserveBlock(prefix, block);
         }
-
-        // Formato final: 25020001
-        return prefix + String.format("%04d", nextSequence);
     }
 
     /**
@@ -67,4 +81,66 @@ public class AppointmentCodeService {
         if (code == null || code.length() != 8) return false;
         return code.matches("\\d{8}");
     }
+
+    /** Só uma thread por nó reserva; as demais esperam e usam a faixa nova. */
+    private synchronized void reserveBlock(String prefix, CodeBlock exhausted) {
+        if (current != exhausted) return; // outra thread já reservou
+
+        int last;
+        try {
+            last = requiresNew.execute(status -> advanceCounter(prefix));
+        } catch (DataIntegrityViolationException e) {
+            // outro nó criou o contador do mês ao mesmo tempo: agora a linha existe
+            last = requiresNew.execute(status -> advanceCounter(prefix));
+        }
+
+        int first = last - blockSize + 1;
+        if (first > MAX_SEQUENCE) {
+            throw new IllegalStateException("Limite de códigos de agendamento do mês atingido.");
+        }
+        current = new CodeBlock(prefix, first, Math.min(last, MAX_SEQUENCE));
+    }
+
+    /** Avança o contador do mês em uma faixa e devolve o último sequencial reservado. */
+    private int advanceCounter(String prefix) {
+        AppointmentCodeCounter counter = counterRepository.lockByPrefix(prefix).orElse(null);
+
+        if (counter == null) {
+            // primeira reserva do mês: parte do maior código já gravado (códigos antigos)
+            counter = AppointmentCodeCounter.builder()
+                    .prefix(prefix)
+                    .lastValue(sequenceOf(appointmentRepository.findMaxCodeByPrefix(prefix)))
+                    .build();
+        }
+
+        counter.setLastValue(counter.getLastValue() + blockSize);
+        counterRepository.saveAndFlush(counter);
+        return counter.getLastValue();
+    }
+
+    private int sequenceOf(String code) {
+        if (code == null || code.length() != 8) return 0;
+        try {
+            return Integer.parseInt(code.substring(4)); // pega "0001" de "25020001"
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+
+    private String format(String prefix, int sequence) {
+        // Formato final: 25020001
+        return prefix + String.format("%04d", sequence);
+    }
+
+    private static final class CodeBlock {
+        final String prefix;
+        final AtomicInteger next;
+        final int last;
+
+        CodeBlock(String prefix, int first, int last) {
+            this.prefix = prefix;
+            this.next = new AtomicInteger(first);
+            this.last = last;
+        }
+    }
 }
@@ -0,0 +1,117 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.entity.Appointment;
+import br.com.barbearia.apibarbearia.appointment.entity.enums.AppointmentStatus;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
+import br.com.barbearia.apibarbearia.common.exception.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Garante que um profissional não tenha dois agendamentos ativos sobrepostos.
+ *
+ * Com Postgres, a regra fica no banco: constraint de exclusão (btree_gist) sobre
+ * (professional_user_id, tsrange(start_at, end_at)) para PENDING/CONFIRMED.
+ * O INSERT concorrente que perder a corrida falha com 23P01 e vira {@link ConflictException};
+ * não há SELECT ... FOR UPDATE no caminho da criação.
+ *
+ * Se a constraint não puder ser criada (sem permissão para a extensão, dados antigos
+ * sobrepostos, outro banco), cai no modo antigo com lock pessimista.
+ */
+@Slf4j
+@Component
+public class AppointmentOverlapGuard {
+
+    static final String CONSTRAINT_NAME = "ex_appointments_professional_overlap";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final List<AppointmentStatus> ACTIVE_STATUSES =
+            Arrays.asList(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED);
+
+    private final AppointmentRepository appointmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    private volatile boolean enforcedByDatabase;
+
+    /** EntityManagerFactory garante que o ddl-auto já criou a tabela antes da constraint. */
+    public AppointmentOverlapGuard(
+            AppointmentRepository appointmentRepository,
+            JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${app.appointments.overlap-constraint.enabled:true}") boolean enabled
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void installConstraint() {
+        if (!enabled) {
+            log.info("Constraint de sobreposição desativada; usando lock pessimista na criação de agendamentos.");
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+            jdbcTemplate.execute(
+                    "DO $$ BEGIN " +
+                    "  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = '" + CONSTRAINT_NAME + "') THEN " +
+                    "    ALTER TABLE appointments ADD CONSTRAINT " + CONSTRAINT_NAME + " " +
+                    "      EXCLUDE USING gist (professional_user_id WITH =, tsrange(start_at, end_at, '[)') WITH &&) " +
+                    "      WHERE (status IN ('PENDING', 'CONFIRMED')); " +
+                    "  END IF; " +
+                    "END $$");
+            enforcedByDatabase = true;
+            log.info("Constraint {} ativa; criação de agendamentos sem lock pessimista.", CONSTRAINT_NAME);
+        } catch (DataAccessException e) {
+            enforcedByDatabase = false;
+            log.warn("Não foi possível instalar {} ({}); usando lock pessimista.", CONSTRAINT_NAME, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    public boolean isEnforcedByDatabase() {
+        return enforcedByDatabase;
+    }
+
+    /**
+     * Insere o agendamento já validado contra expediente e bloqueios.
+     * Conflito de horário com outro agendamento ativo vira {@link ConflictException}.
+     */
+    public Appointment insert(Appointment appointment) {
+        if (!enforcedByDatabase) {
+            List<Appointment> overlaps = appointmentRepository.findOverlapsForUpdate(
+                    appointment.getProfessionalUserId(), appointment.getStartAt(), appointment.getEndAt(),
+                    ACTIVE_STATUSES
+            );
+            if (!overlaps.isEmpty()) throw new ConflictException("Conflito: este horário já está ocupado.");
+            return appointmentRepository.save(appointment);
+        }
+
+        try {
+            return appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) throw new ConflictException("Conflito: este horário já está ocupado.");
+            throw e;
+        }
+    }
+
+    static boolean isOverlapViolation(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) t).getSQLState())) return true;
+            if (t.getMessage() != null && t.getMessage().contains(CONSTRAINT_NAME)) return true;
+            if (t.getCause() == t) break;
+        }
+        return false;
+    }
+}
@@ -1,20 +1,20 @@
 package br.com.barbearia.apibarbearia.appointment.service;
 
 import br.com.barbearia.apibarbearia.appointment.dto.request.CreateAppointmentInternalRequest;
+import br.com.barbearia.apibarbearia.appointment.dto.response.AnyProfessionalSlotResponse;
 import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentCreatedResponse;
+import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentDaySlotsResponse;
 import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentSlotResponse;
 import br.com.barbearia.apibarbearia.appointment.dto.response.CancelInfoResponse;
+import br.com.barbearia.apibarbearia.appointment.dto.response.DayAvailabilityResponse;
 import br.com.barbearia.apibarbearia.appointment.entity.Appointment;
-import br.com.barbearia.apibarbearia.appointment.entity.AppointmentCancelToken;
 import br.com.barbearia.apibarbearia.appointment.entity.enums.AppointmentCancelReason;
 import br.com.barbearia.apibarbearia.appointment.entity.enums.AppointmentStatus;
 import br.com.barbearia.apibarbearia.appointment.events.AppointmentChangedEvent;
 import br.com.barbearia.apibarbearia.appointment.events.AppointmentEventType;
-import br.com.barbearia.apibarbearia.appointment.repository.AppointmentCancelTokenRepository;
 import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
 import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
 import br.com.barbearia.apibarbearia.common.exception.BadRequestException;
-import br.com.barbearia.apibarbearia.common.exception.ConflictException;
 import br.com.barbearia.apibarbearia.common.exception.NotFoundException;
 import br.com.barbearia.apibarbearia.users.entity.User;
 import lombok.RequiredArgsConstructor;
@@ -25,17 +25,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AppointmentPublicService {
 
     private final AppointmentRepository appointmentRepository;
-    private final AppointmentCancelTokenRepository tokenRepository;
+    private final CancelLinkService cancelLinks;
     private final AppointmentAvailabilityFacade availabilityFacade;
+    private final AppointmentOverlapGuard overlapGuard;
+    private final AppointmentCodeService codeService;
+    private final AnyProfessionalSlotService anyProfessionalSlotService;
+    private final MonthAvailabilityService monthAvailabilityService;
     private final ApplicationEventPublisher publisher;
 
     @Value("${app.frontend.url:http://localhost:4200}")
@@ -65,13 +67,9 @@ public class AppointmentPublicService {
 
         availabilityFacade.validateWithinWorkSchedule(null, null, professional.getId(), startAt, endAt);
 
-        List<Appointment> overlaps = appointmentRepository.findOverlapsForUpdate(
-                professional.getId(), startAt, endAt,
-                Arrays.asList(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED)
-        );
-        if (!overlaps.isEmpty()) throw new ConflictException("Conflito: este horário já está ocupado.");
 
         Appointment a = Appointment.builder()
+                .code(codeService.generateCode())
                 .clientName(req.getClientName().trim())
                 .clientEmail(req.getClientEmail().trim().toLowerCase())
                 .clientPhone(req.getClientPhone().trim())
@@ -88,33 +86,31 @@ public class AppointmentPublicService {
                 .createdByRole("PUBLIC")
                 .build();
 
-        Appointment saved = appointmentRepository.save(a);
+        Appointment saved = overlapGuard.insert(a);
 
-        String token = UUID.randomUUID() + "-" + UUID.randomUUID();
-        AppointmentCancelToken t = AppointmentCancelToken.builder()
-                .appointmentId(saved.getId())
-                .token(token)
-                .expiresAt(saved.getStartAt().minusMinutes(10))
-                .build();
-        tokenRepository.save(t);
+        String token = cancelLinks.issue(saved.getId(), saved.getStartAt().minusMinutes(10));
 
         String cancelLink = frontendUrl + "/cancelar-agendamento?token=" + token;
 
         publisher.publishEvent(AppointmentChangedEvent.builder()
                 .type(AppointmentEventType.CREATED)
                 .appointmentId(saved.getId())
+                .appointmentCode(saved.getCode())
                 .clientName(saved.getClientName())
                 .clientEmail(saved.getClientEmail())
+                .professionalUserId(saved.getProfessionalUserId())
                 .professionalName(saved.getProfessionalName())
                 .professionalEmail(saved.getProfessionalEmail())
                 .serviceName(saved.getServiceName())
                 .startAt(saved.getStartAt())
+                .endAt(saved.getEndAt())
                 .cancelLink(cancelLink)
                 .build());
 
         return AppointmentCreatedResponse.builder()
                 .message("Agendamento criado com sucesso")
                 .appointmentId(saved.getId())
+                .code(saved.getCode())
                 .status(saved.getStatus().name())
                 .serviceName(saved.getServiceName())
                 .professionalName(saved.getProfessionalName())
@@ -131,7 +127,7 @@ public class AppointmentPublicService {
     public void cancelByToken(String token) {
         if (token == null || token.trim().isEmpty()) throw new BadRequestException("Token inválido.");
 
-        AppointmentCancelToken t = tokenRepository.findByToken(token)
+        CancelLinkService.CancelLink t = cancelLinks.resolve(token)
                 .orElseThrow(() -> new NotFoundException("Token inválido."));
 
         if (t.isUsed())    throw new BadRequestException("Token já utilizado.");
@@ -153,18 +149,19 @@ public class AppointmentPublicService {
         a.setCancelReason(AppointmentCancelReason.CLIENT);
         appointmentRepository.save(a);
 
-        t.setUsedAt(LocalDateTime.now());
-        tokenRepository.save(t);
+        cancelLinks.consume(t);
 
         publisher.publishEvent(AppointmentChangedEvent.builder()
                 .type(AppointmentEventType.CANCELED)
                 .appointmentId(a.getId())
                 .clientName(a.getClientName())
                 .clientEmail(a.getClientEmail())
+                .professionalUserId(a.getProfessionalUserId())
                 .professionalName(a.getProfessionalName())
                 .professionalEmail(a.getProfessionalEmail())
                 .serviceName(a.getServiceName())
                 .startAt(a.getStartAt())
+                .endAt(a.getEndAt())
                 .build());
     }
 
@@ -174,7 +171,7 @@ public class AppointmentPublicService {
             throw new BadRequestException("Token inválido.");
         }
 
-        AppointmentCancelToken t = tokenRepository.findByToken(token)
+        CancelLinkService.CancelLink t = cancelLinks.resolve(token)
                 .orElseThrow(() -> new NotFoundException("Token inválido ou expirado."));
 
         if (t.isUsed()) {
@@ -207,6 +204,21 @@ public class AppointmentPublicService {
         return availabilityFacade.listAvailableSlots(serviceId, professionalId, date, 5);
     }
 
+    @Transactional(readOnly = true)
+    public List<AppointmentDaySlotsResponse> searchSlots(Long serviceId, Long professionalId,
+                                                         LocalDate from, LocalDate to, Integer limit) {
+        return availabilityFacade.searchAvailableSlots(serviceId, professionalId, from, to,
+                limit != null ? limit : 0, 5);
+    }
+
+    public List<AnyProfessionalSlotResponse> listSlotsAnyProfessional(Long serviceId, LocalDate date) {
+        return anyProfessionalSlotService.listSlots(serviceId, date, 5);
+    }
+
+    public List<DayAvailabilityResponse> monthAvailability(Long serviceId, Long professionalId, String yearMonth) {
+        return monthAvailabilityService.getMonth(serviceId, professionalId, yearMonth);
+    }
+
     private void validateStart(LocalDateTime startAt) {
         if (startAt == null) throw new BadRequestException("startAt é obrigatório.");
         if (startAt.isBefore(LocalDateTime.now())) throw new BadRequestException("Não é possível agendar no passado.");
@@ -55,10 +55,12 @@ public class AppointmentScheduler {
                     .appointmentCode(a.getCode())
                     .clientName(a.getClientName())
                     .clientEmail(a.getClientEmail())
+                    .professionalUserId(a.getProfessionalUserId())
                     .professionalName(a.getProfessionalName())
                     .professionalEmail(a.getProfessionalEmail())
                     .serviceName(a.getServiceName())
                     .startAt(a.getStartAt())
+                    .endAt(a.getEndAt())
                     .build());
         }
     }
@@ -105,10 +107,12 @@ public class AppointmentScheduler {
                     .appointmentCode(a.getCode())
                     .clientName(a.getClientName())
                     .clientEmail(a.getClientEmail())
+                    .professionalUserId(a.getProfessionalUserId())
                     .professionalName(a.getProfessionalName())
                     .professionalEmail(a.getProfessionalEmail())
                     .serviceName(a.getServiceName())
                     .startAt(a.getStartAt())
+                    .endAt(a.getEndAt())
                     .build());
         }
     }
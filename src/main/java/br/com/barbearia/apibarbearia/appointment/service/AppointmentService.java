@@ -9,10 +9,10 @@ import br.com.barbearia.apibarbearia.appointment.repository.*;
 import br.com.barbearia.apibarbearia.appointment.spec.AppointmentSpecifications;
 import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
 import br.com.barbearia.apibarbearia.common.exception.BadRequestException;
-import br.com.barbearia.apibarbearia.common.exception.ConflictException;
 import br.com.barbearia.apibarbearia.common.exception.NotFoundException;
+import br.com.barbearia.apibarbearia.users.dto.UserProfile;
 import br.com.barbearia.apibarbearia.users.entity.User;
-import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import br.com.barbearia.apibarbearia.users.service.UserDirectory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
@@ -29,11 +29,12 @@ import java.util.*;
 public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
-    private final AppointmentCancelTokenRepository tokenRepository;
+    private final CancelLinkService cancelLinks;
     private final AppointmentAvailabilityFacade availabilityFacade;
     private final AppointmentAccessService accessService;
     private final AppointmentCodeService codeService;
-    private final UserRepository userRepository;
+    private final AppointmentOverlapGuard overlapGuard;
+    private final UserDirectory userDirectory;
     private final ApplicationEventPublisher publisher;
 
     @Value("${app.frontend.url:http://localhost:4200}")
@@ -99,13 +100,8 @@ public class AppointmentService {
 
         availabilityFacade.validateWithinWorkSchedule(requesterId, requesterRole, professional.getId(), startAt, endAt);
 
-        List<Appointment> overlaps = appointmentRepository.findOverlapsForUpdate(
-                professional.getId(), startAt, endAt,
-                Arrays.asList(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED)
-        );
-        if (!overlaps.isEmpty()) throw new ConflictException("Conflito: este horário já está ocupado.");
 
-        User creator = userRepository.findById(requesterId).orElse(null);
+        UserProfile creator = userDirectory.find(requesterId).orElse(null);
         String creatorUsername = creator != null ? creator.getName() : null;
         String creatorEmail = creator != null ? creator.getEmail() : null;
 
@@ -133,15 +129,9 @@ public class AppointmentService {
                 .createdByEmail(creatorEmail)
                 .build();
 
-        Appointment saved = appointmentRepository.save(a);
+        Appointment saved = overlapGuard.insert(a);
 
-        String token = generateToken();
-        AppointmentCancelToken t = AppointmentCancelToken.builder()
-                .appointmentId(saved.getId())
-                .token(token)
-                .expiresAt(saved.getStartAt().minusMinutes(10))
-                .build();
-        tokenRepository.save(t);
+        String token = cancelLinks.issue(saved.getId(), saved.getStartAt().minusMinutes(10));
 
         String cancelLink = frontendUrl + "/cancelar-agendamento?token=" + token;
 
@@ -151,10 +141,12 @@ public class AppointmentService {
                 .appointmentCode(saved.getCode())
                 .clientName(saved.getClientName())
                 .clientEmail(saved.getClientEmail())
+                .professionalUserId(saved.getProfessionalUserId())
                 .professionalName(saved.getProfessionalName())
                 .professionalEmail(saved.getProfessionalEmail())
                 .serviceName(saved.getServiceName())
                 .startAt(saved.getStartAt())
+                .endAt(saved.getEndAt())
                 .durationMinutes(saved.getDurationMinutes())
                 .cancelLink(cancelLink)
                 .createdAt(now)
@@ -178,7 +170,7 @@ public class AppointmentService {
         }
 
         // Busca o usuário que está cancelando para pegar o nome real
-        User canceler = userRepository.findById(requesterId).orElse(null);
+        UserProfile canceler = userDirectory.find(requesterId).orElse(null);
         String cancelerUsername = canceler != null ? canceler.getName() : "Administração";
         String cancelerEmail = canceler != null ? canceler.getEmail() : null;
 
@@ -206,10 +198,12 @@ public class AppointmentService {
                 .appointmentCode(a.getCode())
                 .clientName(a.getClientName())
                 .clientEmail(a.getClientEmail())
+                .professionalUserId(a.getProfessionalUserId())
                 .professionalName(a.getProfessionalName())
                 .professionalEmail(a.getProfessionalEmail())
                 .serviceName(a.getServiceName())
                 .startAt(a.getStartAt())
+                .endAt(a.getEndAt())
                 .canceledAt(now)
                 .canceledByUsername(cancelerUsername)
                 .cancelOrigin("INTERNAL")
@@ -219,10 +213,10 @@ public class AppointmentService {
 
     @Transactional
     public void cancelByToken(String token) {
-        AppointmentCancelToken cancelToken = tokenRepository.findByToken(token)
+        CancelLinkService.CancelLink cancelToken = cancelLinks.resolve(token)
                 .orElseThrow(() -> new NotFoundException("Token inválido ou expirado."));
 
-        if (LocalDateTime.now().isAfter(cancelToken.getExpiresAt())) {
+        if (cancelToken.isExpired()) {
             throw new BadRequestException("Token expirado. Não é possível cancelar.");
         }
 
@@ -244,7 +238,7 @@ public class AppointmentService {
         a.setUpdatedAt(now);
 
         appointmentRepository.save(a);
-        tokenRepository.delete(cancelToken);
+        cancelLinks.consume(cancelToken);
 
         publisher.publishEvent(AppointmentChangedEvent.builder()
                 .type(AppointmentEventType.CANCELED)
@@ -252,10 +246,12 @@ public class AppointmentService {
                 .appointmentCode(a.getCode())
                 .clientName(a.getClientName())
                 .clientEmail(a.getClientEmail())
+                .professionalUserId(a.getProfessionalUserId())
                 .professionalName(a.getProfessionalName())
                 .professionalEmail(a.getProfessionalEmail())
                 .serviceName(a.getServiceName())
                 .startAt(a.getStartAt())
+                .endAt(a.getEndAt())
                 .canceledAt(now)
                 .canceledByUsername(a.getClientName())
                 .cancelOrigin("CLIENT")
@@ -285,7 +281,7 @@ public class AppointmentService {
             throw new BadRequestException("Tempo limite para confirmação expirado.");
         }
 
-        User confirmer = userRepository.findById(requesterId).orElse(null);
+        UserProfile confirmer = userDirectory.find(requesterId).orElse(null);
         String confirmerUsername = confirmer != null ? confirmer.getName() : null;
         String confirmerEmail = confirmer != null ? confirmer.getEmail() : null;
 
@@ -305,10 +301,12 @@ public class AppointmentService {
                 .appointmentCode(a.getCode())
                 .clientName(a.getClientName())
                 .clientEmail(a.getClientEmail())
+                .professionalUserId(a.getProfessionalUserId())
                 .professionalName(a.getProfessionalName())
                 .professionalEmail(a.getProfessionalEmail())
                 .serviceName(a.getServiceName())
                 .startAt(a.getStartAt())
+                .endAt(a.getEndAt())
                 .confirmedAt(now)
                 .confirmedByUsername(confirmerUsername)
                 .confirmedByRole(accessService.normalizeRole(requesterRole))
@@ -334,7 +332,7 @@ public class AppointmentService {
             throw new BadRequestException("Agendamento já foi confirmado. Não é possível marcar como no-show.");
         }
 
-        User marker = userRepository.findById(requesterId).orElse(null);
+        UserProfile marker = userDirectory.find(requesterId).orElse(null);
         String markerUsername = marker != null ? marker.getName() : null;
 
         a.setStatus(AppointmentStatus.NO_SHOW);
@@ -346,6 +344,20 @@ public class AppointmentService {
         a.setUpdatedAt(now);
 
         appointmentRepository.save(a);
+
+        publisher.publishEvent(AppointmentChangedEvent.builder()
+                .type(AppointmentEventType.NO_SHOW)
+                .appointmentId(a.getId())
+                .appointmentCode(a.getCode())
+                .clientName(a.getClientName())
+                .clientEmail(a.getClientEmail())
+                .professionalUserId(a.getProfessionalUserId())
+                .professionalName(a.getProfessionalName())
+                .professionalEmail(a.getProfessionalEmail())
+                .serviceName(a.getServiceName())
+                .startAt(a.getStartAt())
+                .endAt(a.getEndAt())
+                .build());
     }
 
     private AppointmentDetailResponse toDetailResponse(Appointment a) {
@@ -434,10 +446,6 @@ public class AppointmentService {
         return s.length() > 500 ? s.substring(0, 500) : s;
     }
 
-    private String generateToken() {
-        return UUID.randomUUID() + "-" + UUID.randomUUID();
-    }
-
     private String firstNonEmpty(String... vals) {
         if (vals == null) return null;
         for (String v : vals) {
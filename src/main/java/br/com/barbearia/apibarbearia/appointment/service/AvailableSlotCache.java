@@ -0,0 +1,213 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentSlotResponse;
+import br.com.barbearia.apibarbearia.appointment.events.AppointmentChangedEvent;
+import br.com.barbearia.apibarbearia.appointment.events.AppointmentEventType;
+import br.com.barbearia.apibarbearia.availability.events.ScheduleBlockChangedEvent;
+import br.com.barbearia.apibarbearia.availability.events.WorkScheduleChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache dos slots calculados por (profissional, data, duração, passo).
+ *
+ * Limitado por tamanho (LRU) e por TTL. Evicção precisa:
+ * - agendamento criado/cancelado/no-show: só o dia daquele profissional
+ * - bloqueio ou rotina alterados: todos os dias daquele profissional
+ *
+ * Para hoje, horários que já passaram são filtrados na leitura.
+ */
+@Component
+public class AvailableSlotCache {
+
+    private static final Set<AppointmentEventType> EVICTING_EVENTS = EnumSet.of(
+            AppointmentEventType.CREATED,
+            AppointmentEventType.CANCELED,
+            AppointmentEventType.NO_SHOW
+    );
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<Key, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictAppointment;
+    private final Counter evictProfessional;
+    private final Counter evictSize;
+    private final Counter evictExpired;
+
+    public AvailableSlotCache(
+            MeterRegistry registry,
+            @Value("${app.slots.cache.max-entries:5000}") int maxEntries,
+            @Value("${app.slots.cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = Math.max(1, ttlSeconds) * 1000L;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true);
+
+        this.hits = Counter.builder("appointment.slots.cache").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("appointment.slots.cache").tag("result", "miss").register(registry);
+        this.evictAppointment = evictions(registry, "appointment");
+        this.evictProfessional = evictions(registry, "schedule");
+        this.evictSize = evictions(registry, "size");
+        this.evictExpired = evictions(registry, "expired");
+
+        Gauge.builder("appointment.slots.cache.hit.ratio", this, AvailableSlotCache::hitRatio).register(registry);
+        Gauge.builder("appointment.slots.cache.size", this, AvailableSlotCache::size).register(registry);
+    }
+
+    /**
+     * Slots do cache ou calculados por {@code loader}. O resultado guardado é imutável.
+     * Um cálculo que cruzou uma evicção não é gravado.
+     */
+    public List<AppointmentSlotResponse> get(Long professionalId, LocalDate date, int duration, int step,
+                                             Supplier<List<AppointmentSlotResponse>> loader) {
+        Key key = new Key(professionalId, date, duration, step);
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            Entry e = entries.get(key);
+            if (e != null) {
+                if (e.expiresAt > now) {
+                    hits.increment();
+                    return dropPast(date, e.slots);
+                }
+                entries.remove(key);
+                evictExpired.increment();
+            }
+        }
+
+        misses.increment();
+        long gen = generation.get();
+        List<AppointmentSlotResponse> computed = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+
+        synchronized (entries) {
+            if (generation.get() == gen) {
+                entries.put(key, new Entry(computed, now + ttlMillis));
+                trimToSize();
+            }
+        }
+        return computed;
+    }
+
+    public void evictDay(Long professionalId, LocalDate date) {
+        int removed = removeIf(k -> k.professionalId.equals(professionalId) && k.date.equals(date));
+        evictAppointment.increment(removed);
+    }
+
+    public void evictProfessional(Long professionalId) {
+        int removed = removeIf(k -> k.professionalId.equals(professionalId));
+        evictProfessional.increment(removed);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (!EVICTING_EVENTS.contains(event.getType())) return;
+        if (event.getProfessionalUserId() == null || event.getStartAt() == null) return;
+        evictDay(event.getProfessionalUserId(), event.getStartAt().toLocalDate());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBlockChanged(ScheduleBlockChangedEvent event) {
+        if (event.getUserId() != null) evictProfessional(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(WorkScheduleChangedEvent event) {
+        if (event.getUserId() != null) evictProfessional(event.getUserId());
+    }
+
+    private int removeIf(Predicate<Key> match) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            int before = entries.size();
+            entries.keySet().removeIf(match);
+            return before - entries.size();
+        }
+    }
+
+    private void trimToSize() {
+        Iterator<Key> it = entries.keySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictSize.increment();
+        }
+    }
+
+    private static List<AppointmentSlotResponse> dropPast(LocalDate date, List<AppointmentSlotResponse> slots) {
+        if (!date.equals(LocalDate.now()) || slots.isEmpty()) return slots;
+
+        LocalTime now = LocalTime.now();
+        int i = 0;
+        while (i < slots.size() && !slots.get(i).getStart().isAfter(now)) i++;
+        return i == 0 ? slots : slots.subList(i, slots.size());
+    }
+
+    private static Counter evictions(MeterRegistry registry, String reason) {
+        return Counter.builder("appointment.slots.cache.evictions").tag("reason", reason).register(registry);
+    }
+
+    private static final class Entry {
+        final List<AppointmentSlotResponse> slots;
+        final long expiresAt;
+
+        Entry(List<AppointmentSlotResponse> slots, long expiresAt) {
+            this.slots = slots;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Key {
+        final Long professionalId;
+        final LocalDate date;
+        final int duration;
+        final int step;
+
+        Key(Long professionalId, LocalDate date, int duration, int step) {
+            this.professionalId = professionalId;
+            this.date = date;
+            this.duration = duration;
+            this.step = step;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return duration == k.duration && step == k.step
+                    && professionalId.equals(k.professionalId) && date.equals(k.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(professionalId, date, duration, step);
+        }
+    }
+}
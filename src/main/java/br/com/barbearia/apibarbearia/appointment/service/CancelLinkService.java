@@ -0,0 +1,202 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.entity.AppointmentCancelToken;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentCancelTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Links de cancelamento assinados (HMAC-SHA256), sem linha no banco.
+ *
+ * Token = base64url(appointmentId | expiresAt | nonce) + "." + base64url(HMAC truncado em 128 bits).
+ * A chave é derivada de {@code app.jwt.secret} com rótulo próprio, então um token de
+ * cancelamento nunca vale como JWT e vice-versa.
+ *
+ * Reuso: os nonces já consumidos ficam em memória até expirarem (limitado por
+ * {@code used-capacity}). Quem garante de verdade é o status do agendamento: um link
+ * repetido de um agendamento já cancelado cai em "já cancelado".
+ *
+ * Links antigos (dois UUIDs, salvos em appointment_cancel_tokens) continuam aceitos até
+ * vencerem; o job de retenção limpa a tabela.
+ */
+@Component
+public class CancelLinkService {
+
+    private static final int PAYLOAD_BYTES = 24;
+    private static final int MAC_BYTES = 16;
+    private static final String KEY_LABEL = "appointment-cancel-link";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final AppointmentCancelTokenRepository legacyRepository;
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final int usedCapacity;
+
+    /** nonce -> expiração (epoch s) */
+    private final Map<Long, Long> usedNonces = new ConcurrentHashMap<>();
+
+    private final Counter issued;
+    private final Counter rejected;
+
+    public CancelLinkService(
+            AppointmentCancelTokenRepository legacyRepository,
+            MeterRegistry registry,
+            @Value("${app.jwt.secret}") String secret,
+            @Value("${app.appointments.cancel-link.used-capacity:10000}") int usedCapacity
+    ) {
+        this.legacyRepository = legacyRepository;
+        this.key = new SecretKeySpec(hmac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"),
+                KEY_LABEL.getBytes(StandardCharsets.UTF_8)), "HmacSHA256");
+        this.usedCapacity = Math.max(1, usedCapacity);
+
+        this.issued = Counter.builder("appointment.cancel.links").tag("result", "issued").register(registry);
+        this.rejected = Counter.builder("appointment.cancel.links").tag("result", "rejected").register(registry);
+        Gauge.builder("appointment.cancel.links.used.size", usedNonces, Map::size).register(registry);
+    }
+
+    /** Gera o token do link; nada é gravado. */
+    public String issue(Long appointmentId, LocalDateTime expiresAt) {
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_BYTES)
+                .putLong(appointmentId)
+                .putLong(expiresAt.atZone(zone).toEpochSecond())
+                .putLong(random.nextLong());
+        byte[] body = payload.array();
+        issued.increment();
+        return ENCODER.encodeToString(body) + "." + ENCODER.encodeToString(sign(body));
+    }
+
+    /** Vazio se o token não existe, foi adulterado ou está malformado. */
+    public Optional<CancelLink> resolve(String token) {
+        if (token == null || token.isEmpty()) return Optional.empty();
+
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return legacyRepository.findByToken(token).map(t ->
+                    new CancelLink(t.getAppointmentId(), t.getExpiresAt(), t.isUsed(), null, t));
+        }
+
+        byte[] body;
+        byte[] mac;
+        try {
+            body = DECODER.decode(token.substring(0, dot));
+            mac = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        if (body.length != PAYLOAD_BYTES || !MessageDigest.isEqual(sign(body), mac)) {
+            rejected.increment();
+            return Optional.empty();
+        }
+
+        ByteBuffer payload = ByteBuffer.wrap(body);
+        long appointmentId = payload.getLong();
+        long expiresAt = payload.getLong();
+        long nonce = payload.getLong();
+
+        LocalDateTime expires = LocalDateTime.ofInstant(Instant.ofEpochSecond(expiresAt), zone);
+        return Optional.of(new CancelLink(appointmentId, expires, usedNonces.containsKey(nonce), nonce, null));
+    }
+
+    /**
+     * Marca o link como usado. Link assinado: o nonce entra no conjunto só depois do commit,
+     * para um cancelamento que falhou poder ser refeito. Link antigo: grava used_at.
+     */
+    public void consume(CancelLink link) {
+        if (link.legacy != null) {
+            link.legacy.setUsedAt(LocalDateTime.now());
+            legacyRepository.save(link.legacy);
+            return;
+        }
+
+        long expiresAt = link.expiresAt.atZone(zone).toEpochSecond();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markUsed(link.nonce, expiresAt);
+                }
+            });
+        } else {
+            markUsed(link.nonce, expiresAt);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.appointments.cancel-link.prune-ms:600000}")
+    public void prune() {
+        long now = Instant.now().getEpochSecond();
+        usedNonces.values().removeIf(exp -> exp < now);
+    }
+
+    private void markUsed(long nonce, long expiresAt) {
+        if (usedNonces.size() >= usedCapacity) prune();
+        // Cheio de links ainda válidos: o status do agendamento continua barrando o reuso.
+        if (usedNonces.size() < usedCapacity) usedNonces.put(nonce, expiresAt);
+    }
+
+    private byte[] sign(byte[] body) {
+        byte[] full = hmac(key, body);
+        byte[] truncated = new byte[MAC_BYTES];
+        System.arraycopy(full, 0, truncated, 0, MAC_BYTES);
+        return truncated;
+    }
+
+    private static byte[] hmac(SecretKeySpec key, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponível.", e);
+        }
+    }
+
+    /** Link já verificado: agendamento, validade e se já foi usado. */
+    public static final class CancelLink {
+        private final Long appointmentId;
+        private final LocalDateTime expiresAt;
+        private final boolean used;
+        private final Long nonce;
+        private final AppointmentCancelToken legacy;
+
+        CancelLink(Long appointmentId, LocalDateTime expiresAt, boolean used, Long nonce, AppointmentCancelToken legacy) {
+            this.appointmentId = appointmentId;
+            this.expiresAt = expiresAt;
+            this.used = used;
+            this.nonce = nonce;
+            this.legacy = legacy;
+        }
+
+        public Long getAppointmentId() { return appointmentId; }
+        public LocalDateTime getExpiresAt() { return expiresAt; }
+        public boolean isUsed() { return used; }
+
+        public boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.dto.response.DayAvailabilityResponse;
+import br.com.barbearia.apibarbearia.appointment.entity.Appointment;
+import br.com.barbearia.apibarbearia.appointment.entity.enums.AppointmentStatus;
+import br.com.barbearia.apibarbearia.appointment.events.AppointmentChangedEvent;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
+import br.com.barbearia.apibarbearia.availability.engine.AvailabilityEngine;
+import br.com.barbearia.apibarbearia.availability.engine.CompiledSchedule;
+import br.com.barbearia.apibarbearia.availability.engine.DayBitmap;
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
+import br.com.barbearia.apibarbearia.availability.events.ScheduleBlockChangedEvent;
+import br.com.barbearia.apibarbearia.availability.events.WorkScheduleChangedEvent;
+import br.com.barbearia.apibarbearia.availability.service.AvailabilityService;
+import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
+import br.com.barbearia.apibarbearia.common.exception.BadRequestException;
+import br.com.barbearia.apibarbearia.users.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mapa de disponibilidade do mês (calendário de agendamento).
+ *
+ * Para cada (profissional, mês) guarda um par de bitmaps por dia: expediente livre
+ * e ocupados. O estado é montado em uma passada (agenda compilada, bloqueios do mês
+ * e agendamentos do mês em uma consulta cada) e depois atualizado no lugar:
+ * criar marca os minutos do agendamento como ocupados, cancelar/no-show libera.
+ * Bloqueio ou rotina alterados descartam os meses daquele profissional.
+ *
+ * Limitado por tamanho (LRU) e por TTL, como o {@link AvailableSlotCache}: os eventos só
+ * chegam dos commits desta instância, então o que muda por fora (outra instância, edição
+ * direta no banco) é corrigido quando o mês expira e é remontado.
+ */
+@Service
+public class MonthAvailabilityService {
+
+    private static final List<AppointmentStatus> ACTIVE_STATUSES =
+            Arrays.asList(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED);
+
+    private final AppointmentAvailabilityFacade availabilityFacade;
+    private final AvailabilityService availabilityService;
+    private final AppointmentRepository appointmentRepository;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<Key, MonthState> months = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+
+    public MonthAvailabilityService(
+            AppointmentAvailabilityFacade availabilityFacade,
+            AvailabilityService availabilityService,
+            AppointmentRepository appointmentRepository,
+            @Value("${app.slots.month.max-entries:500}") int maxEntries,
+            @Value("${app.slots.month.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.availabilityFacade = availabilityFacade;
+        this.availabilityService = availabilityService;
+        this.appointmentRepository = appointmentRepository;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = Math.max(1, ttlSeconds) * 1000L;
+    }
+
+    public List<DayAvailabilityResponse> getMonth(Long serviceId, Long professionalId, String yearMonth) {
+        YearMonth ym = parseYearMonth(yearMonth);
+
+        CatalogItem service = availabilityFacade.getServiceOrFail(serviceId);
+        User professional = availabilityFacade.getProfessionalOrFail(professionalId);
+
+        if (!professional.isActive()) throw new BadRequestException("Profissional inativo.");
+        availabilityFacade.validateProfessionalIsResponsible(service, professionalId);
+
+        Integer duration = service.getDurationMinutes();
+        if (duration == null || duration < 5) throw new BadRequestException("Duração do serviço inválida.");
+
+        MonthState state = stateFor(professionalId, ym);
+
+        LocalDate today = LocalDate.now();
+        int nowMinute = DayBitmap.minuteOf(LocalTime.now()) + 1;
+        int[] buffer = new int[DayBitmap.MINUTES_PER_DAY];
+        List<DayAvailabilityResponse> result = new ArrayList<>(ym.lengthOfMonth());
+
+        synchronized (state) {
+            for (int d = 1; d <= ym.lengthOfMonth(); d++) {
+                LocalDate date = ym.atDay(d);
+                DayBitmap working = state.working[d - 1];
+                DayBitmap busy = state.busy[d - 1];
+
+                boolean past = date.isBefore(today);
+                int free = past ? 0 : working.copy().andNot(busy).cardinality();
+                boolean available = !past && free >= duration
+                        && AvailabilityEngine.findStarts(working, busy, duration, 5,
+                        date.equals(today) ? nowMinute : 0, buffer) > 0;
+
+                result.add(DayAvailabilityResponse.builder()
+                        .date(date)
+                        .freeMinutes(free)
+                        .available(available)
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    // ==========================
+    // Atualização incremental
+    // ==========================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.getType() == null || event.getProfessionalUserId() == null) return;
+        if (event.getStartAt() == null || event.getEndAt() == null) return;
+
+        switch (event.getType()) {
+            case CREATED:
+                apply(event.getProfessionalUserId(), event.getStartAt(), event.getEndAt(), true);
+                break;
+            case CANCELED:
+            case NO_SHOW:
+                apply(event.getProfessionalUserId(), event.getStartAt(), event.getEndAt(), false);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBlockChanged(ScheduleBlockChangedEvent event) {
+        if (event.getUserId() != null) evictProfessional(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(WorkScheduleChangedEvent event) {
+        if (event.getUserId() != null) evictProfessional(event.getUserId());
+    }
+
+    private void apply(Long professionalId, LocalDateTime startAt, LocalDateTime endAt, boolean busy) {
+        LocalDate date = startAt.toLocalDate();
+        MonthState state;
+        synchronized (months) {
+            // invalida montagens em andamento: elas podem ter lido o banco antes deste commit
+            generation.incrementAndGet();
+            state = months.get(new Key(professionalId, YearMonth.from(date)));
+        }
+        if (state == null) return;
+
+        synchronized (state) {
+            DayBitmap day = state.busy[date.getDayOfMonth() - 1];
+            if (busy) {
+                AvailabilityEngine.markBusy(day, startAt.toLocalTime(), endAt.toLocalTime());
+            } else {
+                int from = DayBitmap.minuteOf(startAt.toLocalTime());
+                int to = DayBitmap.minuteCeil(endAt.toLocalTime());
+                day.clear(from, to <= from ? DayBitmap.MINUTES_PER_DAY : to);
+            }
+        }
+    }
+
+    private void evictProfessional(Long professionalId) {
+        synchronized (months) {
+            generation.incrementAndGet();
+            months.keySet().removeIf(k -> k.professionalId.equals(professionalId));
+        }
+    }
+
+    // ==========================
+    // Montagem do mês
+    // ==========================
+
+    private MonthState stateFor(Long professionalId, YearMonth ym) {
+        Key key = new Key(professionalId, ym);
+        long now = System.currentTimeMillis();
+        long gen;
+        synchronized (months) {
+            MonthState cached = months.get(key);
+            if (cached != null) {
+                if (cached.expiresAt > now) return cached;
+                months.remove(key);
+            }
+            gen = generation.get();
+        }
+
+        MonthState built = build(professionalId, ym, now + ttlMillis);
+
+        synchronized (months) {
+            MonthState cached = months.get(key);
+            if (cached != null && cached.expiresAt > now) return cached;
+            if (generation.get() == gen) {
+                months.put(key, built);
+                Iterator<Key> it = months.keySet().iterator();
+                while (months.size() > maxEntries && it.hasNext()) {
+                    it.next();
+                    it.remove();
+                }
+            }
+        }
+        return built;
+    }
+
+    /** Uma passada: agenda compilada + bloqueios do mês + agendamentos do mês. */
+    private MonthState build(Long professionalId, YearMonth ym, long expiresAt) {
+        LocalDate first = ym.atDay(1);
+        LocalDate last = ym.atEndOfMonth();
+        int days = ym.lengthOfMonth();
+
+        CompiledSchedule schedule = availabilityService.getCompiledSchedule(professionalId);
+        List<ScheduleBlock> blocks = availabilityService.findBlocksInRange(professionalId, first, last);
+        List<Appointment> appointments = appointmentRepository.listDayAppointments(
+                professionalId,
+                first.atStartOfDay(),
+                last.plusDays(1).atStartOfDay(),
+                ACTIVE_STATUSES
+        );
+
+        MonthState state = new MonthState(days, expiresAt);
+        for (int d = 0; d < days; d++) {
+            state.working[d] = schedule.workingMinutes(first.plusDays(d), blocks);
+            state.busy[d] = new DayBitmap();
+        }
+        for (Appointment a : appointments) {
+            int d = a.getStartAt().getDayOfMonth() - 1;
+            AvailabilityEngine.markBusy(state.busy[d], a.getStartAt().toLocalTime(), a.getEndAt().toLocalTime());
+        }
+        return state;
+    }
+
+    private YearMonth parseYearMonth(String value) {
+        if (value == null || value.isBlank()) throw new BadRequestException("yearMonth é obrigatório.");
+        try {
+            return YearMonth.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("yearMonth inválido (formato esperado: AAAA-MM).");
+        }
+    }
+
+    private static final class MonthState {
+        final DayBitmap[] working;
+        final DayBitmap[] busy;
+        final long expiresAt;
+
+        MonthState(int days, long expiresAt) {
+            this.working = new DayBitmap[days];
+            this.busy = new DayBitmap[days];
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Key {
+        final Long professionalId;
+        final YearMonth month;
+
+        Key(Long professionalId, YearMonth month) {
+            this.professionalId = professionalId;
+            this.month = month;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return professionalId.equals(k.professionalId) && month.equals(k.month);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(professionalId, month);
+        }
+    }
+}
@@ -6,8 +6,10 @@ import br.com.barbearia.apibarbearia.auth.security.JwtService;
 import br.com.barbearia.apibarbearia.auth.security.LoginRateLimiter;
 import br.com.barbearia.apibarbearia.auth.service.LogoutService;
 import br.com.barbearia.apibarbearia.common.exception.UnauthorizedException;
+import br.com.barbearia.apibarbearia.users.dto.UserProfile;
 import br.com.barbearia.apibarbearia.users.entity.User;
 import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import br.com.barbearia.apibarbearia.users.service.UserDirectory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.*;
@@ -29,21 +31,21 @@ public class AuthController {
     private final LoginRateLimiter rateLimiter;
     private final TokenBlacklistRepository blacklistRepository;
     private final LogoutService logoutService;
+    private final UserDirectory userDirectory;
 
     @PostMapping("/login")
     public Object login(@Valid @RequestBody LoginRequest req, HttpServletRequest request) {
         String email = req.email == null ? "" : req.email.toLowerCase().trim();
         String ip = request.getRemoteAddr();
-        String key = ip + "|" + email;
 
-        rateLimiter.check(key);
+        rateLimiter.check(ip, email);
 
         try {
             Authentication auth = authManager.authenticate(
                     new UsernamePasswordAuthenticationToken(email, req.password)
             );
 
-            rateLimiter.onSuccess(key);
+            rateLimiter.onSuccess(ip, email);
 
             // Busca usuário pelo email (autenticação bem-sucedida)
             User user = userRepository.findByEmail(email)
@@ -63,7 +65,7 @@ public class AuthController {
             );
 
         } catch (BadCredentialsException ex) {
-            rateLimiter.onFail(key);
+            rateLimiter.onFail(ip, email);
             throw new UnauthorizedException("E-mail ou senha inválidos.");
         } catch (DisabledException ex) {
             throw new UnauthorizedException("Usuário desativado.");
@@ -128,7 +130,7 @@ public class AuthController {
             throw new UnauthorizedException("ID de usuário inválido na sessão.");
         }
 
-        User user = userRepository.findById(userId)
+        UserProfile user = userDirectory.find(userId)
                 .orElseThrow(() -> new UnauthorizedException("Usuário não encontrado."));
 
         return Map.of(
@@ -7,7 +7,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "token_blacklist", indexes = {
-        @Index(name = "idx_token_blacklist_jti", columnList = "jti", unique = true)
+        @Index(name = "idx_token_blacklist_jti", columnList = "jti", unique = true),
+        @Index(name = "idx_token_blacklist_expires_at", columnList = "expires_at")
 })
 @Getter
 @Setter
@@ -23,7 +24,7 @@ public class TokenBlacklist {
     @Column(nullable = false, unique = true, length = 64)
     private String jti;
 
-    @Column(nullable = false)
+    @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
 
     @Column(nullable = false)
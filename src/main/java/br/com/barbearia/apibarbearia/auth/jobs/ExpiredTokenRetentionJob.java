@@ -0,0 +1,155 @@
+package br.com.barbearia.apibarbearia.auth.jobs;
+
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentCancelTokenRepository;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentOutboxRepository;
+import br.com.barbearia.apibarbearia.auth.repository.RevokedTokenRepository;
+import br.com.barbearia.apibarbearia.auth.repository.TokenBlacklistRepository;
+import br.com.barbearia.apibarbearia.users.repository.UserInviteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Apaga registros vencidos de token_blacklist, tb_revoked_tokens,
+ * appointment_cancel_tokens e user_invites, e as notificações já entregues da
+ * appointment_outbox (as DEAD ficam para análise).
+ *
+ * Cada tabela é limpa em lotes de {@code app.retention.batch-size} linhas: busca os ids
+ * pelo índice de expiração e apaga com um único DELETE ... WHERE id IN (...), cada lote na
+ * sua própria transação curta. Nada de carregar entidades nem de um DELETE gigante
+ * segurando locks; {@code max-batches} limita o trabalho de uma execução e o resto fica
+ * para a próxima.
+ *
+ * Links de cancelamento e convites só somem depois de {@code grace-hours} vencidos, para
+ * quem clicar atrasado ainda ver "expirado" em vez de "não encontrado".
+ * Notificações entregues ficam o mesmo {@code grace-hours} para o suporte conferir envios recentes.
+ */
+@Slf4j
+@Component
+public class ExpiredTokenRetentionJob {
+
+    private final List<Target> targets;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public ExpiredTokenRetentionJob(
+            TokenBlacklistRepository blacklistRepository,
+            RevokedTokenRepository revokedTokenRepository,
+            AppointmentCancelTokenRepository cancelTokenRepository,
+            UserInviteRepository inviteRepository,
+            AppointmentOutboxRepository outboxRepository,
+            PlatformTransactionManager txManager,
+            MeterRegistry registry,
+            @Value("${app.retention.batch-size:500}") int batchSize,
+            @Value("${app.retention.max-batches:200}") int maxBatches,
+            @Value("${app.retention.grace-hours:24}") long graceHours
+    ) {
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+
+        Duration grace = Duration.ofHours(Math.max(0, graceHours));
+        ZoneId zone = ZoneId.systemDefault();
+        this.targets = Arrays.asList(
+                new Target(registry, "token_blacklist", Duration.ZERO,
+                        blacklistRepository::findExpiredIds, blacklistRepository::deleteByIds),
+                new Target(registry, "tb_revoked_tokens", Duration.ZERO,
+                        revokedTokenRepository::findExpiredIds, revokedTokenRepository::deleteByIds),
+                new Target(registry, "appointment_cancel_tokens", grace,
+                        (cutoff, page) -> cancelTokenRepository.findExpiredIds(LocalDateTime.ofInstant(cutoff, zone), page),
+                        cancelTokenRepository::deleteByIds),
+                new Target(registry, "user_invites", grace,
+                        inviteRepository::findExpiredIds, inviteRepository::deleteByIds),
+                new Target(registry, "appointment_outbox", grace,
+                        outboxRepository::findExpiredIds, outboxRepository::deleteByIds)
+        );
+    }
+
+    @Scheduled(initialDelayString = "${app.retention.initial-delay-ms:60000}",
+            fixedDelayString = "${app.retention.interval-ms:3600000}")
+    public void run() {
+        Map<String, Integer> purged = purgeAll(Instant.now());
+        int total = purged.values().stream().mapToInt(Integer::intValue).sum();
+        if (total > 0) {
+            log.info("Retenção: {} registros vencidos removidos {}", total, purged);
+        } else {
+            log.debug("Retenção: nada a remover.");
+        }
+    }
+
+    /** Linhas removidas por tabela nesta execução. */
+    Map<String, Integer> purgeAll(Instant now) {
+        Map<String, Integer> purged = new LinkedHashMap<>();
+        for (Target target : targets) {
+            try {
+                purged.put(target.table, purge(target, now.minus(target.grace)));
+            } catch (RuntimeException e) {
+                log.warn("Retenção de {} falhou: {}", target.table, e.getMessage());
+                purged.put(target.table, 0);
+            }
+        }
+        return purged;
+    }
+
+    private int purge(Target target, Instant cutoff) {
+        Pageable batch = PageRequest.of(0, batchSize);
+        int total = 0;
+
+        for (int i = 0; i < maxBatches; i++) {
+            int[] result = tx.execute(status -> {
+                List<Long> ids = target.finder.find(cutoff, batch);
+                return new int[]{ids.size(), ids.isEmpty() ? 0 : target.deleter.delete(ids)};
+            });
+            if (result == null) break;
+
+            total += result[1];
+            target.purged.increment(result[1]);
+            if (result[0] < batchSize) break;
+        }
+        return total;
+    }
+
+    interface ExpiredIdFinder {
+        List<Long> find(Instant cutoff, Pageable page);
+    }
+
+    interface BatchDeleter {
+        int delete(Collection<Long> ids);
+    }
+
+    private static final class Target {
+        final String table;
+        final Duration grace;
+        final ExpiredIdFinder finder;
+        final BatchDeleter deleter;
+        final Counter purged;
+
+        Target(MeterRegistry registry, String table, Duration grace, ExpiredIdFinder finder, BatchDeleter deleter) {
+            this.table = table;
+            this.grace = grace;
+            this.finder = finder;
+            this.deleter = deleter;
+            this.purged = Counter.builder("retention.purged").tag("table", table).register(registry);
+        }
+    }
+}
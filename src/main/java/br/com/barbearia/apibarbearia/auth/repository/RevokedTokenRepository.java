@@ -1,9 +1,25 @@
 package br.com.barbearia.apibarbearia.auth.repository;
 
 import br.com.barbearia.apibarbearia.auth.security.RevokedToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
     Optional<RevokedToken> findByToken(String token);
-}
\ No newline at end of file
+
+    /** Sem expiração legível o registro nunca serviu para nada: entra na limpeza também. */
+    @Query("SELECT t.id FROM RevokedToken t WHERE t.expirationDate < :cutoff OR t.expirationDate IS NULL")
+    List<Long> findExpiredIds(@Param("cutoff") Instant cutoff, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
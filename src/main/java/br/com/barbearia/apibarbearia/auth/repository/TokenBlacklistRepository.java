@@ -2,11 +2,34 @@ package br.com.barbearia.apibarbearia.auth.repository;
 
 
 import br.com.barbearia.apibarbearia.auth.entity.TokenBlacklist;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 public interface TokenBlacklistRepository extends JpaRepository<TokenBlacklist, Long> {
     boolean existsByJti(String jti);
-    long deleteByExpiresAtBefore(Instant now);
+
+    /** Só jti e expiração, para o índice de revogação em memória. */
+    interface RevokedJti {
+        String getJti();
+        Instant getExpiresAt();
+    }
+
+    @Query("SELECT t.jti AS jti, t.expiresAt AS expiresAt FROM TokenBlacklist t " +
+            "WHERE t.createdAt > :since AND t.expiresAt > :now")
+    List<RevokedJti> findRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    /** Lote de ids vencidos (usa idx_token_blacklist_expires_at). */
+    @Query("SELECT t.id FROM TokenBlacklist t WHERE t.expiresAt < :cutoff")
+    List<Long> findExpiredIds(@Param("cutoff") Instant cutoff, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM TokenBlacklist t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
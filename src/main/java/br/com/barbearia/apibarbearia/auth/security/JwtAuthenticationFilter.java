@@ -1,8 +1,11 @@
 package br.com.barbearia.apibarbearia.auth.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -23,15 +26,40 @@ import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Autentica requisições com Bearer JWT.
+ *
+ * Modo padrão: carrega o usuário do banco a cada requisição.
+ * Modo stateless ({@code app.jwt.stateless-principal=true}): o principal sai direto dos
+ * claims verificados (id, role, active), sem consulta ao banco. Nos dois modos, kicks,
+ * trocas de senha e exclusões valem via {@link TokenEpochRegistry} e logouts via
+ * {@link RevocationIndex}.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenEpochRegistry tokenEpochs;
+    private final RevocationIndex revocationIndex;
+    private final boolean statelessPrincipal;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            TokenEpochRegistry tokenEpochs,
+            RevocationIndex revocationIndex,
+            @Value("${app.jwt.stateless-principal:false}") boolean statelessPrincipal
+    ) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenEpochs = tokenEpochs;
+        this.revocationIndex = revocationIndex;
+        this.statelessPrincipal = statelessPrincipal;
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -61,8 +89,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Parse + assinatura + expiração uma única vez por requisição (cacheado por token)
+        final Claims claims;
+        try {
+            claims = jwtService.parseClaims(jwt);
+        } catch (ExpiredJwtException ex) {
+            writeUnauthorized(response, request, "Token expirado ou inválido.");
+            return;
+        } catch (JwtException | IllegalArgumentException ex) {
+            writeUnauthorized(response, request, "Token inválido ou malformado.");
+            return;
+        }
+
+        // Logout: JTI revogado (índice em memória, sem banco)
+        if (revocationIndex.isRevoked(claims.getId())) {
+            writeUnauthorized(response, request, "Token revogado.");
+            return;
+        }
+
         // Extrai o subject (ID)
-        final String subject = jwtService.getSubject(jwt);
+        final String subject = claims.getSubject();
 
         // Se não extrair subject, token provavelmente inválido
         if (subject == null || subject.isBlank()) {
@@ -71,11 +117,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            // Carrega user pelo "username" (no seu caso: ID em String)
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(subject);
+            Long userId = parseUserId(subject);
 
-            // Valida token com o user do banco
-            if (!jwtService.isTokenValid(jwt, userDetails)) {
+            // Kick / troca de senha / exclusão: época do usuário em memória
+            if (userId != null && !tokenEpochs.accepts(userId, claims.getIssuedAt())) {
+                writeUnauthorized(response, request, "Token expirado ou inválido.");
+                return;
+            }
+
+            UserDetails userDetails = statelessPrincipal && userId != null ? fromClaims(subject, claims) : null;
+
+            if (userDetails == null) {
+                // Carrega user pelo "username" (no seu caso: ID em String)
+                userDetails = this.userDetailsService.loadUserByUsername(subject);
+            }
+
+            // Valida token com o user (do banco ou dos claims)
+            if (!jwtService.isTokenValid(claims, userDetails)) {
                 writeUnauthorized(response, request, "Token expirado ou inválido.");
                 return;
             }
@@ -101,6 +159,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    private Long parseUserId(String subject) {
+        try {
+            return Long.parseLong(subject);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Mesmo principal que o {@link UserDetailsServiceImpl} monta (username = ID, ROLE_*),
+     * só que a partir dos claims. Sem role no token, volta para o banco (null).
+     */
+    private UserDetails fromClaims(String subject, Claims claims) {
+        String role = claims.get("role", String.class);
+        if (role == null || role.isBlank()) return null;
+
+        if (Boolean.FALSE.equals(claims.get("active", Boolean.class))) {
+            throw new UsernameNotFoundException("Usuário inativo");
+        }
+
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(subject)
+                .password("")
+                .roles(role)
+                .build();
+    }
+
     /**
      * Retorna 401 com JSON padrão.
      * Isso te ajuda a debugar no Postman e padroniza os erros.
@@ -21,18 +21,24 @@ import java.util.UUID;
 public class JwtService {
 
     private final Key key;
+    /** Imutável e thread-safe: montado uma vez, reutilizado em todas as requisições. */
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokens;
     private final long accessExpirationMs;
     private final long refreshExpirationMs;
 
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.expirationMinutes}") long expirationMinutes,
-            @Value("${app.jwt.refreshExpirationMinutes}") long refreshExpirationMinutes
+            @Value("${app.jwt.refreshExpirationMinutes}") long refreshExpirationMinutes,
+            VerifiedTokenCache verifiedTokens
     ) {
         if (secret == null || secret.trim().isEmpty()) {
             throw new IllegalArgumentException("JWT secret não pode ser nulo ou vazio");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = verifiedTokens;
         this.accessExpirationMs = expirationMinutes * 60_000;
         this.refreshExpirationMs = refreshExpirationMinutes * 60_000;
     }
@@ -108,42 +114,7 @@ public class JwtService {
 
         try {
             // 1) parse + assinatura + expiração
-            Claims claims = parseClaims(token); // aqui já valida assinatura/expiração
-            String subject = claims.getSubject();
-            if (subject == null || subject.isBlank()) return false;
-
-            // 2) confere se o token pertence ao usuário
-            boolean isUserValid = false;
-
-            if (userDetails instanceof User) {
-                User u = (User) userDetails;
-
-                // subject é ID (string numérica)
-                try {
-                    Long tokenUserId = Long.parseLong(subject);
-                    isUserValid = tokenUserId.equals(u.getId());
-                } catch (NumberFormatException ex) {
-                    // se por algum motivo não for numérico, tenta por email (fallback)
-                    isUserValid = subject.equalsIgnoreCase(u.getEmail());
-                }
-
-                // 3) confere invalidação (kick)
-                if (u.getTokenInvalidationTimestamp() != null) {
-                    Date issuedAt = claims.getIssuedAt();
-                    if (issuedAt != null) {
-                        Instant issuedInstant = issuedAt.toInstant();
-                        if (!issuedInstant.isAfter(u.getTokenInvalidationTimestamp())) {
-                            return false;
-                        }
-                    }
-                }
-
-            } else {
-                // fallback: compara subject com username
-                isUserValid = subject.equals(userDetails.getUsername());
-            }
-
-            return isUserValid;
+            return isTokenValid(parseClaims(token), userDetails); // aqui já valida assinatura/expiração
 
         } catch (ExpiredJwtException e) {
             // token expirado -> inválido (não lança 500)
@@ -157,6 +128,50 @@ public class JwtService {
         }
     }
 
+    /**
+     * Mesmas checagens 2) e 3) sobre claims já verificados por {@link #parseClaims},
+     * para quem já fez o parse (ex.: filtro de autenticação) não verificar o token de novo.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        if (claims == null || userDetails == null) return false;
+
+        String subject = claims.getSubject();
+        if (subject == null || subject.isBlank()) return false;
+
+        // 2) confere se o token pertence ao usuário
+        boolean isUserValid = false;
+
+        if (userDetails instanceof User) {
+            User u = (User) userDetails;
+
+            // subject é ID (string numérica)
+            try {
+                Long tokenUserId = Long.parseLong(subject);
+                isUserValid = tokenUserId.equals(u.getId());
+            } catch (NumberFormatException ex) {
+                // se por algum motivo não for numérico, tenta por email (fallback)
+                isUserValid = subject.equalsIgnoreCase(u.getEmail());
+            }
+
+            // 3) confere invalidação (kick)
+            if (u.getTokenInvalidationTimestamp() != null) {
+                Date issuedAt = claims.getIssuedAt();
+                if (issuedAt != null) {
+                    Instant issuedInstant = issuedAt.toInstant();
+                    if (!issuedInstant.isAfter(u.getTokenInvalidationTimestamp())) {
+                        return false;
+                    }
+                }
+            }
+
+        } else {
+            // fallback: compara subject com username
+            isUserValid = subject.equals(userDetails.getUsername());
+        }
+
+        return isUserValid;
+    }
+
     // ===================================================================================
     // EXTRAÇÃO E PARSING
     // ===================================================================================
@@ -164,17 +179,19 @@ public class JwtService {
     /**
      * Parse que valida assinatura e expiração.
      * Se expirado lança ExpiredJwtException.
+     * Token já verificado e ainda dentro do exp vem do {@link VerifiedTokenCache}, sem nova verificação.
      */
     public Claims parseClaims(String token) {
         if (token == null || token.isBlank()) {
             throw new IllegalArgumentException("Token não pode ser nulo ou vazio");
         }
 
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verifiedTokens.get(token, t -> parser.parseClaimsJws(t).getBody());
+    }
+
+    /** Tira o token do cache de verificados (ex.: logout). */
+    public void forgetVerified(String token) {
+        verifiedTokens.evict(token);
     }
 
     public String getSubject(String token) {
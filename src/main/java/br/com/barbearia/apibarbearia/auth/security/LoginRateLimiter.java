@@ -1,42 +1,89 @@
 package br.com.barbearia.apibarbearia.auth.security;
 
 import br.com.barbearia.apibarbearia.common.exception.UnauthorizedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
+/**
+ * Limita falhas de login por IP e por conta (e-mail), em janela deslizante.
+ *
+ * Memória fixa: cada escopo usa um {@link SlidingWindowCounter} de capacidade
+ * {@code app.auth.rate-limit.capacity}; chaves ociosas são descartadas quando o conjunto
+ * enche, então uma varredura de credenciais não cresce o heap. Conjunto cheio de chaves ativas
+ * não despeja ninguém: as chaves novas dividem um contador do conjunto e bloqueiam juntas.
+ *
+ * - conta: {@code account.max-failures} falhas na janela bloqueiam aquele e-mail (de qualquer IP)
+ * - IP: {@code ip.max-failures} falhas na janela bloqueiam o IP (limite maior: NAT, redes compartilhadas)
+ *
+ * O bloqueio acaba sozinho quando as falhas antigas saem da janela.
+ */
 @Component
 public class LoginRateLimiter {
 
-    private static class Entry {
-        int attempts;
-        Instant blockedUntil;
-    }
+    private static final int BUCKETS = 10;
 
-    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final SlidingWindowCounter byIp;
+    private final SlidingWindowCounter byAccount;
+    private final int maxIpFailures;
+    private final int maxAccountFailures;
 
-    public void check(String key) {
-        Entry e = store.get(key);
-        if (e == null || e.blockedUntil == null) return;
+    private final Counter blockedIp;
+    private final Counter blockedAccount;
 
-        if (Instant.now().isBefore(e.blockedUntil)) {
-            throw new UnauthorizedException("Muitas tentativas. Aguarde alguns minutos e tente novamente.");
-        }
+    public LoginRateLimiter(
+            MeterRegistry registry,
+            @Value("${app.auth.rate-limit.window-seconds:300}") long windowSeconds,
+            @Value("${app.auth.rate-limit.ip.max-failures:50}") int maxIpFailures,
+            @Value("${app.auth.rate-limit.account.max-failures:10}") int maxAccountFailures,
+            @Value("${app.auth.rate-limit.capacity:16384}") int capacity
+    ) {
+        long windowMillis = Math.max(1, windowSeconds) * 1000L;
+        this.byIp = new SlidingWindowCounter(capacity, windowMillis, BUCKETS);
+        this.byAccount = new SlidingWindowCounter(capacity, windowMillis, BUCKETS);
+        this.maxIpFailures = Math.max(1, maxIpFailures);
+        this.maxAccountFailures = Math.max(1, maxAccountFailures);
+
+        this.blockedIp = Counter.builder("auth.login.ratelimit.blocked").tag("scope", "ip").register(registry);
+        this.blockedAccount = Counter.builder("auth.login.ratelimit.blocked").tag("scope", "account").register(registry);
+        registerEvictions(registry, "ip", byIp);
+        registerEvictions(registry, "account", byAccount);
     }
 
-    public void onFail(String key) {
-        Entry e = store.computeIfAbsent(key, k -> new Entry());
-        e.attempts++;
+    public void check(String ip, String email) {
+        long now = System.currentTimeMillis();
 
-        if (e.attempts >= 10) {
-            e.attempts = 0;
-            e.blockedUntil = Instant.now().plusSeconds(5 * 60);
+        if (ip != null && byIp.count(ip, now) >= maxIpFailures) {
+            blockedIp.increment();
+            throw blocked();
+        }
+        if (email != null && !email.isEmpty() && byAccount.count(email, now) >= maxAccountFailures) {
+            blockedAccount.increment();
+            throw blocked();
         }
     }
 
-    public void onSuccess(String key) {
-        store.remove(key);
+    public void onFail(String ip, String email) {
+        long now = System.currentTimeMillis();
+        if (ip != null) byIp.increment(ip, now);
+        if (email != null && !email.isEmpty()) byAccount.increment(email, now);
+    }
+
+    /** Senha certa zera a conta; o IP continua contando (vários logins válidos não limpam um ataque). */
+    public void onSuccess(String ip, String email) {
+        if (email != null && !email.isEmpty()) byAccount.reset(email);
+    }
+
+    private static UnauthorizedException blocked() {
+        return new UnauthorizedException("Muitas tentativas. Aguarde alguns minutos e tente novamente.");
+    }
+
+    private static void registerEvictions(MeterRegistry registry, String scope, SlidingWindowCounter counter) {
+        FunctionCounter.builder("auth.login.ratelimit.evictions", counter, SlidingWindowCounter::evictedIdle)
+                .tags("scope", scope, "reason", "idle").register(registry);
+        FunctionCounter.builder("auth.login.ratelimit.overflow", counter, SlidingWindowCounter::overflowed)
+                .tags("scope", scope).register(registry);
     }
 }
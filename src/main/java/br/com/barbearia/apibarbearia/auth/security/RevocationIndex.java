@@ -0,0 +1,174 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import br.com.barbearia.apibarbearia.auth.repository.TokenBlacklistRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Índice em memória dos JTIs revogados (logout), consultado pelo filtro a cada requisição.
+ *
+ * Filtro de Bloom na frente de um hash set (jti -> expiração): o caso comum, token não
+ * revogado, responde só com o Bloom; um "talvez" confirma no set. Nada vai ao banco no
+ * caminho da requisição.
+ *
+ * Carregado do token_blacklist na subida, atualizado no logout, sincronizado com o que
+ * outras instâncias gravaram e podado por expiração (o Bloom é reconstruído na poda).
+ */
+@Slf4j
+@Component
+public class RevocationIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final TokenBlacklistRepository repository;
+    private final int expectedEntries;
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile Bloom bloom;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    private final Counter bloomNegative;
+    private final Counter confirmed;
+    private final Counter falsePositive;
+
+    public RevocationIndex(
+            TokenBlacklistRepository repository,
+            MeterRegistry registry,
+            @Value("${app.jwt.revocation.expected-entries:100000}") int expectedEntries
+    ) {
+        this.repository = repository;
+        this.expectedEntries = Math.max(1024, expectedEntries);
+        this.bloom = new Bloom(this.expectedEntries);
+
+        this.bloomNegative = checks(registry, "bloom-negative");
+        this.confirmed = checks(registry, "revoked");
+        this.falsePositive = checks(registry, "false-positive");
+        Gauge.builder("auth.revocation.index.size", revoked, ConcurrentHashMap::size).register(registry);
+    }
+
+    @PostConstruct
+    void load() {
+        sync();
+    }
+
+    /** Tempo constante, sem banco. */
+    public boolean isRevoked(String jti) {
+        if (jti == null || jti.isEmpty()) return false;
+
+        if (!bloom.mightContain(jti)) {
+            bloomNegative.increment();
+            return false;
+        }
+        if (revoked.containsKey(jti)) {
+            confirmed.increment();
+            return true;
+        }
+        falsePositive.increment();
+        return false;
+    }
+
+    public synchronized void add(String jti, Instant expiresAt) {
+        if (jti == null || jti.isEmpty() || expiresAt == null) return;
+        revoked.put(jti, expiresAt.toEpochMilli());
+        bloom.put(jti);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /** Revogações gravadas desde a última leitura (inclusive por outras instâncias). */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-ms:15000}", initialDelayString = "${app.jwt.revocation.sync-ms:15000}")
+    public void sync() {
+        Instant now = Instant.now();
+        Instant since = lastSync;
+        List<TokenBlacklistRepository.RevokedJti> rows;
+        try {
+            rows = repository.findRevokedSince(since.minusSeconds(5), now);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao carregar JTIs revogados: {}", e.getMostSpecificCause().getMessage());
+            return;
+        }
+        for (TokenBlacklistRepository.RevokedJti r : rows) add(r.getJti(), r.getExpiresAt());
+        lastSync = now;
+    }
+
+    /** Tira JTIs já expirados (o token seria rejeitado pelo exp de qualquer forma) e refaz o Bloom. */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.prune-ms:3600000}", initialDelayString = "${app.jwt.revocation.prune-ms:3600000}")
+    public synchronized void prune() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(exp -> exp <= now);
+
+        Bloom rebuilt = new Bloom(Math.max(expectedEntries, revoked.size() * 2));
+        for (String jti : revoked.keySet()) rebuilt.put(jti);
+        bloom = rebuilt;
+    }
+
+    private static Counter checks(MeterRegistry registry, String result) {
+        return Counter.builder("auth.revocation.checks").tag("result", result).register(registry);
+    }
+
+    /** Bloom com hashing duplo sobre um hash de 64 bits; bits em AtomicLongArray (sem lock na leitura). */
+    static final class Bloom {
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashes;
+
+        Bloom(int expectedEntries) {
+            long m = (long) Math.ceil(-expectedEntries * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((m + 63) / 64));
+            this.bits = words.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / expectedEntries * Math.log(2)));
+        }
+
+        void put(String value) {
+            long h = hash64(value);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = index(h1 + i * h2);
+                words.getAndAccumulate((int) (bit >>> 6), 1L << bit, (a, b) -> a | b);
+            }
+        }
+
+        boolean mightContain(String value) {
+            long h = hash64(value);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = index(h1 + i * h2);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        private long index(int combined) {
+            return (combined & 0x7fffffffL) % bits;
+        }
+
+        /** FNV-1a 64 com mistura final (os JTIs são UUIDs em texto). */
+        private static long hash64(String s) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < s.length(); i++) {
+                h ^= s.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -13,7 +13,9 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tb_revoked_tokens")
+@Table(name = "tb_revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expiration_date", columnList = "expiration_date")
+})
 public class RevokedToken {
 
     @Id
@@ -23,5 +25,6 @@ public class RevokedToken {
     @Column(unique = true, length = 500)
     private String token;
 
+    @Column(name = "expiration_date")
     private Instant expirationDate;
 }
\ No newline at end of file
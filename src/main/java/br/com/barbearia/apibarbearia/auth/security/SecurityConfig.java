@@ -1,6 +1,8 @@
 package br.com.barbearia.apibarbearia.auth.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,8 +13,8 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -33,7 +35,7 @@ public class SecurityConfig {
     private final SecurityExceptionHandler securityExceptionHandler; // Injetado para tratar os erros 401 e 403
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
         http
                 .cors().and()
                 .csrf().disable()
@@ -58,17 +60,21 @@ public class SecurityConfig {
                 .sessionManagement(sess -> sess
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // rehash transparente quando o custo do BCrypt sobe
+        if (userDetailsService instanceof UserDetailsPasswordService) {
+            authProvider.setUserDetailsPasswordService((UserDetailsPasswordService) userDetailsService);
+        }
         return authProvider;
     }
 
@@ -77,9 +83,16 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /** BCrypt em pool limitado: fila cheia vira 429 em vez de prender threads do Tomcat. */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry registry,
+            @Value("${app.auth.bcrypt.strength:10}") int strength,
+            @Value("${app.auth.bcrypt.threads:0}") int threads,
+            @Value("${app.auth.bcrypt.queue-capacity:32}") int queueCapacity,
+            @Value("${app.auth.bcrypt.timeout-ms:5000}") long timeoutMs
+    ) {
+        return new BoundedPasswordEncoder(registry, strength, threads, queueCapacity, timeoutMs);
     }
 
     @Bean
@@ -0,0 +1,185 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contadores de janela deslizante por chave, em uma tabela de tamanho fixo.
+ *
+ * A tabela é dividida em conjuntos de {@link #WAYS} slots (stripes); a chave (hash de 64 bits,
+ * com semente aleatória por instância) só pode ocupar um slot do seu conjunto. Chave nova em
+ * conjunto cheio reaproveita o slot ocioso há mais tempo (TTL = janela). Slot ativo nunca é
+ * despejado: se todos estiverem ativos, a chave conta no transbordo do conjunto, uma janela
+ * compartilhada por todas as chaves sem slot ali (fail closed: quem enche o conjunto limita
+ * a si mesmo, não apaga a contagem de outra chave). A memória não cresce com o número de
+ * chaves distintas.
+ *
+ * Cada slot guarda {@code buckets} contadores; cada contador é um long com o número do
+ * bucket (bits altos) e a contagem (24 bits baixos), atualizado por CAS: sem locks.
+ */
+final class SlidingWindowCounter {
+
+    static final int WAYS = 8;
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int sets;
+    private final int buckets;
+    private final long bucketMillis;
+    private final long windowMillis;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray lastSeen;
+    private final AtomicLongArray counters;
+    private final AtomicLongArray overflow;
+    private final long seed = new SecureRandom().nextLong();
+
+    private final AtomicLong evictedIdle = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+
+    SlidingWindowCounter(int capacity, long windowMillis, int buckets) {
+        int sets = Integer.highestOneBit(Math.max(WAYS, capacity) / WAYS);
+        this.sets = Math.max(1, sets);
+        this.buckets = Math.max(1, buckets);
+        this.windowMillis = Math.max(1, windowMillis);
+        this.bucketMillis = Math.max(1, this.windowMillis / this.buckets);
+
+        int slots = this.sets * WAYS;
+        this.keys = new AtomicLongArray(slots);
+        this.lastSeen = new AtomicLongArray(slots);
+        this.counters = new AtomicLongArray(slots * this.buckets);
+        this.overflow = new AtomicLongArray(this.sets * this.buckets);
+    }
+
+    /** Soma os eventos da chave dentro da janela; sem slot, vale o transbordo do conjunto. */
+    int count(String key, long now) {
+        long h = hash(key);
+        int slot = find(h);
+        return slot < 0 ? sum(overflow, setOf(h) * buckets, now) : sum(counters, slot * buckets, now);
+    }
+
+    /** Registra um evento e devolve a contagem na janela já incluindo ele. */
+    int increment(String key, long now) {
+        long h = hash(key);
+        int slot = find(h);
+        if (slot < 0) slot = claim(h, now);
+        if (slot < 0) {
+            overflowed.incrementAndGet();
+            int base = setOf(h) * buckets;
+            add(overflow, base, now);
+            return sum(overflow, base, now);
+        }
+
+        lastSeen.set(slot, now);
+        add(counters, slot * buckets, now);
+        return sum(counters, slot * buckets, now);
+    }
+
+    /** Esquece a chave (libera o slot). */
+    void reset(String key) {
+        long h = hash(key);
+        int slot = find(h);
+        if (slot >= 0) keys.compareAndSet(slot, h, 0);
+    }
+
+    long evictedIdle() {
+        return evictedIdle.get();
+    }
+
+    /** Eventos de chaves que acharam o conjunto cheio de slots ativos. */
+    long overflowed() {
+        return overflowed.get();
+    }
+
+    int capacity() {
+        return sets * WAYS;
+    }
+
+    private void add(AtomicLongArray array, int base, long now) {
+        long bucket = now / bucketMillis;
+        int idx = base + (int) (bucket % buckets);
+        while (true) {
+            long cur = array.get(idx);
+            long count = (cur >>> COUNT_BITS) == bucket ? (cur & COUNT_MASK) : 0;
+            long next = (bucket << COUNT_BITS) | Math.min(count + 1, COUNT_MASK);
+            if (array.compareAndSet(idx, cur, next)) return;
+        }
+    }
+
+    private int sum(AtomicLongArray array, int base, long now) {
+        long current = now / bucketMillis;
+        int total = 0;
+        for (int i = 0; i < buckets; i++) {
+            long c = array.get(base + i);
+            if (current - (c >>> COUNT_BITS) < buckets) total += (int) (c & COUNT_MASK);
+        }
+        return total;
+    }
+
+    private int find(long h) {
+        int base = setOf(h) * WAYS;
+        for (int i = 0; i < WAYS; i++) {
+            if (keys.get(base + i) == h) return base + i;
+        }
+        return -1;
+    }
+
+    /** Ocupa um slot do conjunto: vazio, senão o ocioso há mais tempo; -1 se todos estão ativos. */
+    private int claim(long h, long now) {
+        int base = setOf(h) * WAYS;
+        while (true) {
+            int victim = -1;
+            long victimKey = 0;
+            long oldest = Long.MAX_VALUE;
+
+            for (int i = 0; i < WAYS; i++) {
+                int s = base + i;
+                long k = keys.get(s);
+                if (k == h) return s; // outra thread já ocupou para a mesma chave
+                if (k == 0) {
+                    victim = s;
+                    victimKey = 0;
+                    break;
+                }
+                long seen = lastSeen.get(s);
+                if (seen < oldest) {
+                    oldest = seen;
+                    victim = s;
+                    victimKey = k;
+                }
+            }
+
+            if (victimKey != 0 && now - oldest < windowMillis) return -1; // todos ativos: não despeja
+            if (!keys.compareAndSet(victim, victimKey, h)) continue; // disputa pelo slot: refaz a busca
+
+            if (victimKey != 0) evictedIdle.incrementAndGet();
+            int cbase = victim * buckets;
+            for (int i = 0; i < buckets; i++) counters.set(cbase + i, 0);
+            lastSeen.set(victim, now);
+            return victim;
+        }
+    }
+
+    private int setOf(long h) {
+        return (int) ((h ^ (h >>> 32)) & (sets - 1));
+    }
+
+    /**
+     * FNV-1a 64 com semente e mistura final; 0 é reservado para slot vazio. A semente impede
+     * que alguém escolha de fora chaves que caem no mesmo conjunto de uma conta alvo.
+     */
+    private long hash(String key) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= seed;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+}
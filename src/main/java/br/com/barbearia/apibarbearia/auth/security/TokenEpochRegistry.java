@@ -0,0 +1,106 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import br.com.barbearia.apibarbearia.users.events.UserTokensInvalidatedEvent;
+import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * "Época" de tokens por usuário: segundo a partir do qual os tokens dele valem,
+ * derivado de {@code User.tokenInvalidationTimestamp}. Usuário excluído ou inativo
+ * fica com época {@link #REVOKED} (nenhum token vale).
+ *
+ * Mantido em memória para o filtro de autenticação não ir ao banco a cada requisição:
+ * - após o commit de kick/troca de senha/exclusão ({@link UserTokensInvalidatedEvent})
+ * - sincronização periódica completa (outras instâncias da API)
+ * - usuário ainda desconhecido: uma leitura pontual e fica no mapa
+ *
+ * O {@code iat} do JWT tem resolução de segundos, então a época é truncada no segundo:
+ * tokens emitidos logo após o kick (ex.: na própria troca de senha) continuam válidos.
+ */
+@Slf4j
+@Component
+public class TokenEpochRegistry {
+
+    static final long REVOKED = Long.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final ConcurrentHashMap<Long, Long> epochs = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public TokenEpochRegistry(UserRepository userRepository, MeterRegistry registry) {
+        this.userRepository = userRepository;
+        Gauge.builder("auth.token.epochs.size", epochs, Map::size).register(registry);
+    }
+
+    /** true se um token do usuário emitido em {@code issuedAt} ainda vale. */
+    public boolean accepts(Long userId, Date issuedAt) {
+        if (userId == null) return false;
+
+        Long epoch = epochs.get(userId);
+        if (epoch == null) epoch = load(userId);
+
+        if (epoch == REVOKED) return false;
+        if (epoch == 0) return true;
+        return issuedAt != null && issuedAt.getTime() / 1000 >= epoch;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTokensInvalidated(UserTokensInvalidatedEvent event) {
+        if (event.getUserId() == null) return;
+        generation.incrementAndGet();
+        epochs.put(event.getUserId(), epochOf(event.getInvalidatedAt(), event.isActive()));
+    }
+
+    /** Snapshot completo (id, invalidação, ativo): poucas colunas, uma consulta. */
+    @Scheduled(fixedDelayString = "${app.jwt.token-epochs.sync-ms:30000}")
+    public void sync() {
+        long gen = generation.get();
+        List<UserRepository.TokenState> states;
+        try {
+            states = userRepository.findAllTokenStates();
+        } catch (DataAccessException e) {
+            log.warn("Falha ao sincronizar épocas de token: {}", e.getMostSpecificCause().getMessage());
+            return;
+        }
+
+        Map<Long, Long> fresh = new HashMap<>(states.size() * 2);
+        for (UserRepository.TokenState s : states) {
+            fresh.put(s.getId(), epochOf(s.getTokenInvalidationTimestamp(), s.isActive()));
+        }
+
+        // um evento chegou durante a leitura: o snapshot pode estar velho, fica para a próxima
+        if (generation.get() != gen) return;
+
+        epochs.keySet().retainAll(fresh.keySet());
+        epochs.putAll(fresh);
+    }
+
+    private long load(Long userId) {
+        long gen = generation.get();
+        long epoch = userRepository.findTokenState(userId)
+                .map(s -> epochOf(s.getTokenInvalidationTimestamp(), s.isActive()))
+                .orElse(REVOKED);
+        if (generation.get() == gen) epochs.putIfAbsent(userId, epoch);
+        return epochs.getOrDefault(userId, epoch);
+    }
+
+    private static long epochOf(Instant invalidatedAt, boolean active) {
+        if (!active) return REVOKED;
+        return invalidatedAt == null ? 0 : invalidatedAt.getEpochSecond();
+    }
+}
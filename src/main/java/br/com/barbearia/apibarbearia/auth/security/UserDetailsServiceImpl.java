@@ -1,10 +1,13 @@
 package br.com.barbearia.apibarbearia.auth.security;
 
 import br.com.barbearia.apibarbearia.users.entity.User;
+import br.com.barbearia.apibarbearia.users.events.UserProfileChangedEvent;
 import br.com.barbearia.apibarbearia.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -12,9 +15,10 @@ import org.springframework.stereotype.Component;
 @Component
 @Primary
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -39,4 +43,21 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .roles(user.getRole().name())
                 .build();
     }
+
+    /**
+     * Chamado pelo DaoAuthenticationProvider após um login certo cujo hash usa custo
+     * menor que o configurado: grava o hash novo sem mexer na invalidação de tokens.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findById(Long.parseLong(user.getUsername())).ifPresent(u -> {
+            u.setPasswordHash(newPassword);
+            userRepository.save(u);
+            eventPublisher.publishEvent(new UserProfileChangedEvent(u.getId()));
+        });
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache de tokens cuja assinatura e expiração já foram verificadas.
+ *
+ * Chave: SHA-256 do token (o token em si não fica em memória). Cada entrada vale até o
+ * {@code exp} do token; depois disso o token volta a ser verificado (e rejeitado) pelo parser.
+ * Só guarda o resultado criptográfico: dono do token e invalidação (kick) continuam
+ * sendo conferidos a cada requisição em {@link JwtService#isTokenValid}.
+ *
+ * Os {@link Claims} guardados são compartilhados entre requisições: somente leitura.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(
+            MeterRegistry registry,
+            @Value("${app.jwt.verified-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.maxEntries = Math.max(1, maxEntries);
+
+        this.hits = Counter.builder("auth.jwt.verified.cache").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("auth.jwt.verified.cache").tag("result", "miss").register(registry);
+
+        Gauge.builder("auth.jwt.verified.cache.hit.ratio", this, VerifiedTokenCache::hitRatio).register(registry);
+        Gauge.builder("auth.jwt.verified.cache.size", this, VerifiedTokenCache::size).register(registry);
+    }
+
+    /**
+     * Claims do token já verificado, ou o resultado de {@code verifier} (que deve validar
+     * assinatura e expiração e lançar exceção se o token não for aceito).
+     */
+    public Claims get(String token, Function<String, Claims> verifier) {
+        ByteBuffer key = keyOf(token);
+        long now = System.currentTimeMillis();
+
+        Entry e = entries.get(key);
+        if (e != null) {
+            if (e.expiresAt > now) {
+                hits.increment();
+                return e.claims;
+            }
+            entries.remove(key, e);
+        }
+
+        misses.increment();
+        Claims claims = verifier.apply(token);
+
+        if (claims.getExpiration() != null) {
+            long expiresAt = claims.getExpiration().getTime();
+            if (expiresAt > now) {
+                if (entries.size() >= maxEntries) trim(now);
+                entries.put(key, new Entry(claims, expiresAt));
+            }
+        }
+        return claims;
+    }
+
+    public void evict(String token) {
+        if (token == null || token.isBlank()) return;
+        entries.remove(keyOf(token));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    /** Remove expirados; se ainda estiver cheio, descarta entradas até abrir espaço. */
+    private void trim(long now) {
+        entries.values().removeIf(e -> e.expiresAt <= now);
+
+        Iterator<Map.Entry<ByteBuffer, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() >= maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static ByteBuffer keyOf(String token) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class Entry {
+        final Claims claims;
+        final long expiresAt;
+
+        Entry(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
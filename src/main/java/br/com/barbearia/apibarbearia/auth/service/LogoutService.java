@@ -1,18 +1,22 @@
 package br.com.barbearia.apibarbearia.auth.service;
 
-import br.com.barbearia.apibarbearia.auth.repository.RevokedTokenRepository;
+import br.com.barbearia.apibarbearia.auth.entity.TokenBlacklist;
+import br.com.barbearia.apibarbearia.auth.repository.TokenBlacklistRepository;
 import br.com.barbearia.apibarbearia.auth.security.JwtService;
-import br.com.barbearia.apibarbearia.auth.security.RevokedToken;
+import br.com.barbearia.apibarbearia.auth.security.RevocationIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import javax.servlet.http.HttpServletRequest;
+import java.time.Instant;
 
 @Service
 @RequiredArgsConstructor
 public class LogoutService {
 
-    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenBlacklistRepository blacklistRepository;
+    private final RevocationIndex revocationIndex;
     private final JwtService jwtService;
 
     public void logout(HttpServletRequest request) {
@@ -22,22 +26,29 @@ public class LogoutService {
             return;
         }
 
-        String jwt = authHeader.substring(7); // Remove "Bearer "
+        String jwt = authHeader.substring(7).trim(); // Remove "Bearer "
 
-        // Verifica se já não está na blacklist
-        if (revokedTokenRepository.findByToken(jwt).isPresent()) {
+        // Só o JTI e a expiração vão para a blacklist (não o token inteiro)
+        String jti = jwtService.getJti(jwt);
+        var expiration = jwtService.getExpirationInstant(jwt);
+        if (jti == null || expiration == null) return;
+
+        // Já revogado (índice em memória, sem consulta)
+        if (revocationIndex.isRevoked(jti)) {
             return;
         }
 
-        // Pega a data de expiração do token para salvar no banco
-        // (Assim você pode criar um job que apaga tokens do banco depois que expiram de verdade)
-        var expiration = jwtService.getExpirationInstant(jwt);
-
-        RevokedToken revokedToken = RevokedToken.builder()
-                .token(jwt)
-                .expirationDate(expiration)
-                .build();
+        try {
+            blacklistRepository.save(TokenBlacklist.builder()
+                    .jti(jti)
+                    .expiresAt(expiration)
+                    .createdAt(Instant.now())
+                    .build());
+        } catch (DataIntegrityViolationException ignored) {
+            // logout concorrente do mesmo token: já está gravado
+        }
 
-        revokedTokenRepository.save(revokedToken);
+        revocationIndex.add(jti, expiration);
+        jwtService.forgetVerified(jwt);
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,13 @@
 package br.com.barbearia.apibarbearia.availability.controller;
 
 import br.com.barbearia.apibarbearia.availability.dto.BlockRequestDTO;
+import br.com.barbearia.apibarbearia.availability.dto.BlockResponseDTO;
 import br.com.barbearia.apibarbearia.availability.dto.ProfessionalDTO;
 import br.com.barbearia.apibarbearia.availability.dto.ScheduleDTOs;
-import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
 import br.com.barbearia.apibarbearia.availability.service.AvailabilityService;
 import br.com.barbearia.apibarbearia.common.exception.BadRequestException;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -13,6 +15,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -54,10 +57,16 @@ public class AvailabilityController {
     }
 
     @GetMapping("/blocks/{targetUserId}")
-    public ResponseEntity<List<ScheduleBlock>> listBlocks(@PathVariable Long targetUserId) {
+    public ResponseEntity<Page<BlockResponseDTO>> listBlocks(
+            @PathVariable Long targetUserId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
+    ) {
         Long requesterId = getUserId();
         String role = getRole();
-        return ResponseEntity.ok(availabilityService.listBlocks(requesterId, role, targetUserId));
+        return ResponseEntity.ok(availabilityService.listBlocks(requesterId, role, targetUserId, from, to, page, size));
     }
 
     @PostMapping("/block")
@@ -4,6 +4,7 @@ import br.com.barbearia.apibarbearia.availability.dto.BlockRequestDTO;
 import br.com.barbearia.apibarbearia.availability.dto.ScheduleDTOs;
 import br.com.barbearia.apibarbearia.availability.service.AvailabilityService;
 import br.com.barbearia.apibarbearia.common.exception.BadRequestException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -11,6 +12,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.util.Map;
 
 @RestController
@@ -40,10 +42,15 @@ public class MyAvailabilityController {
     }
 
     @GetMapping("/blocks")
-    public ResponseEntity<?> listMyBlocks() {
+    public ResponseEntity<?> listMyBlocks(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
+    ) {
         Long me = getAuthenticatedUserId();
         String role = getAuthenticatedUserRole();
-        return ResponseEntity.ok(availabilityService.listBlocks(me, role, me));
+        return ResponseEntity.ok(availabilityService.listBlocks(me, role, me, from, to, page, size));
     }
 
     @PostMapping("/blocks")
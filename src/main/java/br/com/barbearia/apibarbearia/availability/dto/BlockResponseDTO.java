@@ -0,0 +1,62 @@
+package br.com.barbearia.apibarbearia.availability.dto;
+
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
+import br.com.barbearia.apibarbearia.availability.entity.enums.BlockType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class BlockResponseDTO {
+    private Long id;
+    private Long userId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private boolean fullDay;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String reason;
+    private BlockType type;
+
+    public BlockResponseDTO() {}
+
+    public static BlockResponseDTO from(ScheduleBlock b) {
+        BlockResponseDTO dto = new BlockResponseDTO();
+        dto.id = b.getId();
+        dto.userId = b.getUser() != null ? b.getUser().getId() : null;
+        dto.startDate = b.getStartDate();
+        dto.endDate = b.getEndDate();
+        dto.fullDay = b.isFullDay();
+        dto.startTime = b.getStartTime();
+        dto.endTime = b.getEndTime();
+        dto.reason = b.getReason();
+        dto.type = b.getType();
+        return dto;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public boolean isFullDay() { return fullDay; }
+    public void setFullDay(boolean fullDay) { this.fullDay = fullDay; }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+
+    public BlockType getType() { return type; }
+    public void setType(BlockType type) { this.type = type; }
+}
@@ -0,0 +1,150 @@
+package br.com.barbearia.apibarbearia.availability.engine;
+
+import br.com.barbearia.apibarbearia.availability.dto.ScheduleDTOs;
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Motor de disponibilidade baseado em {@link DayBitmap}.
+ *
+ * Fluxo:
+ * 1. expediente do dia vira um bitmap (minutos livres)
+ * 2. pausas e bloqueios são removidos com operações de bit
+ * 3. agendamentos PENDING/CONFIRMED vão para um bitmap de ocupados
+ * 4. uma única varredura (janela deslizante) encontra os inícios válidos
+ *
+ * Os inícios respeitam a mesma grade da implementação anterior: contam a partir
+ * do começo de cada trecho livre do expediente, de {@code step} em {@code step} minutos.
+ */
+public final class AvailabilityEngine {
+
+    private AvailabilityEngine() {}
+
+    // ==========================
+    // Montagem dos bitmaps
+    // ==========================
+
+    /**
+     * Expediente do dia menos pausas e bloqueios.
+     * Retorna bitmap vazio se o dia estiver inativo ou sem horário.
+     */
+    public static DayBitmap workingMinutes(ScheduleDTOs.DayConfig dayCfg, LocalDate date, List<ScheduleBlock> blocks) {
+        DayBitmap day = new DayBitmap();
+        if (dayCfg == null || !dayCfg.isActive()) return day;
+
+        LocalTime dayStart = dayCfg.getStartTime();
+        LocalTime dayEnd = dayCfg.getEndTime();
+        if (dayStart == null || dayEnd == null) return day;
+
+        day.set(DayBitmap.minuteCeil(dayStart), DayBitmap.minuteOf(dayEnd));
+
+        if (dayCfg.getBreaks() != null) {
+            for (ScheduleDTOs.IntervalDTO br : dayCfg.getBreaks()) {
+                if (br.getStart() == null || br.getEnd() == null) continue;
+                day.clear(DayBitmap.minuteOf(br.getStart()), DayBitmap.minuteCeil(br.getEnd()));
+            }
+        }
+
+        applyBlocks(day, date, blocks);
+        return day;
+    }
+
+    /** Remove do bitmap os bloqueios que atingem a data. */
+    public static void applyBlocks(DayBitmap day, LocalDate date, List<ScheduleBlock> blocks) {
+        if (blocks == null || blocks.isEmpty()) return;
+
+        for (ScheduleBlock b : blocks) {
+            LocalDate start = b.getStartDate();
+            LocalDate end = b.getEndDate() != null ? b.getEndDate() : start;
+            if (start == null || date.isBefore(start) || date.isAfter(end)) continue;
+
+            if (b.isFullDay()) {
+                day.reset();
+                return;
+            }
+
+            if (start.equals(date) && b.getStartTime() != null && b.getEndTime() != null) {
+                day.clear(DayBitmap.minuteOf(b.getStartTime()), DayBitmap.minuteCeil(b.getEndTime()));
+            }
+        }
+    }
+
+    /** Marca [start, end) como ocupado no bitmap de ocupados. */
+    public static void markBusy(DayBitmap busy, LocalTime start, LocalTime end) {
+        if (start == null || end == null) return;
+        int from = DayBitmap.minuteOf(start);
+        int to = DayBitmap.minuteCeil(end);
+        // agendamento que cruza a meia-noite ocupa até o fim do dia
+        if (to <= from) to = DayBitmap.MINUTES_PER_DAY;
+        busy.set(from, to);
+    }
+
+    // ==========================
+    // Busca de inícios
+    // ==========================
+
+    /**
+     * Varre o dia uma única vez e grava em {@code out} os minutos de início em que
+     * cabe um atendimento de {@code duration} minutos.
+     *
+     * @param working   minutos de expediente (já sem pausas/bloqueios)
+     * @param busy      minutos ocupados por agendamentos (pode ser null)
+     * @param notBefore menor início aceito (ex.: minuto atual + 1 para hoje)
+     * @param out       buffer de saída; deve comportar até 1440 posições
+     * @return quantidade de inícios gravados
+     */
+    public static int findStarts(DayBitmap working, DayBitmap busy, int duration, int step, int notBefore, int[] out) {
+        if (duration <= 0) return 0;
+        if (step <= 0) step = 5;
+
+        int count = 0;
+        int run = 0;      // minutos livres consecutivos (expediente e sem agendamento)
+        int anchor = -1;  // início do trecho de expediente atual (âncora da grade)
+
+        for (int w = 0, words = DayBitmap.wordCount(); w < words; w++) {
+            long sched = working.word(w);
+            if (sched == 0L) {
+                run = 0;
+                anchor = -1;
+                continue;
+            }
+
+            long free = busy != null ? sched & ~busy.word(w) : sched;
+            int base = w << 6;
+            int limit = Math.min(64, DayBitmap.MINUTES_PER_DAY - base);
+
+            for (int bit = 0; bit < limit; bit++) {
+                if (((sched >>> bit) & 1L) == 0) {
+                    run = 0;
+                    anchor = -1;
+                    continue;
+                }
+
+                int minute = base + bit;
+                if (anchor < 0) anchor = minute;
+
+                if (((free >>> bit) & 1L) == 0) {
+                    run = 0;
+                    continue;
+                }
+
+                if (++run < duration) continue;
+
+                int start = minute - duration + 1;
+                if (start >= notBefore && (start - anchor) % step == 0) {
+                    out[count++] = start;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /** true se [from, to) cabe inteiro no expediente livre do dia. */
+    public static boolean fits(DayBitmap working, LocalTime from, LocalTime to) {
+        return working.containsRange(DayBitmap.minuteOf(from), DayBitmap.minuteCeil(to));
+    }
+}
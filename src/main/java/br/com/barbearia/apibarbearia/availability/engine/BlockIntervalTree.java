@@ -0,0 +1,102 @@
+package br.com.barbearia.apibarbearia.availability.engine;
+
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Árvore de intervalos (estática) com os bloqueios de um profissional.
+ *
+ * Os bloqueios ficam ordenados pela data inicial em arrays primitivos; a árvore é
+ * implícita (meio de cada faixa = raiz) e cada nó guarda o maior fim da sua subárvore,
+ * o que permite descartar ramos inteiros na consulta: O(log n + k).
+ * Imutável depois de montada, pode ser compartilhada entre threads.
+ */
+public final class BlockIntervalTree {
+
+    public enum Conflict { NONE, PERIOD, TIME }
+
+    public static final BlockIntervalTree EMPTY = of(null);
+
+    private final long[] start;     // epochDay
+    private final long[] end;       // epochDay (inclusive)
+    private final long[] maxEnd;    // maior fim em [lo, hi) com raiz em mid
+    private final boolean[] fullDay;
+    private final int[] startSec;   // segundo do dia (bloqueio parcial)
+    private final int[] endSec;
+
+    private BlockIntervalTree(int n) {
+        this.start = new long[n];
+        this.end = new long[n];
+        this.maxEnd = new long[n];
+        this.fullDay = new boolean[n];
+        this.startSec = new int[n];
+        this.endSec = new int[n];
+    }
+
+    public static BlockIntervalTree of(List<ScheduleBlock> blocks) {
+        ScheduleBlock[] sorted = blocks == null ? new ScheduleBlock[0] : blocks.stream()
+                .filter(b -> b.getStartDate() != null)
+                .sorted(Comparator.comparing(ScheduleBlock::getStartDate))
+                .toArray(ScheduleBlock[]::new);
+
+        BlockIntervalTree tree = new BlockIntervalTree(sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            ScheduleBlock b = sorted[i];
+            tree.start[i] = b.getStartDate().toEpochDay();
+            tree.end[i] = (b.getEndDate() != null ? b.getEndDate() : b.getStartDate()).toEpochDay();
+            tree.fullDay[i] = b.isFullDay();
+            tree.startSec[i] = b.getStartTime() != null ? b.getStartTime().toSecondOfDay() : 0;
+            tree.endSec[i] = b.getEndTime() != null ? b.getEndTime().toSecondOfDay() : 0;
+        }
+        tree.buildMax(0, sorted.length);
+        return tree;
+    }
+
+    public int size() {
+        return start.length;
+    }
+
+    /**
+     * Primeiro conflito de um novo bloqueio com os existentes.
+     * PERIOD: datas se cruzam e um dos dois é de dia inteiro.
+     * TIME: bloqueios parciais no mesmo dia com horários sobrepostos.
+     */
+    public Conflict findConflict(LocalDate s, LocalDate e, boolean newFullDay, LocalTime st, LocalTime et) {
+        if (start.length == 0 || s == null) return Conflict.NONE;
+        long qs = s.toEpochDay();
+        long qe = (e != null ? e : s).toEpochDay();
+        int qst = st != null ? st.toSecondOfDay() : 0;
+        int qet = et != null ? et.toSecondOfDay() : 0;
+        return search(0, start.length, qs, qe, newFullDay, qst, qet);
+    }
+
+    private Conflict search(int lo, int hi, long qs, long qe, boolean newFullDay, int qst, int qet) {
+        if (lo >= hi) return Conflict.NONE;
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] < qs) return Conflict.NONE;
+
+        Conflict left = search(lo, mid, qs, qe, newFullDay, qst, qet);
+        if (left != Conflict.NONE) return left;
+
+        if (start[mid] > qe) return Conflict.NONE; // à direita só começam depois
+
+        if (end[mid] >= qs) {
+            if (newFullDay || fullDay[mid]) return Conflict.PERIOD;
+            if (start[mid] == qs && qst < endSec[mid] && qet > startSec[mid]) return Conflict.TIME;
+        }
+
+        return search(mid + 1, hi, qs, qe, newFullDay, qst, qet);
+    }
+
+    private long buildMax(int lo, int hi) {
+        if (lo >= hi) return Long.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        long m = Math.max(end[mid], Math.max(buildMax(lo, mid), buildMax(mid + 1, hi)));
+        maxEnd[mid] = m;
+        return m;
+    }
+}
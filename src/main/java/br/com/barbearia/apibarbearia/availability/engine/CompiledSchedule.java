@@ -0,0 +1,114 @@
+package br.com.barbearia.apibarbearia.availability.engine;
+
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleDay;
+import br.com.barbearia.apibarbearia.availability.entity.TimeInterval;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Agenda semanal de um profissional já "compilada" para o motor de disponibilidade.
+ *
+ * Imutável: para cada {@link DayOfWeek} guarda o expediente em minutos e os trechos
+ * livres (expediente menos pausas) como pares [início, fim) de inteiros.
+ * Pode ser compartilhada entre threads e mantida em cache.
+ */
+public final class CompiledSchedule {
+
+    private static final int DAYS = 7;
+    private static final int[] NO_RANGES = new int[0];
+
+    public static final CompiledSchedule EMPTY = of(null);
+
+    /** Início do expediente (minuto, arredondado para cima); -1 se o dia não atende. */
+    private final int[] dayStart;
+    /** Fim do expediente (minuto, arredondado para baixo). */
+    private final int[] dayEnd;
+    /** Trechos livres do dia em pares [início, fim). */
+    private final int[][] ranges;
+
+    private CompiledSchedule(int[] dayStart, int[] dayEnd, int[][] ranges) {
+        this.dayStart = dayStart;
+        this.dayEnd = dayEnd;
+        this.ranges = ranges;
+    }
+
+    public static CompiledSchedule of(List<ScheduleDay> days) {
+        int[] start = new int[DAYS];
+        int[] end = new int[DAYS];
+        int[][] ranges = emptyRanges();
+        Arrays.fill(start, -1);
+
+        if (days != null) {
+            for (ScheduleDay d : days) {
+                if (d.getDayOfWeek() == null || !d.isActive()) continue;
+                if (d.getStartTime() == null || d.getEndTime() == null) continue;
+
+                int i = d.getDayOfWeek().getValue() - 1;
+                start[i] = DayBitmap.minuteCeil(d.getStartTime());
+                end[i] = DayBitmap.minuteOf(d.getEndTime());
+
+                DayBitmap day = new DayBitmap().set(start[i], end[i]);
+                for (TimeInterval br : d.getBreaks()) {
+                    if (br.getStart() == null || br.getEnd() == null) continue;
+                    day.clear(DayBitmap.minuteOf(br.getStart()), DayBitmap.minuteCeil(br.getEnd()));
+                }
+                ranges[i] = toRanges(day);
+            }
+        }
+
+        return new CompiledSchedule(start, end, ranges);
+    }
+
+    public boolean isActive(DayOfWeek dow) {
+        return dayStart[dow.getValue() - 1] >= 0;
+    }
+
+    /** Início do expediente em minutos; -1 se o dia não atende. */
+    public int dayStart(DayOfWeek dow) {
+        return dayStart[dow.getValue() - 1];
+    }
+
+    public int dayEnd(DayOfWeek dow) {
+        return dayEnd[dow.getValue() - 1];
+    }
+
+    /**
+     * Expediente da data menos pausas e bloqueios, pronto para
+     * {@link AvailabilityEngine#findStarts}. Vazio se o dia não atende.
+     */
+    public DayBitmap workingMinutes(LocalDate date, List<ScheduleBlock> blocks) {
+        DayBitmap day = new DayBitmap();
+        int[] r = ranges[date.getDayOfWeek().getValue() - 1];
+        for (int i = 0; i < r.length; i += 2) day.set(r[i], r[i + 1]);
+
+        if (!day.isEmpty()) AvailabilityEngine.applyBlocks(day, date, blocks);
+        return day;
+    }
+
+    private static int[] toRanges(DayBitmap day) {
+        int[] tmp = new int[DayBitmap.MINUTES_PER_DAY];
+        int n = 0;
+        int runStart = -1;
+        for (int m = 0; m <= DayBitmap.MINUTES_PER_DAY; m++) {
+            boolean free = m < DayBitmap.MINUTES_PER_DAY && day.get(m);
+            if (free && runStart < 0) {
+                runStart = m;
+            } else if (!free && runStart >= 0) {
+                tmp[n++] = runStart;
+                tmp[n++] = m;
+                runStart = -1;
+            }
+        }
+        return n == 0 ? NO_RANGES : Arrays.copyOf(tmp, n);
+    }
+
+    private static int[][] emptyRanges() {
+        int[][] r = new int[DAYS][];
+        Arrays.fill(r, NO_RANGES);
+        return r;
+    }
+}
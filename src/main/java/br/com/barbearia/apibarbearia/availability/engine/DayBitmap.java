@@ -0,0 +1,147 @@
+package br.com.barbearia.apibarbearia.availability.engine;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Representa um dia inteiro em resolução de minuto (1440 bits).
+ *
+ * Bit ligado = minuto livre. Expediente, pausas, bloqueios e agendamentos
+ * são aplicados como operações de bit sobre 23 palavras de 64 bits.
+ * Intervalos são sempre [from, to) em minutos desde 00:00.
+ */
+public final class DayBitmap {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS = (MINUTES_PER_DAY + 63) >>> 6;
+
+    private final long[] words;
+
+    public DayBitmap() {
+        this.words = new long[WORDS];
+    }
+
+    private DayBitmap(long[] words) {
+        this.words = words;
+    }
+
+    // ==========================
+    // Conversões de horário
+    // ==========================
+
+    /** Minuto do dia arredondado para baixo (10:07:30 -> 607). */
+    public static int minuteOf(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+
+    /** Minuto do dia arredondado para cima (10:07:30 -> 608). */
+    public static int minuteCeil(LocalTime t) {
+        int m = minuteOf(t);
+        return (t.getSecond() > 0 || t.getNano() > 0) ? m + 1 : m;
+    }
+
+    public static LocalTime toTime(int minute) {
+        return LocalTime.of(minute / 60, minute % 60);
+    }
+
+    // ==========================
+    // Operações
+    // ==========================
+
+    /** Marca [from, to) como livre. */
+    public DayBitmap set(int from, int to) {
+        apply(from, to, true);
+        return this;
+    }
+
+    /** Marca [from, to) como ocupado. */
+    public DayBitmap clear(int from, int to) {
+        apply(from, to, false);
+        return this;
+    }
+
+    /** this &= ~other (remove os minutos ocupados de outro bitmap). */
+    public DayBitmap andNot(DayBitmap other) {
+        for (int i = 0; i < WORDS; i++) words[i] &= ~other.words[i];
+        return this;
+    }
+
+    public DayBitmap and(DayBitmap other) {
+        for (int i = 0; i < WORDS; i++) words[i] &= other.words[i];
+        return this;
+    }
+
+    public DayBitmap reset() {
+        Arrays.fill(words, 0L);
+        return this;
+    }
+
+    public DayBitmap copy() {
+        return new DayBitmap(words.clone());
+    }
+
+    /** Copia o conteúdo de outro bitmap para este, sem alocar. */
+    public DayBitmap copyFrom(DayBitmap other) {
+        System.arraycopy(other.words, 0, words, 0, WORDS);
+        return this;
+    }
+
+    public boolean get(int minute) {
+        if (minute < 0 || minute >= MINUTES_PER_DAY) return false;
+        return (words[minute >>> 6] & (1L << minute)) != 0;
+    }
+
+    public boolean isEmpty() {
+        for (long w : words) if (w != 0) return false;
+        return true;
+    }
+
+    /** true se todos os minutos de [from, to) estão livres. */
+    public boolean containsRange(int from, int to) {
+        if (from < 0 || to > MINUTES_PER_DAY || from >= to) return false;
+
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+
+        for (int i = first; i <= last; i++) {
+            long mask = -1L;
+            if (i == first) mask &= -1L << from;
+            if (i == last) mask &= -1L >>> (63 - ((to - 1) & 63));
+            if ((words[i] & mask) != mask) return false;
+        }
+        return true;
+    }
+
+    /** Quantidade de minutos livres. */
+    public int cardinality() {
+        int n = 0;
+        for (long w : words) n += Long.bitCount(w);
+        return n;
+    }
+
+    long word(int index) {
+        return words[index];
+    }
+
+    static int wordCount() {
+        return WORDS;
+    }
+
+    private void apply(int from, int to, boolean value) {
+        if (from < 0) from = 0;
+        if (to > MINUTES_PER_DAY) to = MINUTES_PER_DAY;
+        if (from >= to) return;
+
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+
+        for (int i = first; i <= last; i++) {
+            long mask = -1L;
+            if (i == first) mask &= -1L << from;
+            if (i == last) mask &= -1L >>> (63 - ((to - 1) & 63));
+
+            if (value) words[i] |= mask;
+            else words[i] &= ~mask;
+        }
+    }
+}
@@ -11,7 +11,8 @@ import java.time.LocalTime;
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "schedule_blocks")
+@Table(name = "schedule_blocks",
+        indexes = @Index(name = "idx_schedule_blocks_user_dates", columnList = "user_id, start_date, end_date"))
 public class ScheduleBlock {
 
     @Id
@@ -0,0 +1,16 @@
+package br.com.barbearia.apibarbearia.availability.events;
+
+/**
+ * Publicado quando um bloqueio de agenda é criado para um profissional.
+ * Consumido após o commit para invalidar índices e caches de disponibilidade.
+ */
+public class ScheduleBlockChangedEvent {
+
+    private final Long userId;
+
+    public ScheduleBlockChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() { return userId; }
+}
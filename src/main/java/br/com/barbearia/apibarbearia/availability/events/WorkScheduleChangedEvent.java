@@ -0,0 +1,16 @@
+package br.com.barbearia.apibarbearia.availability.events;
+
+/**
+ * Publicado quando a rotina de trabalho de um profissional é criada ou alterada.
+ * Consumido após o commit para invalidar caches de agenda.
+ */
+public class WorkScheduleChangedEvent {
+
+    private final Long userId;
+
+    public WorkScheduleChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() { return userId; }
+}
@@ -1,10 +1,42 @@
 package br.com.barbearia.apibarbearia.availability.repository;
 
 import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface ScheduleBlockRepository extends JpaRepository<ScheduleBlock, Long> {
     List<ScheduleBlock> findAllByUser_Id(Long userId);
+
+    /** Bloqueios que tocam [from, to]; usa o índice (user_id, start_date, end_date). */
+    @Query("SELECT b FROM ScheduleBlock b " +
+            "WHERE b.user.id = :userId " +
+            "AND b.startDate <= :to " +
+            "AND COALESCE(b.endDate, b.startDate) >= :from " +
+            "ORDER BY b.startDate ASC")
+    List<ScheduleBlock> findInRange(
+            @Param("userId") Long userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query(value = "SELECT b FROM ScheduleBlock b " +
+            "WHERE b.user.id = :userId " +
+            "AND b.startDate <= :to " +
+            "AND COALESCE(b.endDate, b.startDate) >= :from",
+            countQuery = "SELECT COUNT(b) FROM ScheduleBlock b " +
+                    "WHERE b.user.id = :userId " +
+                    "AND b.startDate <= :to " +
+                    "AND COALESCE(b.endDate, b.startDate) >= :from")
+    Page<ScheduleBlock> findPageInRange(
+            @Param("userId") Long userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Pageable pageable
+    );
 }
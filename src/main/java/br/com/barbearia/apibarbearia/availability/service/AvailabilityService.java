@@ -2,22 +2,36 @@ package br.com.barbearia.apibarbearia.availability.service;
 
 import br.com.barbearia.apibarbearia.availability.common.exception.ForbiddenException;
 import br.com.barbearia.apibarbearia.availability.dto.BlockRequestDTO;
+import br.com.barbearia.apibarbearia.availability.dto.BlockResponseDTO;
 import br.com.barbearia.apibarbearia.availability.dto.ProfessionalDTO;
 import br.com.barbearia.apibarbearia.availability.dto.ScheduleDTOs;
+import br.com.barbearia.apibarbearia.availability.engine.BlockIntervalTree;
+import br.com.barbearia.apibarbearia.availability.engine.CompiledSchedule;
 import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
 import br.com.barbearia.apibarbearia.availability.entity.ScheduleDay;
 import br.com.barbearia.apibarbearia.availability.entity.TimeInterval;
 import br.com.barbearia.apibarbearia.availability.entity.WorkSchedule;
 import br.com.barbearia.apibarbearia.availability.entity.enums.BlockType;
+import br.com.barbearia.apibarbearia.availability.events.ScheduleBlockChangedEvent;
+import br.com.barbearia.apibarbearia.availability.events.WorkScheduleChangedEvent;
 import br.com.barbearia.apibarbearia.availability.repository.ScheduleBlockRepository;
 import br.com.barbearia.apibarbearia.availability.repository.WorkScheduleRepository;
 import br.com.barbearia.apibarbearia.common.exception.BadRequestException;
 import br.com.barbearia.apibarbearia.common.exception.ConflictException;
 import br.com.barbearia.apibarbearia.common.exception.NotFoundException;
+import br.com.barbearia.apibarbearia.users.entity.Role.Role;
 import br.com.barbearia.apibarbearia.users.entity.User;
 import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import br.com.barbearia.apibarbearia.users.service.UserDirectory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -31,15 +45,30 @@ public class AvailabilityService {
     private final WorkScheduleRepository scheduleRepo;
     private final ScheduleBlockRepository blockRepo;
     private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
+    private final WorkScheduleCache scheduleCache;
+    private final ScheduleBlockIndex blockIndex;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate txTemplate;
 
     public AvailabilityService(
             WorkScheduleRepository scheduleRepo,
             ScheduleBlockRepository blockRepo,
-            UserRepository userRepository
+            UserRepository userRepository,
+            UserDirectory userDirectory,
+            WorkScheduleCache scheduleCache,
+            ScheduleBlockIndex blockIndex,
+            ApplicationEventPublisher publisher,
+            PlatformTransactionManager txManager
     ) {
         this.scheduleRepo = scheduleRepo;
         this.blockRepo = blockRepo;
         this.userRepository = userRepository;
+        this.userDirectory = userDirectory;
+        this.scheduleCache = scheduleCache;
+        this.blockIndex = blockIndex;
+        this.publisher = publisher;
+        this.txTemplate = new TransactionTemplate(txManager);
     }
 
     @Transactional(readOnly = true)
@@ -96,6 +125,16 @@ public class AvailabilityService {
         return res;
     }
 
+    /**
+     * Agenda compilada do profissional para slots e agendamentos.
+     * Leitura interna (sem checagem de hierarquia), servida do cache; a primeira
+     * leitura cria a agenda padrão se o profissional ainda não tiver uma.
+     */
+    public CompiledSchedule getCompiledSchedule(Long userId) {
+        if (userId == null) throw new BadRequestException("Usuário inválido.");
+        return scheduleCache.get(userId, this::loadCompiledSchedule);
+    }
+
     @Transactional
     public void updateRoutine(Long requesterId, String requesterRole, Long targetUserId, ScheduleDTOs.ScheduleRequest dto) {
         validateHierarchy(requesterId, requesterRole, targetUserId);
@@ -123,6 +162,7 @@ public class AvailabilityService {
         }
 
         scheduleRepo.save(schedule);
+        publisher.publishEvent(new WorkScheduleChangedEvent(targetUserId));
     }
 
     @Transactional
@@ -133,8 +173,11 @@ public class AvailabilityService {
         validateHierarchy(requesterId, requesterRole, dto.getTargetUserId());
         validateBlock(dto);
 
-        User user = userRepository.findById(dto.getTargetUserId())
-                .orElseThrow(() -> new NotFoundException("Usuário não encontrado."));
+        // existência pelo diretório; o bloqueio só precisa da referência para a FK
+        if (userDirectory.find(dto.getTargetUserId()).isEmpty()) {
+            throw new NotFoundException("Usuário não encontrado.");
+        }
+        User user = userRepository.getReferenceById(dto.getTargetUserId());
 
         ensureNoBlockOverlap(dto.getTargetUserId(), dto.getStartDate(), dto.getEndDate(),
                 dto.isFullDay(), dto.getStartTime(), dto.getEndTime());
@@ -144,12 +187,34 @@ public class AvailabilityService {
                 : ScheduleBlock.createPartialBlock(user, dto.getStartDate(), dto.getStartTime(), dto.getEndTime(), dto.getReason(), BlockType.BLOCKED);
 
         blockRepo.save(block);
+        publisher.publishEvent(new ScheduleBlockChangedEvent(dto.getTargetUserId()));
     }
 
+    /**
+     * Bloqueios do profissional que tocam [from, to], paginados por data inicial.
+     * Sem datas: de hoje até um ano à frente.
+     */
     @Transactional(readOnly = true)
-    public List<ScheduleBlock> listBlocks(Long requesterId, String requesterRole, Long targetUserId) {
+    public Page<BlockResponseDTO> listBlocks(Long requesterId, String requesterRole, Long targetUserId,
+                                             LocalDate from, LocalDate to, Integer page, Integer size) {
         validateHierarchy(requesterId, requesterRole, targetUserId);
-        return blockRepo.findAllByUser_Id(targetUserId);
+
+        if (from == null) from = LocalDate.now();
+        if (to == null) to = from.plusYears(1);
+        if (to.isBefore(from)) throw new BadRequestException("Data final deve ser >= data inicial.");
+
+        int p = page != null ? Math.max(page, 0) : 0;
+        int sz = size != null ? Math.min(Math.max(size, 1), 100) : 20;
+        Pageable pageable = PageRequest.of(p, sz, Sort.by(Sort.Direction.ASC, "startDate"));
+
+        return blockRepo.findPageInRange(targetUserId, from, to, pageable).map(BlockResponseDTO::from);
+    }
+
+    /** Bloqueios que tocam [from, to], para slots e agendamentos (leitura interna, sem hierarquia). */
+    @Transactional(readOnly = true)
+    public List<ScheduleBlock> findBlocksInRange(Long userId, LocalDate from, LocalDate to) {
+        if (userId == null) throw new BadRequestException("Usuário inválido.");
+        return blockRepo.findInRange(userId, from, to);
     }
 
     @Transactional
@@ -196,6 +261,20 @@ public class AvailabilityService {
         }
 
         scheduleRepo.save(schedule);
+        publisher.publishEvent(new WorkScheduleChangedEvent(userId));
+    }
+
+    private CompiledSchedule loadCompiledSchedule(Long userId) {
+        return txTemplate.execute(status -> {
+            WorkSchedule schedule = scheduleRepo.findByUserId(userId).orElse(null);
+
+            if (schedule == null) {
+                createDefaultSchedule(userId);
+                schedule = scheduleRepo.findByUserId(userId).orElse(null);
+            }
+
+            return schedule == null ? CompiledSchedule.EMPTY : CompiledSchedule.of(schedule.getDays());
+        });
     }
 
     private void validateHierarchy(Long reqId, String reqRole, Long targetId) {
@@ -217,11 +296,11 @@ public class AvailabilityService {
 
         // ✅ ADMIN só pode gerenciar STAFF
         if ("ADMIN".equals(role) || "ADM".equals(role)) {
-            User target = userRepository.findById(targetId)
+            // papel lido do banco: o diretório é cache local e não vê rebaixamentos em outras instâncias
+            Role targetRole = userRepository.findRoleById(targetId)
                     .orElseThrow(() -> new NotFoundException("Usuário alvo não encontrado."));
 
-            String targetRole = target.getRole().name();
-            if (!"STAFF".equalsIgnoreCase(targetRole)) {
+            if (!"STAFF".equalsIgnoreCase(targetRole.name())) {
                 throw new ForbiddenException("ADMIN só pode gerenciar STAFF.");
             }
             return;
@@ -364,21 +443,15 @@ public class AvailabilityService {
     }
 
     private void ensureNoBlockOverlap(Long userId, LocalDate s, LocalDate e, boolean fullDay, LocalTime st, LocalTime et) {
-        List<ScheduleBlock> blocks = blockRepo.findAllByUser_Id(userId);
-        if (blocks == null || blocks.isEmpty()) return;
-
-        for (ScheduleBlock b : blocks) {
-            boolean dateOverlap = !(e.isBefore(b.getStartDate()) || s.isAfter(b.getEndDate()));
-            if (!dateOverlap) continue;
+        BlockIntervalTree tree = blockIndex.get(userId, id -> BlockIntervalTree.of(blockRepo.findAllByUser_Id(id)));
 
-            if (fullDay || b.isFullDay()) {
-                throw new ConflictException("Conflito: já existe bloqueio nesse período.");
-            }
+        BlockIntervalTree.Conflict conflict = tree.findConflict(s, e, fullDay, st, et);
 
-            if (s.equals(b.getStartDate())) {
-                boolean overlap = st.isBefore(b.getEndTime()) && et.isAfter(b.getStartTime());
-                if (overlap) throw new ConflictException("Conflito: já existe bloqueio nesse horário.");
-            }
+        if (conflict == BlockIntervalTree.Conflict.PERIOD) {
+            throw new ConflictException("Conflito: já existe bloqueio nesse período.");
+        }
+        if (conflict == BlockIntervalTree.Conflict.TIME) {
+            throw new ConflictException("Conflito: já existe bloqueio nesse horário.");
         }
     }
 }
\ No newline at end of file
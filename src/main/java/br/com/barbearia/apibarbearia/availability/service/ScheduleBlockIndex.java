@@ -0,0 +1,49 @@
+package br.com.barbearia.apibarbearia.availability.service;
+
+import br.com.barbearia.apibarbearia.availability.engine.BlockIntervalTree;
+import br.com.barbearia.apibarbearia.availability.events.ScheduleBlockChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Árvores de intervalos dos bloqueios, uma por profissional, para a checagem
+ * de sobreposição ao criar bloqueios.
+ *
+ * Montada na primeira checagem e descartada depois do commit de
+ * {@link ScheduleBlockChangedEvent}; a próxima checagem remonta a partir do banco.
+ */
+@Component
+public class ScheduleBlockIndex {
+
+    private final Map<Long, BlockIntervalTree> trees = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public BlockIntervalTree get(Long userId, Function<Long, BlockIntervalTree> loader) {
+        BlockIntervalTree cached = trees.get(userId);
+        if (cached != null) return cached;
+
+        long gen = generation.get();
+        BlockIntervalTree loaded = loader.apply(userId);
+
+        if (loaded != null && generation.get() == gen) {
+            trees.putIfAbsent(userId, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long userId) {
+        generation.incrementAndGet();
+        trees.remove(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBlockChanged(ScheduleBlockChangedEvent event) {
+        if (event.getUserId() != null) invalidate(event.getUserId());
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.barbearia.apibarbearia.availability.service;
+
+import br.com.barbearia.apibarbearia.availability.engine.CompiledSchedule;
+import br.com.barbearia.apibarbearia.availability.events.WorkScheduleChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache em memória das agendas compiladas, uma entrada por profissional.
+ *
+ * Preenchido na primeira leitura e invalidado depois do commit de
+ * {@link WorkScheduleChangedEvent}. Uma carga que começou antes de uma
+ * invalidação não é gravada, para não ressuscitar a agenda antiga.
+ */
+@Component
+public class WorkScheduleCache {
+
+    private final Map<Long, CompiledSchedule> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public WorkScheduleCache(MeterRegistry registry) {
+        this.hits = Counter.builder("availability.schedule.cache")
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("availability.schedule.cache")
+                .tag("result", "miss")
+                .register(registry);
+        this.invalidations = Counter.builder("availability.schedule.cache.invalidations")
+                .register(registry);
+        registry.gaugeMapSize("availability.schedule.cache.size", Collections.emptyList(), entries);
+    }
+
+    public CompiledSchedule get(Long userId, Function<Long, CompiledSchedule> loader) {
+        CompiledSchedule cached = entries.get(userId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long gen = generation.get();
+        CompiledSchedule loaded = loader.apply(userId);
+
+        if (loaded != null && generation.get() == gen) {
+            entries.putIfAbsent(userId, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long userId) {
+        generation.incrementAndGet();
+        entries.remove(userId);
+        invalidations.increment();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(WorkScheduleChangedEvent event) {
+        if (event.getUserId() != null) invalidate(event.getUserId());
+    }
+}
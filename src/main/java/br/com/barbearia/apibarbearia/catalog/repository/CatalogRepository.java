@@ -3,6 +3,7 @@ package br.com.barbearia.apibarbearia.catalog.repository;
 import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,4 +24,8 @@ public interface CatalogRepository extends JpaRepository<CatalogItem, Long> {
     boolean existsByResponsibles_Id(Long userId);
 
     List<CatalogItem> findAllByActiveTrue();
+
+    /** Ids dos responsáveis do item (inclusive excluído), sem carregar a entidade. */
+    @Query("select r.id from CatalogItem c join c.responsibles r where c.id = :id")
+    List<Long> findResponsibleIds(@Param("id") Long id);
 }
@@ -5,8 +5,10 @@ import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
 import br.com.barbearia.apibarbearia.catalog.events.*;
 import br.com.barbearia.apibarbearia.catalog.repository.CatalogRepository;
 import br.com.barbearia.apibarbearia.common.exception.CatalogExceptions;
+import br.com.barbearia.apibarbearia.users.dto.UserProfile;
 import br.com.barbearia.apibarbearia.users.entity.User;
 import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import br.com.barbearia.apibarbearia.users.service.UserDirectory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,11 +22,14 @@ public class CatalogService {
 
     private final CatalogRepository repository;
     private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
     private final ApplicationEventPublisher publisher;
 
-    public CatalogService(CatalogRepository repository, UserRepository userRepository, ApplicationEventPublisher publisher) {
+    public CatalogService(CatalogRepository repository, UserRepository userRepository, UserDirectory userDirectory,
+                          ApplicationEventPublisher publisher) {
         this.repository = repository;
         this.userRepository = userRepository;
+        this.userDirectory = userDirectory;
         this.publisher = publisher;
     }
 
@@ -76,7 +81,7 @@ public class CatalogService {
         CatalogItem saved = repository.save(item);
 
         // CORREÇÃO: Busca o usuário real no banco para garantir Nome e Email corretos
-        User admin = findAdminUser(adminUserId);
+        UserProfile admin = findAdminUser(adminUserId);
         String realName = admin != null ? admin.getName() : adminNameParam;
         String realEmail = admin != null ? admin.getEmail() : "sistema@barbearia.com";
 
@@ -136,7 +141,7 @@ public class CatalogService {
         removedIds.removeAll(newResponsibleIds);
 
         // CORREÇÃO: Busca o usuário real
-        User admin = findAdminUser(adminUserId);
+        UserProfile admin = findAdminUser(adminUserId);
         String realName = admin != null ? admin.getName() : adminNameParam;
         String realEmail = admin != null ? admin.getEmail() : "sistema@barbearia.com";
 
@@ -170,7 +175,7 @@ public class CatalogService {
         CatalogEventType type = wasActive ? CatalogEventType.DEACTIVATED : CatalogEventType.ACTIVATED;
 
         // CORREÇÃO: Busca o usuário real
-        User admin = findAdminUser(adminUserId);
+        UserProfile admin = findAdminUser(adminUserId);
         String realName = admin != null ? admin.getName() : adminNameParam;
         String realEmail = admin != null ? admin.getEmail() : "sistema@barbearia.com";
 
@@ -205,7 +210,7 @@ public class CatalogService {
         repository.save(item);
 
         // CORREÇÃO: Busca o usuário real
-        User admin = findAdminUser(adminUserId);
+        UserProfile admin = findAdminUser(adminUserId);
         String realName = admin != null ? admin.getName() : adminNameParam;
         String realEmail = admin != null ? admin.getEmail() : "sistema@barbearia.com";
 
@@ -233,9 +238,9 @@ public class CatalogService {
     // ---------------- helpers ----------------
 
     // Helper centralizado para buscar o usuário (Admin/Autor)
-    private User findAdminUser(Long adminUserId) {
+    private UserProfile findAdminUser(Long adminUserId) {
         if (adminUserId == null) return null;
-        return userRepository.findById(adminUserId).orElse(null);
+        return userDirectory.find(adminUserId).orElse(null);
     }
 
     private CatalogItemResponse toResponse(CatalogItem item) {
@@ -247,8 +252,8 @@ public class CatalogService {
 
         String createdByName = "Sistema";
         if (item.getCreatedByUserId() != null) {
-            createdByName = userRepository.findById(item.getCreatedByUserId())
-                    .map(User::getName)
+            createdByName = userDirectory.find(item.getCreatedByUserId())
+                    .map(UserProfile::getName)
                     .orElse("Desconhecido");
         }
 
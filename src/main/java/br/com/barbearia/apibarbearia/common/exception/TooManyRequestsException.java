@@ -0,0 +1,16 @@
+package br.com.barbearia.apibarbearia.common.exception;
+
+/** Servidor saturado para esta operação: vira 429 com Retry-After. */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
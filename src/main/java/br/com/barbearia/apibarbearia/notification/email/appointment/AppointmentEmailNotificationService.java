@@ -2,12 +2,11 @@ package br.com.barbearia.apibarbearia.notification.email.appointment;
 
 import br.com.barbearia.apibarbearia.appointment.service.AppointmentPdfService;
 import br.com.barbearia.apibarbearia.notification.email.sender.EmailSender;
+import br.com.barbearia.apibarbearia.notification.email.sender.SmtpConnectionPool;
 import br.com.barbearia.apibarbearia.notification.email.template.appointment.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import javax.mail.internet.MimeMessage;
@@ -19,15 +18,15 @@ import java.time.LocalDateTime;
  * Extensão do serviço original: mantém todos os métodos existentes
  * e adiciona envio de PDF como anexo nos e-mails de criação e cancelamento.
  *
- * Compatível 100% com o AppointmentEventListener existente — basta
- * adicionar o parâmetro appointmentId nos dois métodos modificados.
+ * Os envios são síncronos e lançam exceção em caso de falha: quem chama é o
+ * AppointmentOutboxDispatcher, em thread própria, e é ele que decide retry/dead-letter.
  */
 @Slf4j
 @Service
 public class AppointmentEmailNotificationService {
 
     private final EmailSender                                emailSender;
-    private final JavaMailSender                             mailSender;
+    private final SmtpConnectionPool                         smtpPool;
     private final AppointmentPdfService                      pdfService;
     private final NewAppointmentForProfessionalTemplate      newForProfessional;
     private final AppointmentCreatedForClientTemplate        createdForClient;
@@ -38,7 +37,7 @@ public class AppointmentEmailNotificationService {
 
     public AppointmentEmailNotificationService(
             EmailSender emailSender,
-            JavaMailSender mailSender,
+            SmtpConnectionPool smtpPool,
             AppointmentPdfService pdfService,
             NewAppointmentForProfessionalTemplate newForProfessional,
             AppointmentCreatedForClientTemplate createdForClient,
@@ -48,7 +47,7 @@ public class AppointmentEmailNotificationService {
             AppointmentReminderForProfessionalTemplate reminderForProfessional
     ) {
         this.emailSender           = emailSender;
-        this.mailSender            = mailSender;
+        this.smtpPool              = smtpPool;
         this.pdfService            = pdfService;
         this.newForProfessional    = newForProfessional;
         this.createdForClient      = createdForClient;
@@ -62,12 +61,11 @@ public class AppointmentEmailNotificationService {
     //  NOVO AGENDAMENTO — PROFISSIONAL (sem anexo)
     // ════════════════════════════════════════════════════════════════════════
 
-    @Async
     public void sendNewAppointmentToProfessional(
             String to, String professionalName, String clientName,
             String serviceName, LocalDateTime startAt
     ) {
-        safeRun(() -> emailSender.sendHtml(
+        deliver(() -> emailSender.sendHtml(
                 to,
                 newForProfessional.subject(),
                 newForProfessional.html(professionalName, clientName, serviceName, startAt)
@@ -78,10 +76,8 @@ public class AppointmentEmailNotificationService {
     //  AGENDAMENTO CRIADO — CLIENTE (com PDF anexado)
     //
     //  DIFERENÇA em relação ao original: adicionado parâmetro appointmentId.
-    //  Atualizar a chamada no AppointmentEventListener para passar esse campo.
     // ════════════════════════════════════════════════════════════════════════
 
-    @Async
     public void sendAppointmentCreatedToClient(
             String to,
             String clientName,
@@ -93,7 +89,7 @@ public class AppointmentEmailNotificationService {
             String cancelLink,
             Long appointmentId          // NOVO — usado para gerar o PDF
     ) {
-        safeRun(() -> {
+        deliver(() -> {
             String html = createdForClient.html(clientName, professionalName, serviceName, startAt, cancelLink);
             byte[] pdf  = generatePdfSafely(appointmentId);
 
@@ -113,7 +109,6 @@ public class AppointmentEmailNotificationService {
     //  DIFERENÇA: adicionados appointmentId e code para nomear o arquivo.
     // ════════════════════════════════════════════════════════════════════════
 
-    @Async
     public void sendCanceledToClient(
             String to,
             String clientName,
@@ -126,7 +121,7 @@ public class AppointmentEmailNotificationService {
             Long appointmentId,         // NOVO
             String code                 // NOVO
     ) {
-        safeRun(() -> {
+        deliver(() -> {
             String html = canceledForClient.html(
                     clientName, professionalName, serviceName,
                     startAt, canceledByUsername, cancelOrigin, cancelMessage
@@ -146,13 +141,12 @@ public class AppointmentEmailNotificationService {
     //  CANCELAMENTO — PROFISSIONAL (sem PDF, assinatura original mantida)
     // ════════════════════════════════════════════════════════════════════════
 
-    @Async
     public void sendCanceledToProfessional(
             String to, String professionalName, String clientName,
             String serviceName, LocalDateTime startAt,
             String canceledByUsername, String cancelOrigin, String cancelMessage
     ) {
-        safeRun(() -> emailSender.sendHtml(
+        deliver(() -> emailSender.sendHtml(
                 to,
                 canceledForProfessional.subject(),
                 canceledForProfessional.html(
@@ -166,23 +160,21 @@ public class AppointmentEmailNotificationService {
     //  LEMBRETES (sem alteração)
     // ════════════════════════════════════════════════════════════════════════
 
-    @Async
     public void sendReminderToClient(
             String to, String clientName, String professionalName,
             String serviceName, LocalDateTime startAt
     ) {
-        safeRun(() -> emailSender.sendHtml(
+        deliver(() -> emailSender.sendHtml(
                 to, reminderForClient.subject(),
                 reminderForClient.html(clientName, professionalName, serviceName, startAt)
         ), "sendReminderToClient", to);
     }
 
-    @Async
     public void sendReminderToProfessional(
             String to, String professionalName, String clientName,
             String serviceName, LocalDateTime startAt
     ) {
-        safeRun(() -> emailSender.sendHtml(
+        deliver(() -> emailSender.sendHtml(
                 to, reminderForProfessional.subject(),
                 reminderForProfessional.html(professionalName, clientName, serviceName, startAt)
         ), "sendReminderToProfessional", to);
@@ -201,7 +193,7 @@ public class AppointmentEmailNotificationService {
             String to, String subject, String htmlBody,
             byte[] pdfBytes, String fileName
     ) throws Exception {
-        MimeMessage msg = mailSender.createMimeMessage();
+        MimeMessage msg = smtpPool.createMimeMessage();
         // true = multipart | "UTF-8" = encoding
         MimeMessageHelper helper = new MimeMessageHelper(msg, true, "UTF-8");
         helper.setTo(to);
@@ -210,7 +202,7 @@ public class AppointmentEmailNotificationService {
 
         helper.addAttachment(fileName, new ByteArrayResource(pdfBytes), "application/pdf");
 
-        mailSender.send(msg);
+        smtpPool.send(msg);
         log.info("[EMAIL] Enviado com PDF para {} | assunto: {}", to, subject);
     }
 
@@ -225,12 +217,16 @@ public class AppointmentEmailNotificationService {
         }
     }
 
-    /** Executa ação com tratamento de erro centralizado */
-    private void safeRun(ThrowingRunnable action, String method, String to) {
+    /** Executa o envio; a falha é registrada e repassada a quem chamou */
+    private void deliver(ThrowingRunnable action, String method, String to) {
         try {
             action.run();
+        } catch (RuntimeException e) {
+            log.warn("[EMAIL] Falha em {} para {}: {}", method, to, e.getMessage());
+            throw e;
         } catch (Exception e) {
-            log.error("[EMAIL] Falha em {} para {}: {}", method, to, e.getMessage(), e);
+            log.warn("[EMAIL] Falha em {} para {}: {}", method, to, e.getMessage());
+            throw new IllegalStateException("Falha em " + method + ": " + e.getMessage(), e);
         }
     }
 
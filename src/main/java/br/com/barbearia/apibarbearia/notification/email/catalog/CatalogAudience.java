@@ -0,0 +1,13 @@
+package br.com.barbearia.apibarbearia.notification.email.catalog;
+
+/**
+ * Público de um e-mail de catálogo: todos do mesmo público recebem o mesmo HTML,
+ * renderizado uma vez por evento ({@link br.com.barbearia.apibarbearia.notification.email.digest.PersonalizedEmail}).
+ */
+public enum CatalogAudience {
+    AUTHOR,
+    RESPONSIBLE,
+    ADDED_RESPONSIBLE,
+    REMOVED_RESPONSIBLE,
+    OTHERS
+}
@@ -0,0 +1,162 @@
+package br.com.barbearia.apibarbearia.notification.email.catalog;
+
+import br.com.barbearia.apibarbearia.catalog.events.CatalogChangedEvent;
+import br.com.barbearia.apibarbearia.catalog.repository.CatalogRepository;
+import br.com.barbearia.apibarbearia.notification.email.digest.EmailDigestBuffer;
+import br.com.barbearia.apibarbearia.notification.email.digest.EmailDigestBuffer.Recipient;
+import br.com.barbearia.apibarbearia.notification.email.digest.PersonalizedEmail;
+import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import br.com.barbearia.apibarbearia.users.repository.UserRepository.EmailRecipient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envio em massa dos e-mails de mudança no catálogo.
+ *
+ * Fluxo (fora da thread da requisição, num executor próprio):
+ * 1. usuários ativos com e-mail (projeção id/nome/e-mail) e ids dos responsáveis do item
+ * 2. público de cada usuário ({@link #audienceOf}); quem não recebe nada fica de fora
+ * 3. um HTML por público ({@link PersonalizedEmail}); por usuário só entra o nome
+ * 4. entrega ao {@link EmailDigestBuffer}, que junta as mudanças em sequência num resumo
+ *    por destinatário e envia em lotes pelo pool SMTP
+ *
+ * O executor não é bean, então não concorre com o executor padrão do @Async.
+ */
+@Slf4j
+@Component
+public class CatalogEmailFanOut {
+
+    private final UserRepository userRepository;
+    private final CatalogRepository catalogRepository;
+    private final CatalogEmailNotificationService emails;
+    private final EmailDigestBuffer digest;
+    private final ThreadPoolExecutor executor;
+    private final Timer duration;
+
+    public CatalogEmailFanOut(
+            UserRepository userRepository,
+            CatalogRepository catalogRepository,
+            CatalogEmailNotificationService emails,
+            EmailDigestBuffer digest,
+            MeterRegistry registry,
+            @Value("${app.catalog.fanout.parallelism:1}") int parallelism,
+            @Value("${app.catalog.fanout.queue-capacity:64}") int queueCapacity
+    ) {
+        this.userRepository = userRepository;
+        this.catalogRepository = catalogRepository;
+        this.emails = emails;
+        this.digest = digest;
+
+        int threads = Math.max(1, parallelism);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "catalog-mail-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.duration = Timer.builder("catalog.email.fanout").register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Agenda o envio do evento e volta na hora. */
+    public void submit(CatalogChangedEvent event) {
+        try {
+            executor.execute(() -> fanOut(event));
+        } catch (RejectedExecutionException e) {
+            log.error("[CATALOG] Fila de e-mails cheia; evento type={} id={} descartado.",
+                    event.getType(), event.getItemId());
+        }
+    }
+
+    /** Separa os destinatários por público e entrega cada público ao buffer de resumo. */
+    void fanOut(CatalogChangedEvent event) {
+        long start = System.nanoTime();
+        try {
+            // Responsáveis ATUAIS (estado final no banco)
+            Set<Long> responsibleIds = new HashSet<>(catalogRepository.findResponsibleIds(event.getItemId()));
+            Map<CatalogAudience, List<Recipient>> byAudience = new EnumMap<>(CatalogAudience.class);
+
+            for (EmailRecipient recipient : userRepository.findActiveEmailRecipients()) {
+                CatalogAudience audience = audienceOf(event, recipient.getId(), responsibleIds);
+                if (audience == null) continue;
+                byAudience.computeIfAbsent(audience, a -> new ArrayList<>())
+                        .add(new Recipient(recipient.getEmail(), recipient.getName()));
+            }
+
+            for (Map.Entry<CatalogAudience, List<Recipient>> e : byAudience.entrySet()) {
+                PersonalizedEmail email = emails.compose(event, e.getKey());
+                if (email != null) digest.offerAll(e.getValue(), email);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed processing catalog event type={} id={}", event.getType(), event.getItemId(), e);
+        } finally {
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Quem recebe o quê; null = não recebe.
+     * Em UPDATED e ACTIVATED/DEACTIVATED os demais usuários não recebem, para evitar spam.
+     */
+    static CatalogAudience audienceOf(CatalogChangedEvent event, Long userId, Set<Long> currentResponsibleIds) {
+        boolean isAuthor = userId.equals(event.getAdminUserId());
+
+        // Verifica o estado atual e o histórico (diff)
+        boolean isCurrentResponsible = currentResponsibleIds.contains(userId);
+        boolean wasAdded = event.getAddedResponsibleIds().contains(userId);
+        boolean wasRemoved = event.getRemovedResponsibleIds().contains(userId);
+
+        switch (event.getType()) {
+            case CREATED:
+                if (isAuthor) return CatalogAudience.AUTHOR;
+                return isCurrentResponsible ? CatalogAudience.RESPONSIBLE : CatalogAudience.OTHERS;
+
+            case UPDATED:
+                if (isAuthor) return CatalogAudience.AUTHOR;
+                if (wasAdded) return CatalogAudience.ADDED_RESPONSIBLE;
+                if (wasRemoved) return CatalogAudience.REMOVED_RESPONSIBLE;
+                return isCurrentResponsible ? CatalogAudience.RESPONSIBLE : null;
+
+            case DELETED:
+                if (isAuthor) return CatalogAudience.AUTHOR;
+                // Se foi removido no processo de delete ou era responsável
+                return isCurrentResponsible || wasRemoved ? CatalogAudience.RESPONSIBLE : CatalogAudience.OTHERS;
+
+            case ACTIVATED:
+            case DEACTIVATED:
+                if (isAuthor) return CatalogAudience.AUTHOR;
+                return isCurrentResponsible ? CatalogAudience.RESPONSIBLE : null;
+
+            default:
+                return null;
+        }
+    }
+}
@@ -1,20 +1,21 @@
 package br.com.barbearia.apibarbearia.notification.email.catalog;
 
 import br.com.barbearia.apibarbearia.catalog.events.CatalogChangedEvent;
-import br.com.barbearia.apibarbearia.notification.email.sender.EmailSender;
+import br.com.barbearia.apibarbearia.catalog.events.CatalogEventType;
+import br.com.barbearia.apibarbearia.notification.email.digest.PersonalizedEmail;
 import br.com.barbearia.apibarbearia.notification.email.template.catalog.*;
-import br.com.barbearia.apibarbearia.users.entity.User;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.text.NumberFormat;
 import java.util.Locale;
 
+/**
+ * Monta os e-mails de catálogo, um por (evento, público): a página completa e o corpo
+ * para o resumo. O envio fica com o {@link CatalogEmailFanOut}.
+ */
 @Service
 public class CatalogEmailNotificationService {
 
-    private final EmailSender emailSender;
-
     // Templates
     private final CatalogCreatedTemplate createdTemplate;
     private final CatalogUpdatedTemplate updatedTemplate;
@@ -22,158 +23,171 @@ public class CatalogEmailNotificationService {
     private final CatalogStatusTemplate statusTemplate;
 
     public CatalogEmailNotificationService(
-            EmailSender emailSender,
             CatalogCreatedTemplate createdTemplate,
             CatalogUpdatedTemplate updatedTemplate,
             CatalogDeletedTemplate deletedTemplate,
             CatalogStatusTemplate statusTemplate
     ) {
-        this.emailSender = emailSender;
         this.createdTemplate = createdTemplate;
         this.updatedTemplate = updatedTemplate;
         this.deletedTemplate = deletedTemplate;
         this.statusTemplate = statusTemplate;
     }
 
+    /** E-mail do público para o evento; null se esse público não recebe nada nesse evento. */
+    public PersonalizedEmail compose(CatalogChangedEvent event, CatalogAudience audience) {
+        switch (event.getType()) {
+            case CREATED:
+                if (audience == CatalogAudience.AUTHOR) return createdToAuthor(event);
+                if (audience == CatalogAudience.RESPONSIBLE) return createdToResponsible(event);
+                if (audience == CatalogAudience.OTHERS) return createdToOthers(event);
+                return null;
+
+            case UPDATED:
+                if (audience == CatalogAudience.AUTHOR) return updatedToAuthor(event);
+                if (audience == CatalogAudience.ADDED_RESPONSIBLE) return addedAsResponsible(event);
+                if (audience == CatalogAudience.REMOVED_RESPONSIBLE) return removedAsResponsible(event);
+                if (audience == CatalogAudience.RESPONSIBLE) return updatedToResponsible(event);
+                return null;
+
+            case DELETED:
+                if (audience == CatalogAudience.AUTHOR) return deletedToAuthor(event);
+                if (audience == CatalogAudience.RESPONSIBLE) return deletedToResponsible(event);
+                if (audience == CatalogAudience.OTHERS) return deletedToOthers(event);
+                return null;
+
+            case ACTIVATED:
+            case DEACTIVATED:
+                if (audience == CatalogAudience.AUTHOR || audience == CatalogAudience.RESPONSIBLE) {
+                    return statusChanged(event);
+                }
+                return null;
+
+            default:
+                return null;
+        }
+    }
+
     private String formatPrice(java.math.BigDecimal price) {
         return NumberFormat.getCurrencyInstance(new Locale("pt", "BR")).format(price);
     }
 
     // --- CREATE ---
 
-    @Async
-    public void sendCreatedToAuthor(User user, CatalogChangedEvent event) {
+    private PersonalizedEmail createdToAuthor(CatalogChangedEvent event) {
         String subject = "Sucesso: Serviço criado no catálogo";
-        String html = createdTemplate.htmlForAuthor(
-                user.getName(),
+        String price = formatPrice(event.getPrice());
+        return PersonalizedEmail.render(subject, nome -> createdTemplate.htmlForAuthor(
+                nome,
                 event.getItemName(),
                 event.getDurationMinutes(),
-                formatPrice(event.getPrice())
-        );
-        emailSender.sendHtml(user.getEmail(), subject, html);
+                price
+        ), createdTemplate.contentForAuthor(event.getItemName(), event.getDurationMinutes(), price));
     }
 
-    @Async
-    public void sendCreatedToResponsible(User user, CatalogChangedEvent event) {
+    private PersonalizedEmail createdToResponsible(CatalogChangedEvent event) {
         String subject = "Você é responsável por um novo serviço";
-        // CORREÇÃO: Passando Nome E Email do Admin
-        String html = createdTemplate.htmlForResponsible(
-                user.getName(),
+        String price = formatPrice(event.getPrice());
+        return PersonalizedEmail.render(subject, nome -> createdTemplate.htmlForResponsible(
+                nome,
                 event.getItemName(),
                 event.getDurationMinutes(),
-                formatPrice(event.getPrice()),
+                price,
                 event.getAdminName(),
                 event.getAdminEmail()
-        );
-        emailSender.sendHtml(user.getEmail(), subject, html);
+        ), createdTemplate.contentForResponsible(event.getItemName(), event.getDurationMinutes(), price,
+                event.getAdminName(), event.getAdminEmail()));
     }
 
-    @Async
-    public void sendCreatedToOthers(User user, CatalogChangedEvent event) {
+    private PersonalizedEmail createdToOthers(CatalogChangedEvent event) {
         String subject = "Novidade: Novo serviço no catálogo";
-        String html = createdTemplate.htmlForOthers(
-                user.getName(),
+        String price = formatPrice(event.getPrice());
+        return PersonalizedEmail.render(subject, nome -> createdTemplate.htmlForOthers(
+                nome,
                 event.getItemName(),
-                formatPrice(event.getPrice())
-        );
-        emailSender.sendHtml(user.getEmail(), subject, html);
+                price
+        ), createdTemplate.contentForOthers(event.getItemName(), price));
     }
 
     // --- UPDATE ---
 
-    @Async
-    public void sendUpdatedToAuthor(User user, CatalogChangedEvent event) {
+    private PersonalizedEmail updatedToAuthor(CatalogChangedEvent event) {
         String subject = "Você atualizou o serviço " + event.getItemName();
-        String html = updatedTemplate.htmlForAuthor(user.getName(), event.getItemName());
-        emailSender.sendHtml(user.getEmail(), subject, html);
+        return PersonalizedEmail.render(subject, nome -> updatedTemplate.htmlForAuthor(nome, event.getItemName()),
+                updatedTemplate.contentForAuthor(event.getItemName()));
     }
 
-    @Async
-    public void sendUpdatedToResponsible(User user, CatalogChangedEvent event) {
+    private PersonalizedEmail updatedToResponsible(CatalogChangedEvent event) {
         String subject = "Atualização em serviço que você atende";
-        // CORREÇÃO: Passando Nome E Email
-        String html = updatedTemplate.htmlForResponsible(
-                user.getName(),
+        return PersonalizedEmail.render(subject, nome -> updatedTemplate.htmlForResponsible(
+                nome,
                 event.getItemName(),
                 event.getAdminName(),
                 event.getAdminEmail()
-        );
-        emailSender.sendHtml(user.getEmail(), subject, html);
+        ), updatedTemplate.contentForResponsible(event.getItemName(), event.getAdminName(), event.getAdminEmail()));
     }
 
     // --- DELETE ---
 
-    @Async
-    public void sendDeletedToAuthor(User user, CatalogChangedEvent event) {
+    private PersonalizedEmail deletedToAuthor(CatalogChangedEvent event) {
         String subject = "Você excluiu um serviço";
-        String html = deletedTemplate.htmlForAuthor(user.getName(), event.getItemName());
-        emailSender.sendHtml(user.getEmail(), subject, html);
+        return PersonalizedEmail.render(subject, nome -> deletedTemplate.htmlForAuthor(nome, event.getItemName()),
+                deletedTemplate.contentForAuthor(event.getItemName()));
     }
 
-    @Async
-    public void sendDeletedToResponsible(User user, CatalogChangedEvent event) {
+    private PersonalizedEmail deletedToResponsible(CatalogChangedEvent event) {
         String subject = "Aviso: Serviço removido";
-        // CORREÇÃO: Passando Nome E Email
-        String html = deletedTemplate.htmlForResponsible(
-                user.getName(),
+        return PersonalizedEmail.render(subject, nome -> deletedTemplate.htmlForResponsible(
+                nome,
                 event.getItemName(),
                 event.getAdminName(),
                 event.getAdminEmail()
-        );
-        emailSender.sendHtml(user.getEmail(), subject, html);
+        ), deletedTemplate.contentForResponsible(event.getItemName(), event.getAdminName(), event.getAdminEmail()));
     }
 
-    @Async
-    public void sendDeletedToOthers(User user, CatalogChangedEvent event) {
+    private PersonalizedEmail deletedToOthers(CatalogChangedEvent event) {
         String subject = "Serviço removido do catálogo";
-        String html = deletedTemplate.htmlForOthers(user.getName(), event.getItemName());
-        emailSender.sendHtml(user.getEmail(), subject, html);
+        return PersonalizedEmail.render(subject, nome -> deletedTemplate.htmlForOthers(nome, event.getItemName()),
+                deletedTemplate.contentForOthers(event.getItemName()));
     }
 
     // --- STATUS (TOGGLE) ---
 
-    @Async
-    public void sendStatusChanged(User user, CatalogChangedEvent event) {
-        boolean activated = (event.getType() == br.com.barbearia.apibarbearia.catalog.events.CatalogEventType.ACTIVATED);
+    private PersonalizedEmail statusChanged(CatalogChangedEvent event) {
+        boolean activated = (event.getType() == CatalogEventType.ACTIVATED);
         String subject = activated ? "Serviço Ativado" : "Serviço Desativado";
-        // CORREÇÃO: Passando Nome E Email
-        String html = statusTemplate.html(
-                user.getName(),
+        return PersonalizedEmail.render(subject, nome -> statusTemplate.html(
+                nome,
                 event.getItemName(),
                 activated,
                 event.getAdminName(),
                 event.getAdminEmail()
-        );
-        emailSender.sendHtml(user.getEmail(), subject, html);
+        ), statusTemplate.content(event.getItemName(), activated, event.getAdminName(), event.getAdminEmail()));
     }
 
-    // --- NOVOS MÉTODOS PARA O DIFF (ADDED / REMOVED) ---
+    // --- DIFF DE RESPONSÁVEIS (ADDED / REMOVED) ---
 
-    @Async
-    public void sendAddedAsResponsible(User user, CatalogChangedEvent event) {
+    private PersonalizedEmail addedAsResponsible(CatalogChangedEvent event) {
         String subject = "Você foi incluído como responsável";
-        // CORREÇÃO: Passando Nome E Email
-        String html = createdTemplate.htmlForResponsible(
-                user.getName(),
+        String price = formatPrice(event.getPrice());
+        return PersonalizedEmail.render(subject, nome -> createdTemplate.htmlForResponsible(
+                nome,
                 event.getItemName(),
                 event.getDurationMinutes(),
-                formatPrice(event.getPrice()),
+                price,
                 event.getAdminName(),
                 event.getAdminEmail()
-        );
-        emailSender.sendHtml(user.getEmail(), subject, html);
+        ), createdTemplate.contentForResponsible(event.getItemName(), event.getDurationMinutes(), price,
+                event.getAdminName(), event.getAdminEmail()));
     }
 
-    @Async
-    public void sendRemovedAsResponsible(User user, CatalogChangedEvent event) {
+    private PersonalizedEmail removedAsResponsible(CatalogChangedEvent event) {
         String subject = "Você foi removido como responsável";
-        // CORREÇÃO: Passando Nome E Email
-        String html = updatedTemplate.htmlForRemovedResponsible(
-                user.getName(),
+        return PersonalizedEmail.render(subject, nome -> updatedTemplate.htmlForRemovedResponsible(
+                nome,
                 event.getItemName(),
                 event.getAdminName(),
                 event.getAdminEmail()
-        );
-        emailSender.sendHtml(user.getEmail(), subject, html);
+        ), updatedTemplate.contentForRemovedResponsible(event.getItemName(), event.getAdminName(), event.getAdminEmail()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,271 @@
+package br.com.barbearia.apibarbearia.notification.email.digest;
+
+import br.com.barbearia.apibarbearia.notification.email.sender.EmailMessage;
+import br.com.barbearia.apibarbearia.notification.email.sender.EmailSender;
+import br.com.barbearia.apibarbearia.notification.email.template.DigestTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Junta as notificações de catálogo e agenda por destinatário durante uma janela.
+ *
+ * A primeira notificação de um destinatário abre a janela ({@code window-seconds}); o que
+ * chegar até ela fechar vai no mesmo e-mail. Uma só: sai o e-mail normal. Duas ou mais:
+ * um resumo ({@link DigestTemplate}) com o assunto e o corpo de cada uma. Um admin editando
+ * cinco serviços em sequência gera um e-mail por usuário, não cinco.
+ *
+ * Memória limitada: no máximo {@code max-recipients} destinatários esperando (o mais antigo
+ * sai antes da hora para abrir espaço) e {@code max-items} notificações por destinatário (ao
+ * atingir, sai na hora). Os itens guardam o HTML já renderizado por público
+ * ({@link PersonalizedEmail}), compartilhado entre destinatários.
+ *
+ * O envio vai em lotes de {@code batch-size} por {@link EmailSender#sendAll} (uma sessão
+ * SMTP do pool por lote), no máximo {@code parallelism} lotes ao mesmo tempo: deixar abaixo
+ * de app.mail.pool.size para sobrar conexão aos e-mails transacionais. Fila de lotes cheia:
+ * o lote roda em quem liberou a janela (backpressure). {@code window-seconds=0} desliga a
+ * espera: cada notificação sai sozinha, pelo mesmo caminho de lotes.
+ */
+@Slf4j
+@Component
+public class EmailDigestBuffer {
+
+    private final EmailSender emailSender;
+    private final DigestTemplate digestTemplate;
+    private final long windowMs;
+    private final int maxRecipients;
+    private final int maxItems;
+    private final int batchSize;
+    private final ThreadPoolExecutor executor;
+
+    /** e-mail normalizado -> notificações esperando; ordem de chegada = ordem de vencimento. */
+    private final LinkedHashMap<String, Pending> buffer = new LinkedHashMap<>();
+
+    private final AtomicInteger sending = new AtomicInteger();
+    private final Counter intents;
+    private final Counter singles;
+    private final Counter digests;
+    private final Counter sent;
+    private final Counter failed;
+
+    public EmailDigestBuffer(
+            EmailSender emailSender,
+            DigestTemplate digestTemplate,
+            MeterRegistry registry,
+            @Value("${app.mail.digest.window-seconds:120}") long windowSeconds,
+            @Value("${app.mail.digest.max-recipients:5000}") int maxRecipients,
+            @Value("${app.mail.digest.max-items:20}") int maxItems,
+            @Value("${app.mail.digest.batch-size:50}") int batchSize,
+            @Value("${app.mail.digest.parallelism:2}") int parallelism,
+            @Value("${app.mail.digest.queue-capacity:256}") int queueCapacity
+    ) {
+        this.emailSender = emailSender;
+        this.digestTemplate = digestTemplate;
+        this.windowMs = Math.max(0, windowSeconds) * 1000L;
+        this.maxRecipients = Math.max(1, maxRecipients);
+        this.maxItems = Math.max(1, maxItems);
+        this.batchSize = Math.max(1, batchSize);
+
+        int threads = Math.max(1, parallelism);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "mail-digest-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.intents = Counter.builder("mail.digest.intents").register(registry);
+        this.singles = Counter.builder("mail.digest.emails").tag("type", "single").register(registry);
+        this.digests = Counter.builder("mail.digest.emails").tag("type", "digest").register(registry);
+        this.sent = Counter.builder("mail.digest.messages").tag("result", "sent").register(registry);
+        this.failed = Counter.builder("mail.digest.messages").tag("result", "failed").register(registry);
+        Gauge.builder("mail.digest.buffered", this, EmailDigestBuffer::buffered).register(registry);
+        Gauge.builder("mail.digest.sending", sending, AtomicInteger::get).register(registry);
+    }
+
+    /** Guarda a notificação de {@code to}; sai quando a janela do destinatário fechar. */
+    public void offer(String to, String name, PersonalizedEmail email) {
+        offerAll(Collections.singletonList(new Recipient(to, name)), email);
+    }
+
+    /** Mesma notificação para vários destinatários (o HTML é compartilhado). */
+    public void offerAll(List<Recipient> recipients, PersonalizedEmail email) {
+        intents.increment(recipients.size());
+        List<Pending> ready = new ArrayList<>();
+
+        if (windowMs == 0) {
+            for (Recipient r : recipients) {
+                if (r.email == null || r.email.isBlank()) continue;
+                Pending p = new Pending(r.email, r.name, 0);
+                p.items.add(email);
+                ready.add(p);
+            }
+            dispatch(ready);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (buffer) {
+            for (Recipient r : recipients) {
+                if (r.email == null || r.email.isBlank()) continue;
+                String key = r.email.trim().toLowerCase(Locale.ROOT);
+
+                Pending p = buffer.get(key);
+                if (p == null) {
+                    if (buffer.size() >= maxRecipients) {
+                        // Sem espaço: o mais antigo sai antes da hora.
+                        Iterator<Pending> eldest = buffer.values().iterator();
+                        ready.add(eldest.next());
+                        eldest.remove();
+                    }
+                    p = new Pending(r.email, r.name, now);
+                    buffer.put(key, p);
+                }
+                p.name = r.name;
+                p.items.add(email);
+
+                if (p.items.size() >= maxItems) {
+                    buffer.remove(key);
+                    ready.add(p);
+                }
+            }
+        }
+        dispatch(ready);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.digest.tick-ms:5000}")
+    public void flushDue() {
+        flush(System.currentTimeMillis() - windowMs);
+    }
+
+    /** Envia quem está esperando desde {@code cutoffMillis} ou antes; devolve quantos. */
+    int flush(long cutoffMillis) {
+        List<Pending> ready = new ArrayList<>();
+        synchronized (buffer) {
+            Iterator<Pending> it = buffer.values().iterator();
+            while (it.hasNext()) {
+                Pending p = it.next();
+                if (p.firstAt > cutoffMillis) break;
+                ready.add(p);
+                it.remove();
+            }
+        }
+        dispatch(ready);
+        return ready.size();
+    }
+
+    public int buffered() {
+        synchronized (buffer) {
+            return buffer.size();
+        }
+    }
+
+    /** Ao desligar, manda o que está esperando e dá um tempo para os lotes terminarem. */
+    @PreDestroy
+    public void shutdown() {
+        flush(Long.MAX_VALUE);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void dispatch(List<Pending> ready) {
+        if (ready.isEmpty()) return;
+        sending.addAndGet(ready.size());
+
+        for (int from = 0; from < ready.size(); from += batchSize) {
+            List<Pending> batch = ready.subList(from, Math.min(from + batchSize, ready.size()));
+            Runnable task = () -> send(batch);
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        int failures;
+        try {
+            List<EmailMessage> messages = new ArrayList<>(batch.size());
+            for (Pending p : batch) messages.add(toMessage(p));
+            failures = emailSender.sendAll(messages).size();
+        } catch (RuntimeException e) {
+            log.warn("[DIGEST] Lote de {} e-mails falhou: {}", batch.size(), e.getMessage());
+            failures = batch.size();
+        }
+
+        sent.increment(batch.size() - failures);
+        failed.increment(failures);
+        sending.addAndGet(-batch.size());
+    }
+
+    private EmailMessage toMessage(Pending p) {
+        if (p.items.size() == 1) {
+            singles.increment();
+            return p.items.get(0).to(p.email, p.name);
+        }
+
+        digests.increment();
+        List<String> subjects = new ArrayList<>(p.items.size());
+        List<String> contents = new ArrayList<>(p.items.size());
+        for (PersonalizedEmail item : p.items) {
+            subjects.add(item.getSubject());
+            contents.add(item.getContent());
+        }
+        return new EmailMessage(p.email, digestTemplate.subject(p.items.size()),
+                digestTemplate.html(p.name, subjects, contents));
+    }
+
+    /** Destinatário de {@link #offerAll}. */
+    public static final class Recipient {
+        private final String email;
+        private final String name;
+
+        public Recipient(String email, String name) {
+            this.email = email;
+            this.name = name;
+        }
+    }
+
+    private static final class Pending {
+        final String email;
+        final long firstAt;
+        final List<PersonalizedEmail> items = new ArrayList<>(2);
+        String name;
+
+        Pending(String email, String name, long firstAt) {
+            this.email = email;
+            this.name = name;
+            this.firstAt = firstAt;
+        }
+    }
+}
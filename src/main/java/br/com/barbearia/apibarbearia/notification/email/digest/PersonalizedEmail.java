@@ -0,0 +1,57 @@
+package br.com.barbearia.apibarbearia.notification.email.digest;
+
+import br.com.barbearia.apibarbearia.notification.email.sender.EmailMessage;
+import br.com.barbearia.apibarbearia.notification.email.template.CompiledTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * E-mail renderizado uma vez para um público inteiro; por destinatário só muda o nome.
+ *
+ * O template roda com um marcador no lugar do nome e o HTML é partido nele. Os templates
+ * escapam o nome ({@code layout.escape(nome)}), então aqui o nome entra escapado do mesmo jeito.
+ *
+ * {@code content} é o corpo sem saudação, usado quando a notificação entra num resumo
+ * ({@link EmailDigestBuffer}).
+ */
+public final class PersonalizedEmail {
+
+    private static final String NAME = "\u0000nome\u0000";
+
+    private final String subject;
+    private final String[] parts;
+    private final String content;
+
+    private PersonalizedEmail(String subject, String[] parts, String content) {
+        this.subject = subject;
+        this.parts = parts;
+        this.content = content;
+    }
+
+    /** {@code html} recebe o nome do destinatário e devolve o HTML completo. */
+    public static PersonalizedEmail render(String subject, UnaryOperator<String> html, String content) {
+        String page = html.apply(NAME);
+        List<String> parts = new ArrayList<>(2);
+        int from = 0;
+        int at;
+        while ((at = page.indexOf(NAME, from)) >= 0) {
+            parts.add(page.substring(from, at));
+            from = at + NAME.length();
+        }
+        parts.add(page.substring(from));
+        return new PersonalizedEmail(subject, parts.toArray(new String[0]), content);
+    }
+
+    public String getSubject() { return subject; }
+    public String getContent() { return content; }
+
+    public String html(String name) {
+        return parts.length == 1 ? parts[0] : String.join(CompiledTemplate.escape(name), parts);
+    }
+
+    public EmailMessage to(String email, String name) {
+        return new EmailMessage(email, subject, html(name));
+    }
+}
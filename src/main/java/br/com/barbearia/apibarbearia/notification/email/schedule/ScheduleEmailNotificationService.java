@@ -1,15 +1,19 @@
 package br.com.barbearia.apibarbearia.notification.email.schedule;
 
 
-import br.com.barbearia.apibarbearia.notification.email.sender.EmailSender;
+import br.com.barbearia.apibarbearia.notification.email.digest.EmailDigestBuffer;
+import br.com.barbearia.apibarbearia.notification.email.digest.PersonalizedEmail;
 import br.com.barbearia.apibarbearia.notification.email.template.schedule.*;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+/**
+ * Avisos de mudança na agenda. Passam pelo {@link EmailDigestBuffer}: várias edições
+ * seguidas chegam ao destinatário como um resumo só.
+ */
 @Service
 public class ScheduleEmailNotificationService {
 
-    private final EmailSender emailSender;
+    private final EmailDigestBuffer digest;
 
     private final WorkingHoursUpdatedTemplate workingHoursUpdatedTemplate;
     private final BreakCreatedTemplate breakCreatedTemplate;
@@ -17,48 +21,48 @@ public class ScheduleEmailNotificationService {
     private final DayOverrideUpdatedTemplate dayOverrideUpdatedTemplate;
 
     public ScheduleEmailNotificationService(
-            EmailSender emailSender,
+            EmailDigestBuffer digest,
             WorkingHoursUpdatedTemplate workingHoursUpdatedTemplate,
             BreakCreatedTemplate breakCreatedTemplate,
             BreakDeletedTemplate breakDeletedTemplate,
             DayOverrideUpdatedTemplate dayOverrideUpdatedTemplate
     ) {
-        this.emailSender = emailSender;
+        this.digest = digest;
         this.workingHoursUpdatedTemplate = workingHoursUpdatedTemplate;
         this.breakCreatedTemplate = breakCreatedTemplate;
         this.breakDeletedTemplate = breakDeletedTemplate;
         this.dayOverrideUpdatedTemplate = dayOverrideUpdatedTemplate;
     }
 
-    @Async
     public void sendWorkingHoursUpdated(String to, String nome, String profissionalNome, String dayOfWeek,
                                         String startTime, String endTime, String updatedBy) {
-        emailSender.sendHtml(to,
+        digest.offer(to, nome, PersonalizedEmail.render(
                 workingHoursUpdatedTemplate.subject(),
-                workingHoursUpdatedTemplate.html(nome, profissionalNome, dayOfWeek, startTime, endTime, updatedBy));
+                n -> workingHoursUpdatedTemplate.html(n, profissionalNome, dayOfWeek, startTime, endTime, updatedBy),
+                workingHoursUpdatedTemplate.content(profissionalNome, dayOfWeek, startTime, endTime, updatedBy)));
     }
 
-    @Async
     public void sendBreakCreated(String to, String nome, String profissionalNome, String dayOfWeek,
                                  String startTime, String endTime, String createdBy) {
-        emailSender.sendHtml(to,
+        digest.offer(to, nome, PersonalizedEmail.render(
                 breakCreatedTemplate.subject(),
-                breakCreatedTemplate.html(nome, profissionalNome, dayOfWeek, startTime, endTime, createdBy));
+                n -> breakCreatedTemplate.html(n, profissionalNome, dayOfWeek, startTime, endTime, createdBy),
+                breakCreatedTemplate.content(profissionalNome, dayOfWeek, startTime, endTime, createdBy)));
     }
 
-    @Async
     public void sendBreakDeleted(String to, String nome, String profissionalNome, String dayOfWeek,
                                  String startTime, String endTime, String deletedBy) {
-        emailSender.sendHtml(to,
+        digest.offer(to, nome, PersonalizedEmail.render(
                 breakDeletedTemplate.subject(),
-                breakDeletedTemplate.html(nome, profissionalNome, dayOfWeek, startTime, endTime, deletedBy));
+                n -> breakDeletedTemplate.html(n, profissionalNome, dayOfWeek, startTime, endTime, deletedBy),
+                breakDeletedTemplate.content(profissionalNome, dayOfWeek, startTime, endTime, deletedBy)));
     }
 
-    @Async
     public void sendDayOverrideUpdated(String to, String nome, String profissionalNome, String date,
                                        String status, String timeRange, String updatedBy) {
-        emailSender.sendHtml(to,
+        digest.offer(to, nome, PersonalizedEmail.render(
                 dayOverrideUpdatedTemplate.subject(),
-                dayOverrideUpdatedTemplate.html(nome, profissionalNome, date, status, timeRange, updatedBy));
+                n -> dayOverrideUpdatedTemplate.html(n, profissionalNome, date, status, timeRange, updatedBy),
+                dayOverrideUpdatedTemplate.content(profissionalNome, date, status, timeRange, updatedBy)));
     }
 }
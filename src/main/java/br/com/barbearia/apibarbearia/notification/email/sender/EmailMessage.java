@@ -0,0 +1,21 @@
+package br.com.barbearia.apibarbearia.notification.email.sender;
+
+/**
+ * E-mail HTML de um envio em lote ({@link EmailSender#sendAll}).
+ */
+public final class EmailMessage {
+
+    private final String to;
+    private final String subject;
+    private final String html;
+
+    public EmailMessage(String to, String subject, String html) {
+        this.to = to;
+        this.subject = subject;
+        this.html = html;
+    }
+
+    public String getTo() { return to; }
+    public String getSubject() { return subject; }
+    public String getHtml() { return html; }
+}
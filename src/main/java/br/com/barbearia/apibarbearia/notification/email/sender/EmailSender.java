@@ -1,5 +1,24 @@
 package br.com.barbearia.apibarbearia.notification.email.sender;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface EmailSender {
     void sendHtml(String to, String subject, String html);
+
+    /**
+     * Envia várias mensagens; uma falha não interrompe as outras.
+     * Devolve as que não foram enviadas (vazio = todas enviadas).
+     */
+    default List<EmailMessage> sendAll(List<EmailMessage> messages) {
+        List<EmailMessage> failed = new ArrayList<>();
+        for (EmailMessage message : messages) {
+            try {
+                sendHtml(message.getTo(), message.getSubject(), message.getHtml());
+            } catch (RuntimeException e) {
+                failed.add(message);
+            }
+        }
+        return failed;
+    }
 }
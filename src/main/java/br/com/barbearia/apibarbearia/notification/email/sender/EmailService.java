@@ -1,7 +1,6 @@
 package br.com.barbearia.apibarbearia.notification.email.sender;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
@@ -12,7 +11,7 @@ import java.nio.charset.StandardCharsets;
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final SmtpConnectionPool smtpPool;
 
     @Value("${app.mail.from}")
     private String fromEmail;
@@ -20,13 +19,13 @@ public class EmailService {
     @Value("${app.mail.from-name:Barbearia Online}")
     private String fromName;
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(SmtpConnectionPool smtpPool) {
+        this.smtpPool = smtpPool;
     }
 
     public void enviarTexto(String para, String assunto, String mensagem) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessage message = smtpPool.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, false, StandardCharsets.UTF_8.name());
 
             helper.setFrom(new InternetAddress(fromEmail, fromName, StandardCharsets.UTF_8.name()));
@@ -34,7 +33,7 @@ public class EmailService {
             helper.setSubject(assunto);
             helper.setText(mensagem, false);
 
-            mailSender.send(message);
+            smtpPool.send(message);
         } catch (Exception e) {
             throw new RuntimeException("Falha ao enviar e-mail (texto).", e);
         }
@@ -42,7 +41,7 @@ public class EmailService {
 
     public void enviarHtml(String para, String assunto, String html) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessage message = smtpPool.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
 
             helper.setFrom(new InternetAddress(fromEmail, fromName, StandardCharsets.UTF_8.name()));
@@ -50,7 +49,7 @@ public class EmailService {
             helper.setSubject(assunto);
             helper.setText(html, true);
 
-            mailSender.send(message);
+            smtpPool.send(message);
         } catch (Exception e) {
             throw new RuntimeException("Falha ao enviar e-mail (HTML).", e);
         }
@@ -0,0 +1,298 @@
+package br.com.barbearia.apibarbearia.notification.email.sender;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conexões SMTP autenticadas reaproveitadas entre envios.
+ *
+ * Abrir sessão (TCP + STARTTLS + AUTH) custa centenas de ms no Gmail; aqui cada conexão
+ * fica aberta e volta para o pool depois do envio. No máximo {@code size} conexões ao
+ * mesmo tempo (ociosas + em uso); quem passa disso espera até {@code borrow-timeout-ms}.
+ *
+ * Conexão parada há mais de {@code max-idle-ms} ou que já mandou
+ * {@code max-messages-per-connection} é fechada antes de reusar (servidores derrubam
+ * sessões ociosas e limitam mensagens por sessão). Se o envio falhar numa conexão
+ * reaproveitada, ela é descartada e a mensagem vai uma vez por uma conexão nova.
+ *
+ * Host, porta, credenciais e propriedades da Session vêm do JavaMailSender do Spring
+ * ({@code spring.mail.*}). Sem timeout o JavaMail espera para sempre, e uma conexão
+ * travada seguraria a permissão do pool e a thread que envia; por isso, se
+ * {@code spring.mail.properties} não definir, valem {@code connect-timeout-ms} para
+ * conectar e {@code read-timeout-ms} para leitura e escrita.
+ */
+@Slf4j
+@Component
+public class SmtpConnectionPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Semaphore permits;
+    private final Deque<Connection> idle = new ConcurrentLinkedDeque<>();
+    private final long maxIdleMs;
+    private final int maxMessagesPerConnection;
+    private final long borrowTimeoutMs;
+    private volatile boolean closed;
+
+    private final Counter opened;
+    private final Counter reused;
+    private final Counter sent;
+    private final Counter failed;
+
+    public SmtpConnectionPool(
+            JavaMailSenderImpl mailSender,
+            MeterRegistry registry,
+            @Value("${app.mail.pool.size:4}") int size,
+            @Value("${app.mail.pool.max-idle-ms:60000}") long maxIdleMs,
+            @Value("${app.mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+            @Value("${app.mail.pool.borrow-timeout-ms:30000}") long borrowTimeoutMs,
+            @Value("${app.mail.pool.connect-timeout-ms:10000}") long connectTimeoutMs,
+            @Value("${app.mail.pool.read-timeout-ms:30000}") long readTimeoutMs
+    ) {
+        this.mailSender = mailSender;
+        applyTimeouts(mailSender, Math.max(1, connectTimeoutMs), Math.max(1, readTimeoutMs));
+        this.permits = new Semaphore(Math.max(1, size), true);
+        this.maxIdleMs = Math.max(0, maxIdleMs);
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+        this.borrowTimeoutMs = Math.max(0, borrowTimeoutMs);
+
+        this.opened = Counter.builder("mail.smtp.connections").tag("result", "opened").register(registry);
+        this.reused = Counter.builder("mail.smtp.connections").tag("result", "reused").register(registry);
+        this.sent = Counter.builder("mail.smtp.messages").tag("result", "sent").register(registry);
+        this.failed = Counter.builder("mail.smtp.messages").tag("result", "failed").register(registry);
+        Gauge.builder("mail.smtp.pool.idle", idle, Deque::size).register(registry);
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /** Envia uma mensagem por uma conexão do pool. */
+    public void send(MimeMessage message) throws MessagingException {
+        List<Failure> failures = sendAll(Collections.singletonList(message));
+        if (!failures.isEmpty()) throw failures.get(0).getCause();
+    }
+
+    /**
+     * Envia várias mensagens pela mesma sessão SMTP, em ordem. Uma mensagem recusada não
+     * interrompe as demais; devolve as que falharam (vazio = todas enviadas).
+     */
+    public List<Failure> sendAll(List<MimeMessage> messages) {
+        List<Failure> failures = new ArrayList<>();
+        if (messages.isEmpty()) return failures;
+
+        acquire();
+        Lease lease = new Lease(takeIdle());
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                try {
+                    MimeMessage message = messages.get(i);
+                    prepare(message);
+                    deliver(lease, message);
+                    sent.increment();
+                } catch (MessagingException e) {
+                    failures.add(new Failure(i, e));
+                    failed.increment();
+                    if (lease.unreachable) {
+                        // Servidor fora: não insiste mensagem por mensagem.
+                        for (int j = i + 1; j < messages.size(); j++) failures.add(new Failure(j, e));
+                        failed.increment(messages.size() - i - 1);
+                        break;
+                    }
+                }
+            }
+        } finally {
+            giveBack(lease.connection);
+            permits.release();
+        }
+        return failures;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            close(connection);
+        }
+    }
+
+    /**
+     * Envia pela conexão da vez (abrindo uma, se preciso). Falha de conexão numa sessão
+     * reaproveitada é tentada de novo uma vez por uma conexão nova; endereço recusado
+     * não é retentado e mantém a conexão.
+     */
+    private void deliver(Lease lease, MimeMessage message) throws MessagingException {
+        if (lease.connection != null && lease.connection.messages >= maxMessagesPerConnection) {
+            close(lease.connection);
+            lease.connection = null;
+        }
+        boolean fresh = lease.connection == null;
+        if (fresh) lease.connection = open(lease);
+        try {
+            lease.connection.send(message);
+            return;
+        } catch (SendFailedException e) {
+            throw e;
+        } catch (MessagingException | IllegalStateException e) {
+            close(lease.connection);
+            lease.connection = null;
+            if (fresh) throw asMessaging(e);
+            log.debug("[SMTP] Conexão reaproveitada falhou ({}); reconectando.", e.getMessage());
+        }
+
+        lease.connection = open(lease);
+        try {
+            lease.connection.send(message);
+        } catch (SendFailedException e) {
+            throw e;
+        } catch (MessagingException | IllegalStateException e) {
+            close(lease.connection);
+            lease.connection = null;
+            throw asMessaging(e);
+        }
+    }
+
+    private void prepare(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) message.setSentDate(new Date());
+        message.saveChanges();
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Nenhuma conexão SMTP livre em " + borrowTimeoutMs + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando conexão SMTP.", e);
+        }
+    }
+
+    /** Conexão ociosa ainda aproveitável, ou null (a primeira mensagem abre uma nova). */
+    private Connection takeIdle() {
+        long now = System.currentTimeMillis();
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            // Sem NOOP de verificação: se a sessão tiver caído, deliver() reconecta.
+            if (now - connection.lastUsed <= maxIdleMs) {
+                reused.increment();
+                return connection;
+            }
+            close(connection);
+        }
+        return null;
+    }
+
+    private void giveBack(Connection connection) {
+        if (connection == null) return;
+        if (closed || connection.messages >= maxMessagesPerConnection) {
+            close(connection);
+            return;
+        }
+        // Mais recente na frente: as antigas envelhecem e são fechadas.
+        idle.offerFirst(connection);
+    }
+
+    private Connection open(Lease lease) throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        Transport transport = mailSender.getSession().getTransport(protocol);
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            if ("".equals(password)) password = null;
+        }
+        try {
+            transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        } catch (MessagingException e) {
+            lease.unreachable = true;
+            throw e;
+        }
+        opened.increment();
+        return new Connection(transport);
+    }
+
+    /** Timeouts padrão onde a configuração não define; setJavaMailProperties recria a Session. */
+    private static void applyTimeouts(JavaMailSenderImpl mailSender, long connectTimeoutMs, long readTimeoutMs) {
+        Properties props = mailSender.getJavaMailProperties();
+        for (String protocol : new String[]{"smtp", "smtps"}) {
+            props.putIfAbsent("mail." + protocol + ".connectiontimeout", String.valueOf(connectTimeoutMs));
+            props.putIfAbsent("mail." + protocol + ".timeout", String.valueOf(readTimeoutMs));
+            props.putIfAbsent("mail." + protocol + ".writetimeout", String.valueOf(readTimeoutMs));
+        }
+        mailSender.setJavaMailProperties(props);
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) return;
+        try {
+            connection.transport.close();
+        } catch (MessagingException | RuntimeException e) {
+            log.debug("[SMTP] Erro ao fechar conexão: {}", e.getMessage());
+        }
+    }
+
+    private static MessagingException asMessaging(Exception e) {
+        return e instanceof MessagingException ? (MessagingException) e : new MessagingException(e.getMessage(), e);
+    }
+
+    private static final class Connection {
+        final Transport transport;
+        long lastUsed = System.currentTimeMillis();
+        int messages;
+
+        Connection(Transport transport) {
+            this.transport = transport;
+        }
+
+        void send(MimeMessage message) throws MessagingException {
+            transport.sendMessage(message, message.getAllRecipients());
+            messages++;
+            lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    /** Conexão em uso por um envio/lote; troca se a atual cair. */
+    private static final class Lease {
+        Connection connection;
+        boolean unreachable;
+
+        Lease(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    /** Mensagem de um lote que não foi enviada: posição na lista e motivo. */
+    public static final class Failure {
+        private final int index;
+        private final MessagingException cause;
+
+        Failure(int index, MessagingException cause) {
+            this.index = index;
+            this.cause = cause;
+        }
+
+        public int getIndex() { return index; }
+        public MessagingException getCause() { return cause; }
+    }
+}
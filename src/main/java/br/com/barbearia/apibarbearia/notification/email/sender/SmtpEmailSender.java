@@ -1,18 +1,27 @@
 package br.com.barbearia.apibarbearia.notification.email.sender;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import javax.mail.MessagingException;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
+import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Envio por SMTP reaproveitando conexões do {@link SmtpConnectionPool}: sem handshake
+ * TCP + STARTTLS + AUTH a cada e-mail, e lotes ({@link #sendAll}) numa única sessão.
+ */
+@Slf4j
 @Service
 public class SmtpEmailSender implements EmailSender {
 
-    private final JavaMailSender mailSender;
+    private final SmtpConnectionPool pool;
 
     @Value("${app.mail.from}")
     private String from;
@@ -20,26 +29,54 @@ public class SmtpEmailSender implements EmailSender {
     @Value("${app.mail.from-name:Barbearia Online}")
     private String fromName;
 
-    public SmtpEmailSender(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public SmtpEmailSender(SmtpConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     public void sendHtml(String to, String subject, String html) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+            pool.send(build(to, subject, html));
+        } catch (Exception e) {
+            throw new RuntimeException("Falha ao enviar e-mail.", e);
+        }
+    }
 
-            // ✅ Aqui resolve o “De:” aparecer como Barbearia Online
-            helper.setFrom(new InternetAddress(from, fromName, StandardCharsets.UTF_8.name()));
+    @Override
+    public List<EmailMessage> sendAll(List<EmailMessage> messages) {
+        List<EmailMessage> failed = new ArrayList<>();
+        List<EmailMessage> built = new ArrayList<>(messages.size());
+        List<MimeMessage> mime = new ArrayList<>(messages.size());
 
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(html, true);
+        for (EmailMessage message : messages) {
+            try {
+                mime.add(build(message.getTo(), message.getSubject(), message.getHtml()));
+                built.add(message);
+            } catch (MessagingException | UnsupportedEncodingException e) {
+                log.warn("[EMAIL] Mensagem para {} inválida: {}", message.getTo(), e.getMessage());
+                failed.add(message);
+            }
+        }
 
-            mailSender.send(message);
-        } catch (Exception e) {
-            throw new RuntimeException("Falha ao enviar e-mail.", e);
+        for (SmtpConnectionPool.Failure failure : pool.sendAll(mime)) {
+            EmailMessage message = built.get(failure.getIndex());
+            log.warn("[EMAIL] Falha ao enviar para {}: {}", message.getTo(), failure.getCause().getMessage());
+            failed.add(message);
         }
+        return failed;
+    }
+
+    private MimeMessage build(String to, String subject, String html)
+            throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = pool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+
+        // ✅ Aqui resolve o “De:” aparecer como Barbearia Online
+        helper.setFrom(new InternetAddress(from, fromName, StandardCharsets.UTF_8.name()));
+
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(html, true);
+        return message;
     }
 }
@@ -0,0 +1,210 @@
+package br.com.barbearia.apibarbearia.notification.email.template;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.StringConcatException;
+import java.lang.invoke.StringConcatFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Template de e-mail compilado uma vez (na construção do bean) em trechos estáticos
+ * intercalados com slots.
+ *
+ * Sintaxe:
+ *   {{nome}}   texto, escapado para HTML no render;
+ *   {{{nome}}} HTML confiável, sem escape (String ou {@link Fragment}).
+ *
+ * Os valores são posicionais, na ordem dos nomes passados a {@link #compile}. O render
+ * monta a String final numa única alocação do tamanho exato (ver {@link #concatHandle}),
+ * sem o HTML intermediário que a concatenação por partes gerava.
+ */
+public final class CompiledTemplate {
+
+    private final MethodHandle concat;
+    private final int[] slotArg;
+    private final boolean[] slotEscaped;
+    private final int argCount;
+
+    private CompiledTemplate(String[] segments, int[] slotArg, boolean[] slotEscaped, int argCount) {
+        this.concat = concatHandle(segments);
+        this.slotArg = slotArg;
+        this.slotEscaped = slotEscaped;
+        this.argCount = argCount;
+    }
+
+    /**
+     * Compila {@code source}. Todo placeholder precisa estar em {@code args} e todo nome de
+     * {@code args} precisa aparecer no source; senão, IllegalArgumentException.
+     */
+    public static CompiledTemplate compile(String source, String... args) {
+        List<String> segments = new ArrayList<>();
+        List<Integer> slotArg = new ArrayList<>();
+        List<Boolean> slotEscaped = new ArrayList<>();
+        boolean[] used = new boolean[args.length];
+
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf("{{", pos);
+            if (open < 0) break;
+
+            boolean raw = source.startsWith("{{{", open);
+            String close = raw ? "}}}" : "}}";
+            int nameStart = open + (raw ? 3 : 2);
+            int end = source.indexOf(close, nameStart);
+            if (end < 0) {
+                throw new IllegalArgumentException("Placeholder sem fechamento na posição " + open);
+            }
+
+            String name = source.substring(nameStart, end).trim();
+            int arg = indexOf(args, name);
+            if (arg < 0) {
+                throw new IllegalArgumentException("Placeholder desconhecido: " + name);
+            }
+            used[arg] = true;
+
+            segments.add(source.substring(pos, open));
+            slotArg.add(arg);
+            slotEscaped.add(!raw);
+            pos = end + close.length();
+        }
+        segments.add(source.substring(pos));
+
+        for (int i = 0; i < args.length; i++) {
+            if (!used[i]) throw new IllegalArgumentException("Placeholder não usado no template: " + args[i]);
+        }
+
+        int[] slots = new int[slotArg.size()];
+        boolean[] escaped = new boolean[slotArg.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = slotArg.get(i);
+            escaped[i] = slotEscaped.get(i);
+        }
+        return new CompiledTemplate(segments.toArray(new String[0]), slots, escaped, args.length);
+    }
+
+    /** Renderiza com os valores na ordem dos nomes de {@link #compile}. */
+    public String render(Object... values) {
+        if (values.length != argCount) {
+            throw new IllegalArgumentException("Template espera " + argCount + " valores, recebeu " + values.length);
+        }
+        String[] slots = new String[slotArg.length];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = text(values[slotArg[i]], slotEscaped[i]);
+        }
+        try {
+            return (String) concat.invokeExact(slots);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Falha ao renderizar template.", e);
+        }
+    }
+
+    /** Valores já amarrados, para entrar num slot {{{...}}} de outro template. */
+    public Fragment bind(Object... values) {
+        if (values.length != argCount) {
+            throw new IllegalArgumentException("Template espera " + argCount + " valores, recebeu " + values.length);
+        }
+        return new Fragment(this, values);
+    }
+
+    /** Mesmo escape do EmailLayout ({@code & < > " '}), sem cópia quando não há o que escapar. */
+    public static String escape(String s) {
+        if (s == null) return "";
+        int first = firstSpecial(s);
+        if (first < 0) return s;
+        StringBuilder out = new StringBuilder(s.length() + 16);
+        out.append(s, 0, first);
+        escapeTo(out, s, first);
+        return out.toString();
+    }
+
+    private static String text(Object value, boolean escaped) {
+        if (value == null) return "";
+        if (value instanceof Fragment) {
+            if (escaped) throw new IllegalArgumentException("Fragment só entra em slot {{{...}}}.");
+            Fragment fragment = (Fragment) value;
+            return fragment.template.render(fragment.values);
+        }
+        if (value instanceof String) {
+            return escaped ? escape((String) value) : (String) value;
+        }
+        throw new IllegalArgumentException("Slot aceita texto ou Fragment, recebeu " + value.getClass().getName());
+    }
+
+    /**
+     * Mesma estratégia do javac para "a" + b + "c": um call site do StringConcatFactory com
+     * os trechos estáticos como constantes. O resultado sai no tamanho e coder exatos,
+     * numa única alocação.
+     */
+    private static MethodHandle concatHandle(String[] segments) {
+        int slots = segments.length - 1;
+        StringBuilder recipe = new StringBuilder();
+        List<Object> constants = new ArrayList<>();
+        for (int i = 0; i < segments.length; i++) {
+            if (!segments[i].isEmpty()) {
+                recipe.append('\u0002');
+                constants.add(segments[i]);
+            }
+            if (i < slots) recipe.append('\u0001');
+        }
+
+        Class<?>[] params = new Class<?>[slots];
+        Arrays.fill(params, String.class);
+        try {
+            CallSite site = StringConcatFactory.makeConcatWithConstants(MethodHandles.lookup(), "render",
+                    MethodType.methodType(String.class, params), recipe.toString(), constants.toArray());
+            return site.dynamicInvoker().asSpreader(String[].class, slots);
+        } catch (StringConcatException e) {
+            throw new IllegalArgumentException("Template não compilável: " + e.getMessage(), e);
+        }
+    }
+
+    private static void escapeTo(StringBuilder out, String s, int from) {
+        int start = from;
+        for (int i = from; i < s.length(); i++) {
+            String entity;
+            switch (s.charAt(i)) {
+                case '&':  entity = "&amp;";  break;
+                case '<':  entity = "&lt;";   break;
+                case '>':  entity = "&gt;";   break;
+                case '"':  entity = "&quot;"; break;
+                case '\'': entity = "&#39;";  break;
+                default:   continue;
+            }
+            out.append(s, start, i).append(entity);
+            start = i + 1;
+        }
+        out.append(s, start, s.length());
+    }
+
+    private static int firstSpecial(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '&' || c == '<' || c == '>' || c == '"' || c == '\'') return i;
+        }
+        return -1;
+    }
+
+    private static int indexOf(String[] args, String name) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /** Template com valores amarrados, para entrar num slot {{{...}}} de outro template. */
+    public static final class Fragment {
+        private final CompiledTemplate template;
+        private final Object[] values;
+
+        private Fragment(CompiledTemplate template, Object[] values) {
+            this.template = template;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.barbearia.apibarbearia.notification.email.template;
+
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Resumo de várias notificações num e-mail só: cada item é o assunto e o corpo
+ * (sem saudação) do e-mail que iria sozinho.
+ */
+@Service
+public class DigestTemplate {
+
+    private final EmailLayout layout;
+
+    private final CompiledTemplate item = CompiledTemplate.compile(
+            "<div style='margin:0 0 18px 0; padding-bottom:14px; border-bottom:1px solid #e2e8f0;'>"
+                    + "  <div style='font-size:15px; font-weight:600; color:#0f172a; margin-bottom:10px;'>{{subject}}</div>"
+                    + "{{{content}}}"
+                    + "</div>",
+            "subject", "content");
+
+    public DigestTemplate(EmailLayout layout) {
+        this.layout = layout;
+    }
+
+    public String subject(int count) {
+        return "Resumo: " + count + " atualizações para você";
+    }
+
+    public String html(String nome, List<String> subjects, List<String> contents) {
+        StringBuilder body = new StringBuilder(1024 * subjects.size());
+        for (int i = 0; i < subjects.size(); i++) {
+            body.append(item.render(subjects.get(i), contents.get(i)));
+        }
+
+        return layout.baseTemplate(
+                "Olá, " + layout.escape(nome),
+                subjects.size() + " atualizações desde o último aviso 📬",
+                body.toString(),
+                "Abrir o sistema",
+                layout.frontendUrl()
+        );
+    }
+}
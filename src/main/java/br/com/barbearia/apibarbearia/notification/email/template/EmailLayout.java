@@ -3,14 +3,61 @@ package br.com.barbearia.apibarbearia.notification.email.template;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Layout base e blocos dos e-mails. Os templates são compilados uma vez aqui
+ * ({@link CompiledTemplate}); o nome do app já entra escapado nos trechos estáticos.
+ */
 @Component
 public class EmailLayout {
 
-    @Value("${app.name:Barbearia Online}")
-    private String appName;
-
-    @Value("${app.frontend.url:http://localhost:4200}")
-    private String frontendUrl;
+    private final String appName;
+    private final String frontendUrl;
+
+    private final CompiledTemplate base;
+    private final CompiledTemplate ctaButton;
+    private final CompiledTemplate infoRow = CompiledTemplate.compile(
+            "<div style='margin-bottom:12px;'>"
+                    + "  <div class='label'>{{label}}</div>"
+                    + "  <div class='value'>{{{value}}}</div>"
+                    + "</div>",
+            "label", "value");
+    private final CompiledTemplate paragraph = CompiledTemplate.compile(
+            "<p style='margin:0 0 10px 0; color:#334155; font-size:14px;'>{{text}}</p>", "text");
+    private final CompiledTemplate warning = CompiledTemplate.compile(
+            "<div class='warning-box'><strong>⚠️ Atenção:</strong> {{text}}</div>", "text");
+    private final CompiledTemplate note = CompiledTemplate.compile(
+            "<p style='font-size:12px; color:#94a3b8; font-style:italic; margin-top:15px; margin-bottom:0;'>"
+                    + "{{text}}</p>", "text");
+    private final CompiledTemplate tempPasswordBox = CompiledTemplate.compile(
+            "<div class='code-box' style='font-size: 20px;'>{{code}}</div>", "code");
+    private final CompiledTemplate codeBox = CompiledTemplate.compile(
+            "<div class='code-box'>{{code}}</div>", "code");
+    private final CompiledTemplate button = CompiledTemplate.compile(
+            ""
+                    + "<div style='margin:16px 0;'>"
+                    + "  <a href='{{{link}}}' "
+                    + "     style='display:inline-block;padding:12px 16px;"
+                    + "     background:#111827;color:#ffffff;text-decoration:none;"
+                    + "     border-radius:10px;font-weight:600;'>"
+                    +       "{{{text}}}"
+                    + "  </a>"
+                    + "</div>",
+            "link", "text");
+
+    public EmailLayout(
+            @Value("${app.name:Barbearia Online}") String appName,
+            @Value("${app.frontend.url:http://localhost:4200}") String frontendUrl
+    ) {
+        this.appName = appName;
+        this.frontendUrl = frontendUrl;
+        this.base = CompiledTemplate.compile(baseSource(escape(appName)),
+                "title", "subtitle", "content", "button");
+        this.ctaButton = CompiledTemplate.compile(
+                "<div class='btn-container'>"
+                        + "  <a href='{{ctaUrl}}' class='btn'>{{ctaText}}</a>"
+                        + "</div>",
+                "ctaUrl", "ctaText");
+    }
 
     public String frontendUrl() { return frontendUrl; }
     public String appName() { return appName; }
@@ -20,15 +67,13 @@ public class EmailLayout {
      * Se ctaUrl for NULL, o botão não será renderizado.
      */
     public String baseTemplate(String title, String subtitle, String contentHtml, String ctaText, String ctaUrl) {
+        // Botão opcional
+        CompiledTemplate.Fragment btn = ctaUrl != null && !ctaUrl.isEmpty() ? ctaButton.bind(ctaUrl, ctaText) : null;
+        return base.render(title, subtitle, contentHtml, btn);
+    }
 
-        // Lógica do Botão Opcional
-        String btnHtml = "";
-        if (ctaUrl != null && !ctaUrl.isEmpty()) {
-            btnHtml = "<div class='btn-container'>"
-                    + "  <a href='" + escapeAttr(ctaUrl) + "' class='btn'>" + escape(ctaText) + "</a>"
-                    + "</div>";
-        }
-
+    /** Source do layout base; {@code appName} já escapado. */
+    private static String baseSource(String appName) {
         return "<!doctype html>"
                 + "<html lang='pt-BR'>"
                 + "<head>"
@@ -59,18 +104,18 @@ public class EmailLayout {
                 + "  </style>"
                 + "</head>"
                 + "<body>"
-                + "  <div style='display:none;max-height:0;overflow:hidden;'>Notificação " + escape(appName) + "</div>"
+                + "  <div style='display:none;max-height:0;overflow:hidden;'>Notificação " + appName + "</div>"
                 + "  <div class='wrapper'>"
                 + "    <div class='main-card'>"
                 + "      <div class='content'>"
-                + "        <h1>" + title + "</h1>"
-                + "        <p>" + subtitle + "</p>"
+                + "        <h1>{{{title}}}</h1>"
+                + "        <p>{{{subtitle}}}</p>"
                 /* Todo o conteúdo específico entra aqui dentro da Data-Box */
-                + "        <div class='data-box'>" + contentHtml + "</div>"
-                +          btnHtml
+                + "        <div class='data-box'>{{{content}}}</div>"
+                + "{{{button}}}"
                 + "      </div>"
                 + "      <div class='footer'>"
-                + "        Mensagem automática enviada por " + escape(appName) + ".<br/>"
+                + "        Mensagem automática enviada por " + appName + ".<br/>"
                 + "        © 2026 - Todos os direitos reservados."
                 + "      </div>"
                 + "    </div>"
@@ -82,58 +127,41 @@ public class EmailLayout {
     // --- Helpers Visuais ---
 
     public String infoRow(String label, String valueHtml) {
-        return "<div style='margin-bottom:12px;'>"
-                + "  <div class='label'>" + escape(label) + "</div>"
-                + "  <div class='value'>" + valueHtml + "</div>"
-                + "</div>";
+        return infoRow.render(label, valueHtml);
     }
 
     public String paragraph(String text) {
-        return "<p style='margin:0 0 10px 0; color:#334155; font-size:14px;'>" + escape(text) + "</p>";
+        return paragraph.render(text);
     }
 
     public String warning(String text) {
-        return "<div class='warning-box'><strong>⚠️ Atenção:</strong> " + escape(text) + "</div>";
+        return warning.render(text);
     }
 
     // ADICIONEI ESTE MÉTODO QUE ESTAVA FALTANDO
     public String note(String text) {
-        return "<p style='font-size:12px; color:#94a3b8; font-style:italic; margin-top:15px; margin-bottom:0;'>"
-                + escape(text) + "</p>";
+        return note.render(text);
     }
 
     // Para Senhas ou Tokens curtos
     public String tempPasswordBox(String label, String code) {
-        return infoRow(label, "<div class='code-box' style='font-size: 20px;'>" + escape(code) + "</div>");
+        return infoRow.render(label, tempPasswordBox.bind(code));
     }
 
     // Para Códigos de Verificação (Maior destaque)
     public String codeBox(String code) {
-        return "<div class='code-box'>" + escape(code) + "</div>";
+        return codeBox.render(code);
     }
 
     // --- Segurança ---
 
     public String escape(String s) {
-        if (s == null) return "";
-        return s.replace("&", "&amp;")
-                .replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("'", "&#39;");
+        return CompiledTemplate.escape(s);
     }
 
 
     public String button(String text, String link) {
-        return ""
-                + "<div style='margin:16px 0;'>"
-                + "  <a href='" + link + "' "
-                + "     style='display:inline-block;padding:12px 16px;"
-                + "     background:#111827;color:#ffffff;text-decoration:none;"
-                + "     border-radius:10px;font-weight:600;'>"
-                +       text
-                + "  </a>"
-                + "</div>";
+        return button.render(link, text);
     }
 
     public String escapeAttr(String s) {
@@ -1,5 +1,6 @@
 package br.com.barbearia.apibarbearia.notification.email.template.appointment;
 
+import br.com.barbearia.apibarbearia.notification.email.template.CompiledTemplate;
 import br.com.barbearia.apibarbearia.notification.email.template.EmailLayout;
 import org.springframework.stereotype.Component;
 
@@ -19,14 +20,32 @@ import java.time.format.DateTimeFormatter;
  *
  * ══ ASSINATURA ══
  * Ambas as sobrecargas html() mantidas — zero breaking change.
+ *
+ * ══ RENDER ══
+ * Compilado uma vez no construtor ({@link CompiledTemplate}); "Cancelado por" e o motivo
+ * são fragmentos opcionais.
  */
 @Component
 public class AppointmentCanceledForClientTemplate {
 
+    private static final DateTimeFormatter DAY  = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    private static final String SUBTITLE_BY_CLIENT = "Seu agendamento foi cancelado conforme solicitado.";
+    private static final String SUBTITLE_BY_SHOP   = "Seu agendamento foi cancelado pela barbearia.";
+
     private final EmailLayout layout;
+    private final CompiledTemplate page;
+    private final CompiledTemplate canceledByRow;
+    private final CompiledTemplate messageBox;
 
     public AppointmentCanceledForClientTemplate(EmailLayout layout) {
         this.layout = layout;
+        this.page = CompiledTemplate.compile(
+                wrapper(hero() + detailCard() + "{{{message}}}" + rebookSection()),
+                "clientName", "subtitle", "service", "professional", "day", "time", "canceledBy", "message");
+        this.canceledByRow = CompiledTemplate.compile(row("🧑‍💼", "Cancelado por", "{{canceledBy}}"), "canceledBy");
+        this.messageBox = CompiledTemplate.compile(messageBox(), "message");
     }
 
     public String subject() {
@@ -44,26 +63,23 @@ public class AppointmentCanceledForClientTemplate {
                        LocalDateTime startAt, String canceledBy,
                        String cancelOrigin, String cancelMessage) {
 
-        String day      = startAt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-        String time     = startAt.format(DateTimeFormatter.ofPattern("HH:mm"));
         boolean byClient = "CLIENT".equals(cancelOrigin);
 
-        return wrapper(
-                hero(layout.escape(clientName), byClient) +
-                        detailCard(layout.escape(serviceName), layout.escape(professionalName),
-                                day, time, canceledBy, byClient) +
-                        (cancelMessage != null && !cancelMessage.isBlank()
-                                ? messageBox(layout.escape(cancelMessage)) : "") +
-                        rebookSection()
+        CompiledTemplate.Fragment canceledByFragment = canceledBy != null && !canceledBy.isBlank() && !byClient
+                ? canceledByRow.bind(canceledBy) : null;
+        CompiledTemplate.Fragment messageFragment = cancelMessage != null && !cancelMessage.isBlank()
+                ? messageBox.bind(cancelMessage) : null;
+
+        return page.render(
+                clientName, byClient ? SUBTITLE_BY_CLIENT : SUBTITLE_BY_SHOP,
+                serviceName, professionalName, DAY.format(startAt), TIME.format(startAt),
+                canceledByFragment, messageFragment
         );
     }
 
     // ── Seções ────────────────────────────────────────────────────────────────
 
-    private String hero(String clientName, boolean byClient) {
-        String subtitle = byClient
-                ? "Seu agendamento foi cancelado conforme solicitado."
-                : "Seu agendamento foi cancelado pela barbearia.";
+    private String hero() {
         return
                 "<div bgcolor='#ef4444' style='background-color:#ef4444;"
                         + "padding:32px 32px 24px;text-align:center;"
@@ -76,20 +92,15 @@ public class AppointmentCanceledForClientTemplate {
                         + "       font-family:Arial,Helvetica,sans-serif;'>Cancelamento Confirmado</h1>"
                         + "  <p style='margin:0;font-size:13px;color:rgba(255,255,255,0.9);"
                         + "       font-family:Arial,Helvetica,sans-serif;'>"
-                        + "       Olá, <strong>" + clientName + "</strong> — " + subtitle + "</p>"
+                        + "       Olá, <strong>{{clientName}}</strong> — {{subtitle}}</p>"
                         + "</div>";
     }
 
-    private String detailCard(String service, String professional,
-                              String day, String time,
-                              String canceledBy, boolean byClient) {
-        StringBuilder rows = new StringBuilder();
-        rows.append(row("🪒", "Serviço",      service));
-        rows.append(row("👤", "Profissional", professional));
-        rows.append(row("📅", "Data",         day + " às " + time));
-        if (canceledBy != null && !canceledBy.isBlank() && !byClient) {
-            rows.append(row("🧑‍💼", "Cancelado por", layout.escape(canceledBy)));
-        }
+    private String detailCard() {
+        String rows = row("🪒", "Serviço",      "{{service}}")
+                + row("👤", "Profissional", "{{professional}}")
+                + row("📅", "Data",         "{{day}} às {{time}}")
+                + "{{{canceledBy}}}";
         return
                 "<div bgcolor='#ffffff' style='background-color:#ffffff;padding:24px 32px;"
                         + "border-left:4px solid #ef4444;border-bottom:1px solid #f0f0f0;'>"
@@ -114,7 +125,7 @@ public class AppointmentCanceledForClientTemplate {
                         + "</div>";
     }
 
-    private String messageBox(String message) {
+    private String messageBox() {
         return
                 "<div bgcolor='#ffffff' style='background-color:#ffffff;padding:0 32px 18px;'>"
                         + "  <div bgcolor='#fffbeb' style='background-color:#fffbeb;"
@@ -125,7 +136,7 @@ public class AppointmentCanceledForClientTemplate {
                         + "         font-family:Arial,Helvetica,sans-serif;'>💬 Motivo Informado</p>"
                         + "    <p style='margin:0;font-size:13px;color:#78350f;font-style:italic;"
                         + "         line-height:1.5;font-family:Arial,Helvetica,sans-serif;'>"
-                        + "         \"" + message + "\"</p>"
+                        + "         \"{{message}}\"</p>"
                         + "  </div>"
                         + "</div>";
     }
@@ -9,6 +9,8 @@ import java.time.format.DateTimeFormatter;
 @Component
 public class AppointmentCanceledForProfessionalTemplate {
 
+    private static final DateTimeFormatter WHEN = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
     private final EmailLayout layout;
 
     public AppointmentCanceledForProfessionalTemplate(EmailLayout layout) {
@@ -27,7 +29,7 @@ public class AppointmentCanceledForProfessionalTemplate {
     public String html(String professionalName, String clientName, String serviceName,
                        LocalDateTime startAt, String canceledBy, String cancelOrigin, String cancelMessage) {
 
-        String when = startAt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+        String when = WHEN.format(startAt);
 
         StringBuilder content = new StringBuilder();
         content.append(layout.paragraph("Olá, " + professionalName + "."));
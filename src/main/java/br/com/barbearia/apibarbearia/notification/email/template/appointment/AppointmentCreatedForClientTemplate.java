@@ -1,5 +1,6 @@
 package br.com.barbearia.apibarbearia.notification.email.template.appointment;
 
+import br.com.barbearia.apibarbearia.notification.email.template.CompiledTemplate;
 import br.com.barbearia.apibarbearia.notification.email.template.EmailLayout;
 import org.springframework.stereotype.Component;
 
@@ -23,14 +24,29 @@ import java.util.Locale;
  *
  * ══ ASSINATURA ══
  * Idêntica ao original — zero breaking change.
+ *
+ * ══ RENDER ══
+ * As seções abaixo montam o source uma vez, no construtor; cada e-mail só preenche
+ * os slots do {@link CompiledTemplate}.
  */
 @Component
 public class AppointmentCreatedForClientTemplate {
 
+    private static final DateTimeFormatter DAY  = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter FULL_DATE =
+            DateTimeFormatter.ofPattern("EEEE, dd 'de' MMMM 'de' yyyy", new Locale("pt", "BR"));
+
     private final EmailLayout layout;
+    private final CompiledTemplate page;
+    private final CompiledTemplate cancelButton;
 
     public AppointmentCreatedForClientTemplate(EmailLayout layout) {
         this.layout = layout;
+        this.page = CompiledTemplate.compile(
+                wrapper(hero() + card() + tips() + banner() + "{{{cancel}}}"),
+                "clientName", "service", "professional", "fullDate", "time", "day", "cancel");
+        this.cancelButton = CompiledTemplate.compile(cancelBtn(), "cancelLink");
     }
 
     public String subject() {
@@ -41,23 +57,19 @@ public class AppointmentCreatedForClientTemplate {
     public String html(String clientName, String professionalName,
                        String serviceName, LocalDateTime startAt, String cancelLink) {
 
-        String dayFmt   = startAt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-        String timeFmt  = startAt.format(DateTimeFormatter.ofPattern("HH:mm"));
-        String fullDate = startAt.format(
-                DateTimeFormatter.ofPattern("EEEE, dd 'de' MMMM 'de' yyyy", new Locale("pt", "BR")));
-
-        return wrapper(
-                hero(layout.escape(clientName)) +
-                        card(layout.escape(serviceName), layout.escape(professionalName), dayFmt, timeFmt, fullDate) +
-                        tips() +
-                        banner() +
-                        cancelBtn(cancelLink)
+        CompiledTemplate.Fragment cancel =
+                cancelLink == null || cancelLink.isBlank() ? null : cancelButton.bind(cancelLink);
+
+        return page.render(
+                clientName, serviceName, professionalName,
+                FULL_DATE.format(startAt), TIME.format(startAt), DAY.format(startAt),
+                cancel
         );
     }
 
     // ── Seções ────────────────────────────────────────────────────────────────
 
-    private String hero(String clientName) {
+    private String hero() {
         return
                 "<div bgcolor='#10b981' style='background-color:#10b981;"
                         + "padding:32px 32px 24px;text-align:center;"
@@ -71,21 +83,20 @@ public class AppointmentCreatedForClientTemplate {
                         + "       Agendamento Confirmado!</h1>"
                         + "  <p style='margin:0;font-size:14px;color:rgba(255,255,255,0.9);"
                         + "       font-family:Arial,Helvetica,sans-serif;'>"
-                        + "       Olá, <strong>" + clientName + "</strong> — seu horário está garantido.</p>"
+                        + "       Olá, <strong>{{clientName}}</strong> — seu horário está garantido.</p>"
                         + "</div>";
     }
 
-    private String card(String service, String professional,
-                        String day, String time, String fullDate) {
+    private String card() {
         return
                 "<div bgcolor='#ffffff' style='background-color:#ffffff;padding:24px 32px;"
                         + "border-left:4px solid #10b981;border-bottom:1px solid #f0f0f0;'>"
                         + "  <p style='margin:0 0 14px;font-size:10px;font-weight:700;letter-spacing:1.5px;"
                         + "       color:#10b981;text-transform:uppercase;"
                         + "       font-family:Arial,Helvetica,sans-serif;'>Detalhes do Agendamento</p>"
-                        + row("🪒", "Serviço",      service)
-                        + row("👤", "Profissional", professional)
-                        + row("📅", "Data",         fullDate)
+                        + row("🪒", "Serviço",      "{{service}}")
+                        + row("👤", "Profissional", "{{professional}}")
+                        + row("📅", "Data",         "{{fullDate}}")
                         // Destaque do horário
                         + "  <div bgcolor='#f0fdf4' style='background-color:#f0fdf4;border:1px solid #bbf7d0;"
                         + "       border-radius:10px;padding:16px;margin-top:18px;text-align:center;'>"
@@ -93,9 +104,9 @@ public class AppointmentCreatedForClientTemplate {
                         + "         text-transform:uppercase;letter-spacing:1px;"
                         + "         font-family:Arial,Helvetica,sans-serif;'>Horário Agendado</p>"
                         + "    <p style='margin:0;font-size:34px;font-weight:800;color:#065f46;"
-                        + "         letter-spacing:-1px;font-family:Arial,Helvetica,sans-serif;'>" + time + "</p>"
+                        + "         letter-spacing:-1px;font-family:Arial,Helvetica,sans-serif;'>{{time}}</p>"
                         + "    <p style='margin:4px 0 0;font-size:12px;color:#6b7280;"
-                        + "         font-family:Arial,Helvetica,sans-serif;'>" + day + "</p>"
+                        + "         font-family:Arial,Helvetica,sans-serif;'>{{day}}</p>"
                         + "  </div>"
                         + "</div>";
     }
@@ -150,15 +161,14 @@ public class AppointmentCreatedForClientTemplate {
                         + "</div>";
     }
 
-    private String cancelBtn(String cancelLink) {
-        if (cancelLink == null || cancelLink.isBlank()) return "";
+    private String cancelBtn() {
         return
                 "<div bgcolor='#ffffff' style='background-color:#ffffff;padding:14px 32px;"
                         + "text-align:center;border-top:1px solid #f3f4f6;'>"
                         + "  <p style='margin:0 0 8px;font-size:11px;color:#9ca3af;"
                         + "       font-family:Arial,Helvetica,sans-serif;'>"
                         + "       Precisa cancelar? Use o link abaixo com pelo menos 10 minutos de antecedência:</p>"
-                        + "  <a href='" + cancelLink + "' "
+                        + "  <a href='{{cancelLink}}' "
                         + "     style='display:inline-block;padding:8px 22px;background-color:#ffffff;"
                         + "     color:#ef4444;border:1.5px solid #ef4444;border-radius:50px;"
                         + "     font-size:12px;font-weight:600;text-decoration:none;"
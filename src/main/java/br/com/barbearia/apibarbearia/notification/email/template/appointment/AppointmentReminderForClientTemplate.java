@@ -9,6 +9,8 @@ import java.time.format.DateTimeFormatter;
 @Component
 public class AppointmentReminderForClientTemplate {
 
+    private static final DateTimeFormatter WHEN = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
     private final EmailLayout layout;
 
     public AppointmentReminderForClientTemplate(EmailLayout layout) {
@@ -20,7 +22,7 @@ public class AppointmentReminderForClientTemplate {
     }
 
     public String html(String clientName, String professionalName, String serviceName, LocalDateTime startAt) {
-        String when = startAt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+        String when = WHEN.format(startAt);
 
         String content =
                 layout.paragraph("Olá, " + clientName + ".") +
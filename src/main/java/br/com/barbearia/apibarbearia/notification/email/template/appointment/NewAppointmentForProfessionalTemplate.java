@@ -9,6 +9,8 @@ import java.time.format.DateTimeFormatter;
 @Component
 public class NewAppointmentForProfessionalTemplate {
 
+    private static final DateTimeFormatter WHEN = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
     private final EmailLayout layout;
 
     public NewAppointmentForProfessionalTemplate(EmailLayout layout) {
@@ -20,7 +22,7 @@ public class NewAppointmentForProfessionalTemplate {
     }
 
     public String html(String professionalName, String clientName, String serviceName, LocalDateTime startAt) {
-        String when = startAt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+        String when = WHEN.format(startAt);
 
         String content =
                 layout.paragraph("Olá, " + professionalName + ".") +
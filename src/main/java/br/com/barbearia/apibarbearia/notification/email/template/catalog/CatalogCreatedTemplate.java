@@ -13,11 +13,7 @@ public class CatalogCreatedTemplate {
     }
 
     public String htmlForAuthor(String nome, String serviceName, int duration, String price) {
-        String content = layout.paragraph("O serviço foi criado e salvo com sucesso no sistema.") +
-                "<br>" +
-                layout.infoRow("Serviço", serviceName) +
-                layout.infoRow("Preço", price) +
-                layout.infoRow("Duração", duration + " min");
+        String content = contentForAuthor(serviceName, duration, price);
 
         return layout.baseTemplate(
                 "Olá, " + layout.escape(nome),
@@ -30,13 +26,7 @@ public class CatalogCreatedTemplate {
 
     // Alterado: Recebe Nome e Email
     public String htmlForResponsible(String nome, String serviceName, int duration, String price, String authorName, String authorEmail) {
-        String content = layout.paragraph("Você foi incluído como responsável técnico por este novo serviço.") +
-                "<br>" +
-                layout.infoRow("Serviço", serviceName) +
-                layout.infoRow("Preço", price) +
-                layout.infoRow("Duração", duration + " min") +
-                "<br>" +
-                layout.note("Criado por: " + authorName + " (" + authorEmail + ")");
+        String content = contentForResponsible(serviceName, duration, price, authorName, authorEmail);
 
         return layout.baseTemplate(
                 "Olá, " + layout.escape(nome),
@@ -48,10 +38,7 @@ public class CatalogCreatedTemplate {
     }
 
     public String htmlForOthers(String nome, String serviceName, String price) {
-        String content = layout.paragraph("Temos novidade! Um novo serviço acaba de ser adicionado ao nosso catálogo.") +
-                "<br>" +
-                layout.infoRow("Serviço", serviceName) +
-                layout.infoRow("Valor", price);
+        String content = contentForOthers(serviceName, price);
 
         return layout.baseTemplate(
                 "Olá, " + layout.escape(nome),
@@ -61,4 +48,31 @@ public class CatalogCreatedTemplate {
                 layout.frontendUrl() + "/catalogo"
         );
     }
-}
\ No newline at end of file
+
+    // Corpos sem saudação: também usados no resumo (digest)
+
+    public String contentForAuthor(String serviceName, int duration, String price) {
+        return layout.paragraph("O serviço foi criado e salvo com sucesso no sistema.") +
+                "<br>" +
+                layout.infoRow("Serviço", serviceName) +
+                layout.infoRow("Preço", price) +
+                layout.infoRow("Duração", duration + " min");
+    }
+
+    public String contentForResponsible(String serviceName, int duration, String price, String authorName, String authorEmail) {
+        return layout.paragraph("Você foi incluído como responsável técnico por este novo serviço.") +
+                "<br>" +
+                layout.infoRow("Serviço", serviceName) +
+                layout.infoRow("Preço", price) +
+                layout.infoRow("Duração", duration + " min") +
+                "<br>" +
+                layout.note("Criado por: " + authorName + " (" + authorEmail + ")");
+    }
+
+    public String contentForOthers(String serviceName, String price) {
+        return layout.paragraph("Temos novidade! Um novo serviço acaba de ser adicionado ao nosso catálogo.") +
+                "<br>" +
+                layout.infoRow("Serviço", serviceName) +
+                layout.infoRow("Valor", price);
+    }
+}
@@ -16,15 +16,14 @@ public class CatalogDeletedTemplate {
         return layout.baseTemplate(
                 "Olá, " + layout.escape(nome),
                 "Serviço Excluído 🗑️",
-                layout.paragraph("Você confirmou a exclusão do serviço " + serviceName + " do sistema."),
+                contentForAuthor(serviceName),
                 "Ir para o Painel",
                 layout.frontendUrl() + "/dashboard"
         );
     }
 
     public String htmlForResponsible(String nome, String serviceName, String authorName, String authorEmail) {
-        String content = layout.paragraph("O serviço " + serviceName + " foi descontinuado e removido do catálogo.") +
-                layout.note("Ação realizada por: " + authorName + " (" + authorEmail + ")");
+        String content = contentForResponsible(serviceName, authorName, authorEmail);
 
         return layout.baseTemplate(
                 "Olá, " + layout.escape(nome),
@@ -39,9 +38,24 @@ public class CatalogDeletedTemplate {
         return layout.baseTemplate(
                 "Olá, " + layout.escape(nome),
                 "Atualização do Catálogo",
-                layout.paragraph("O serviço " + serviceName + " não está mais disponível em nossa grade."),
+                contentForOthers(serviceName),
                 "Ver Catálogo Atualizado",
                 layout.frontendUrl() + "/catalogo"
         );
     }
-}
\ No newline at end of file
+
+    // Corpos sem saudação: também usados no resumo (digest)
+
+    public String contentForAuthor(String serviceName) {
+        return layout.paragraph("Você confirmou a exclusão do serviço " + serviceName + " do sistema.");
+    }
+
+    public String contentForResponsible(String serviceName, String authorName, String authorEmail) {
+        return layout.paragraph("O serviço " + serviceName + " foi descontinuado e removido do catálogo.") +
+                layout.note("Ação realizada por: " + authorName + " (" + authorEmail + ")");
+    }
+
+    public String contentForOthers(String serviceName) {
+        return layout.paragraph("O serviço " + serviceName + " não está mais disponível em nossa grade.");
+    }
+}
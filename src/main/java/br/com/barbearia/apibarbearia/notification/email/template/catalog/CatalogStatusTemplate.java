@@ -13,23 +13,28 @@ public class CatalogStatusTemplate {
     }
 
     public String html(String nome, String serviceName, boolean activated, String authorName, String authorEmail) {
+        String content = content(serviceName, activated, authorName, authorEmail);
+
+        return layout.baseTemplate(
+                "Olá, " + layout.escape(nome),
+                "Status Alterado 🔄",
+                content,
+                "Ver Serviço",
+                layout.frontendUrl() + "/catalogo"
+        );
+    }
+
+    /** Corpo sem saudação: também usado no resumo (digest). */
+    public String content(String serviceName, boolean activated, String authorName, String authorEmail) {
         String statusText = activated ? "ATIVADO (Visível)" : "DESATIVADO (Oculto)";
         String color = activated ? "#10b981" : "#ef4444";
 
-        String content = layout.paragraph("O status do serviço " + serviceName + " foi alterado.") +
+        return layout.paragraph("O status do serviço " + serviceName + " foi alterado.") +
                 "<br>" +
                 "<div style='background-color: " + color + "15; border: 1px solid " + color + "; padding: 10px; border-radius: 8px; color: " + color + "; font-weight: bold; text-align: center;'>" +
                 statusText +
                 "</div>" +
                 "<br>" +
                 layout.note("Alterado por: " + authorName + " (" + authorEmail + ")");
-
-        return layout.baseTemplate(
-                "Olá, " + layout.escape(nome),
-                "Status Alterado 🔄",
-                content,
-                "Ver Serviço",
-                layout.frontendUrl() + "/catalogo"
-        );
     }
 }
\ No newline at end of file
@@ -13,7 +13,7 @@ public class CatalogUpdatedTemplate {
     }
 
     public String htmlForAuthor(String nome, String serviceName) {
-        String content = layout.paragraph("As alterações no serviço " + serviceName + " foram salvas com sucesso.");
+        String content = contentForAuthor(serviceName);
 
         return layout.baseTemplate(
                 "Olá, " + layout.escape(nome),
@@ -25,10 +25,7 @@ public class CatalogUpdatedTemplate {
     }
 
     public String htmlForResponsible(String nome, String serviceName, String authorName, String authorEmail) {
-        String content = layout.paragraph("O serviço " + serviceName + ", que você atende, sofreu atualizações recentes.") +
-                "<br>" +
-                layout.note("Atualizado por: " + authorName + " (" + authorEmail + ")") +
-                layout.warning("Por favor, verifique se houve mudança no preço ou tempo de execução.");
+        String content = contentForResponsible(serviceName, authorName, authorEmail);
 
         return layout.baseTemplate(
                 "Olá, " + layout.escape(nome),
@@ -40,9 +37,7 @@ public class CatalogUpdatedTemplate {
     }
 
     public String htmlForRemovedResponsible(String nome, String serviceName, String authorName, String authorEmail) {
-        String content = layout.paragraph("Você não é mais listado como responsável técnico pelo serviço " + serviceName + ".") +
-                "<br>" +
-                layout.note("Alteração realizada por: " + authorName + " (" + authorEmail + ")");
+        String content = contentForRemovedResponsible(serviceName, authorName, authorEmail);
 
         return layout.baseTemplate(
                 "Olá, " + layout.escape(nome),
@@ -52,4 +47,23 @@ public class CatalogUpdatedTemplate {
                 layout.frontendUrl() + "/catalogo"
         );
     }
-}
\ No newline at end of file
+
+    // Corpos sem saudação: também usados no resumo (digest)
+
+    public String contentForAuthor(String serviceName) {
+        return layout.paragraph("As alterações no serviço " + serviceName + " foram salvas com sucesso.");
+    }
+
+    public String contentForResponsible(String serviceName, String authorName, String authorEmail) {
+        return layout.paragraph("O serviço " + serviceName + ", que você atende, sofreu atualizações recentes.") +
+                "<br>" +
+                layout.note("Atualizado por: " + authorName + " (" + authorEmail + ")") +
+                layout.warning("Por favor, verifique se houve mudança no preço ou tempo de execução.");
+    }
+
+    public String contentForRemovedResponsible(String serviceName, String authorName, String authorEmail) {
+        return layout.paragraph("Você não é mais listado como responsável técnico pelo serviço " + serviceName + ".") +
+                "<br>" +
+                layout.note("Alteração realizada por: " + authorName + " (" + authorEmail + ")");
+    }
+}
@@ -21,14 +21,18 @@ public class BreakCreatedTemplate {
         String title = "Pausa adicionada ☕";
         String subtitle = "Olá " + layout.escape(nome) + ", uma pausa foi adicionada na agenda.";
 
-        String content =
-                layout.infoRow("PROFISSIONAL", layout.escape(profissionalNome)) +
-                        layout.infoRow("DIA", layout.escape(dayOfWeek)) +
-                        layout.infoRow("PAUSA", layout.escape(startTime + " - " + endTime)) +
-                        "<div style='margin-top:16px;'></div>" +
-                        layout.note("Adicionada por: " + layout.escape(createdBy));
+        String content = content(profissionalNome, dayOfWeek, startTime, endTime, createdBy);
 
         String ctaUrl = layout.frontendUrl() + "/agenda";
         return layout.baseTemplate(title, subtitle, content, "Ver Agenda", ctaUrl);
     }
+
+    /** Corpo sem saudação: também usado no resumo (digest). */
+    public String content(String profissionalNome, String dayOfWeek, String startTime, String endTime, String createdBy) {
+        return layout.infoRow("PROFISSIONAL", layout.escape(profissionalNome)) +
+                layout.infoRow("DIA", layout.escape(dayOfWeek)) +
+                layout.infoRow("PAUSA", layout.escape(startTime + " - " + endTime)) +
+                "<div style='margin-top:16px;'></div>" +
+                layout.note("Adicionada por: " + layout.escape(createdBy));
+    }
 }
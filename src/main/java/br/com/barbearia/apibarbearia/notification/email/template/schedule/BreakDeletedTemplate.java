@@ -21,14 +21,18 @@ public class BreakDeletedTemplate {
         String title = "Pausa removida ✅";
         String subtitle = "Olá " + layout.escape(nome) + ", uma pausa foi removida da agenda.";
 
-        String content =
-                layout.infoRow("PROFISSIONAL", layout.escape(profissionalNome)) +
-                        layout.infoRow("DIA", layout.escape(dayOfWeek)) +
-                        layout.infoRow("PAUSA", layout.escape(startTime + " - " + endTime)) +
-                        "<div style='margin-top:16px;'></div>" +
-                        layout.note("Removida por: " + layout.escape(deletedBy));
+        String content = content(profissionalNome, dayOfWeek, startTime, endTime, deletedBy);
 
         String ctaUrl = layout.frontendUrl() + "/agenda";
         return layout.baseTemplate(title, subtitle, content, "Ver Agenda", ctaUrl);
     }
+
+    /** Corpo sem saudação: também usado no resumo (digest). */
+    public String content(String profissionalNome, String dayOfWeek, String startTime, String endTime, String deletedBy) {
+        return layout.infoRow("PROFISSIONAL", layout.escape(profissionalNome)) +
+                layout.infoRow("DIA", layout.escape(dayOfWeek)) +
+                layout.infoRow("PAUSA", layout.escape(startTime + " - " + endTime)) +
+                "<div style='margin-top:16px;'></div>" +
+                layout.note("Removida por: " + layout.escape(deletedBy));
+    }
 }
@@ -20,15 +20,19 @@ public class DayOverrideUpdatedTemplate {
         String title = "Funcionamento do dia atualizado 📅";
         String subtitle = "Olá " + layout.escape(nome) + ", o funcionamento de um dia específico foi ajustado.";
 
-        String content =
-                layout.infoRow("PROFISSIONAL", layout.escape(profissionalNome)) +
-                        layout.infoRow("DATA", layout.escape(date)) +
-                        layout.infoRow("STATUS", layout.escape(status)) +
-                        layout.infoRow("HORÁRIO", layout.escape(timeRange)) +
-                        "<div style='margin-top:16px;'></div>" +
-                        layout.note("Atualizado por: " + layout.escape(updatedBy));
+        String content = content(profissionalNome, date, status, timeRange, updatedBy);
 
         String ctaUrl = layout.frontendUrl() + "/agenda";
         return layout.baseTemplate(title, subtitle, content, "Ver Agenda", ctaUrl);
     }
+
+    /** Corpo sem saudação: também usado no resumo (digest). */
+    public String content(String profissionalNome, String date, String status, String timeRange, String updatedBy) {
+        return layout.infoRow("PROFISSIONAL", layout.escape(profissionalNome)) +
+                layout.infoRow("DATA", layout.escape(date)) +
+                layout.infoRow("STATUS", layout.escape(status)) +
+                layout.infoRow("HORÁRIO", layout.escape(timeRange)) +
+                "<div style='margin-top:16px;'></div>" +
+                layout.note("Atualizado por: " + layout.escape(updatedBy));
+    }
 }
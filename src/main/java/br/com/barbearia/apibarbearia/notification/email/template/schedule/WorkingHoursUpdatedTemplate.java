@@ -20,14 +20,18 @@ public class WorkingHoursUpdatedTemplate {
         String title = "Horário atualizado ✅";
         String subtitle = "Olá " + layout.escape(nome) + ", o horário de funcionamento foi atualizado.";
 
-        String content =
-                layout.infoRow("PROFISSIONAL", layout.escape(profissionalNome)) +
-                        layout.infoRow("DIA", layout.escape(dayOfWeek)) +
-                        layout.infoRow("HORÁRIO", layout.escape(startTime + " - " + endTime)) +
-                        "<div style='margin-top:16px;'></div>" +
-                        layout.note("Atualizado por: " + layout.escape(updatedBy));
+        String content = content(profissionalNome, dayOfWeek, startTime, endTime, updatedBy);
 
         String ctaUrl = layout.frontendUrl() + "/agenda";
         return layout.baseTemplate(title, subtitle, content, "Ver Agenda", ctaUrl);
     }
+
+    /** Corpo sem saudação: também usado no resumo (digest). */
+    public String content(String profissionalNome, String dayOfWeek, String startTime, String endTime, String updatedBy) {
+        return layout.infoRow("PROFISSIONAL", layout.escape(profissionalNome)) +
+                layout.infoRow("DIA", layout.escape(dayOfWeek)) +
+                layout.infoRow("HORÁRIO", layout.escape(startTime + " - " + endTime)) +
+                "<div style='margin-top:16px;'></div>" +
+                layout.note("Atualizado por: " + layout.escape(updatedBy));
+    }
 }
@@ -5,6 +5,7 @@ import br.com.barbearia.apibarbearia.common.exception.NotFoundException;
 import br.com.barbearia.apibarbearia.users.dto.*;
 import br.com.barbearia.apibarbearia.users.entity.User;
 import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import br.com.barbearia.apibarbearia.users.service.UserDirectory;
 import br.com.barbearia.apibarbearia.users.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -22,25 +23,15 @@ public class UserProfileController {
     private final UserService userService;
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final UserDirectory userDirectory;
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> getMyProfile(Authentication authentication) {
         Long userId = Long.parseLong(authentication.getName());
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Usuário não encontrado."));
-
-        UserResponse r = new UserResponse();
-        r.setId(user.getId());
-        r.setName(user.getName());
-        r.setEmail(user.getEmail());
-        r.setPhone(user.getPhone());
-        r.setRole(user.getRole());
-        r.setActive(user.isActive());
-        r.setMustChangePassword(user.isMustChangePassword());
-        r.setCreatedAt(user.getCreatedAt());
-        r.setUpdatedAt(user.getUpdatedAt());
-        r.setPendingEmail(user.getPendingEmail());
+        UserResponse r = userDirectory.find(userId)
+                .orElseThrow(() -> new NotFoundException("Usuário não encontrado."))
+                .toResponse();
 
         return ResponseEntity.ok(Map.of("data", r));
     }
@@ -0,0 +1,57 @@
+package br.com.barbearia.apibarbearia.users.dto;
+
+import br.com.barbearia.apibarbearia.users.entity.Role.Role;
+import br.com.barbearia.apibarbearia.users.entity.User;
+
+import java.time.Instant;
+
+/**
+ * Retrato imutável dos dados de perfil de um usuário (sem senha nem códigos),
+ * guardado em memória pelo UserDirectory.
+ */
+public final class UserProfile {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final String pendingEmail;
+    private final Role role;
+    private final boolean active;
+    private final boolean mustChangePassword;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+
+    private UserProfile(User user) {
+        this.id = user.getId();
+        this.name = user.getName();
+        this.email = user.getEmail();
+        this.phone = user.getPhone();
+        this.pendingEmail = user.getPendingEmail();
+        this.role = user.getRole();
+        this.active = user.isActive();
+        this.mustChangePassword = user.isMustChangePassword();
+        this.createdAt = user.getCreatedAt();
+        this.updatedAt = user.getUpdatedAt();
+    }
+
+    public static UserProfile of(User user) {
+        return new UserProfile(user);
+    }
+
+    /** UserResponse novo a cada chamada: o DTO é mutável, o retrato não. */
+    public UserResponse toResponse() {
+        return new UserResponse(id, name, email, phone, pendingEmail, role, active, mustChangePassword, createdAt, updatedAt);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+    public String getPendingEmail() { return pendingEmail; }
+    public Role getRole() { return role; }
+    public boolean isActive() { return active; }
+    public boolean isMustChangePassword() { return mustChangePassword; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
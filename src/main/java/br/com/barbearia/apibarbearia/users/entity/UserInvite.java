@@ -6,7 +6,9 @@ import javax.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "user_invites")
+@Table(name = "user_invites", indexes = {
+        @Index(name = "idx_user_invites_expires_at", columnList = "expires_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -27,7 +29,7 @@ public class UserInvite {
     @Column(nullable = false, unique = true)
     private String token;
 
-    @Column(nullable = false)
+    @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
 
     @Column(nullable = false)
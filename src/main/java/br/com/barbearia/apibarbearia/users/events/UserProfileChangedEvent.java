@@ -0,0 +1,16 @@
+package br.com.barbearia.apibarbearia.users.events;
+
+/**
+ * Publicado quando algum dado do usuário mudou (nome, e-mail, cargo, senha, status...)
+ * ou ele foi excluído. Consumido após o commit para descartar o perfil em memória.
+ */
+public class UserProfileChangedEvent {
+
+    private final Long userId;
+
+    public UserProfileChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() { return userId; }
+}
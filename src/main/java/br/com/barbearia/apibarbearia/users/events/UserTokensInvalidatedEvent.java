@@ -0,0 +1,26 @@
+package br.com.barbearia.apibarbearia.users.events;
+
+import java.time.Instant;
+
+/**
+ * Publicado quando os tokens já emitidos para um usuário deixam de valer
+ * (kick, troca/reset de senha, troca de e-mail ou cargo, exclusão).
+ * Consumido após o commit para atualizar a época de tokens em memória.
+ */
+public class UserTokensInvalidatedEvent {
+
+    private final Long userId;
+    private final Instant invalidatedAt;
+    private final boolean active;
+
+    public UserTokensInvalidatedEvent(Long userId, Instant invalidatedAt, boolean active) {
+        this.userId = userId;
+        this.invalidatedAt = invalidatedAt;
+        this.active = active;
+    }
+
+    public Long getUserId() { return userId; }
+    public Instant getInvalidatedAt() { return invalidatedAt; }
+    /** false quando o usuário foi excluído/desativado: nenhum token dele vale mais. */
+    public boolean isActive() { return active; }
+}
@@ -1,7 +1,14 @@
 package br.com.barbearia.apibarbearia.users.repository;
 
 import br.com.barbearia.apibarbearia.users.entity.UserInvite;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +18,11 @@ public interface UserInviteRepository extends JpaRepository<UserInvite, Long> {
     List<UserInvite> findAllByEmail(String email);
 
     Optional<UserInvite> findTopByEmailOrderByCreatedAtDesc(String email);
-}
\ No newline at end of file
+
+    @Query("SELECT i.id FROM UserInvite i WHERE i.expiresAt < :cutoff")
+    List<Long> findExpiredIds(@Param("cutoff") Instant cutoff, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM UserInvite i WHERE i.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -3,6 +3,10 @@ package br.com.barbearia.apibarbearia.users.repository;
 import br.com.barbearia.apibarbearia.users.entity.Role.Role;
 import br.com.barbearia.apibarbearia.users.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,4 +27,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByPhone(String phone);
 
     List<User> findAllByRoleAndActiveTrue(Role role);
+
+    /** Só o necessário para validar tokens sem carregar a entidade. */
+    interface TokenState {
+        Long getId();
+        Instant getTokenInvalidationTimestamp();
+        boolean isActive();
+    }
+
+    @Query("SELECT u.id AS id, u.tokenInvalidationTimestamp AS tokenInvalidationTimestamp, u.active AS active FROM User u")
+    List<TokenState> findAllTokenStates();
+
+    @Query("SELECT u.id AS id, u.tokenInvalidationTimestamp AS tokenInvalidationTimestamp, u.active AS active " +
+            "FROM User u WHERE u.id = :id")
+    Optional<TokenState> findTokenState(@Param("id") Long id);
+
+    /** Papel atual direto do banco, para decisões de autorização. */
+    @Query("SELECT u.role FROM User u WHERE u.id = :id")
+    Optional<Role> findRoleById(@Param("id") Long id);
+
+    /** Destinatário de envio em massa: só id, nome e e-mail. */
+    interface EmailRecipient {
+        Long getId();
+        String getName();
+        String getEmail();
+    }
+
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email FROM User u " +
+            "WHERE u.active = true AND u.email IS NOT NULL ORDER BY u.id")
+    List<EmailRecipient> findActiveEmailRecipients();
 }
@@ -0,0 +1,137 @@
+package br.com.barbearia.apibarbearia.users.service;
+
+import br.com.barbearia.apibarbearia.users.dto.UserProfile;
+import br.com.barbearia.apibarbearia.users.events.UserProfileChangedEvent;
+import br.com.barbearia.apibarbearia.users.events.UserTokensInvalidatedEvent;
+import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retratos imutáveis dos usuários ({@link UserProfile}) em memória.
+ *
+ * Atende /api/auth/me e /api/users/me (o front chama os dois a cada troca de rota) e as
+ * consultas de nome, e-mail e cargo dos serviços (quem criou/cancelou um agendamento,
+ * hierarquia da agenda, autor no catálogo), que antes faziam um findById por transição.
+ *
+ * O retrato é descartado após o commit de qualquer alteração do usuário
+ * ({@link UserProfileChangedEvent}) e recarregado na próxima leitura. Limitado por tamanho
+ * (LRU); o TTL só cobre alterações feitas fora da aplicação.
+ */
+@Component
+public class UserDirectory {
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<Long, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserDirectory(
+            UserRepository userRepository,
+            MeterRegistry registry,
+            @Value("${app.users.profile-directory.max-entries:2000}") int maxEntries,
+            @Value("${app.users.profile-directory.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = Math.max(1, ttlSeconds) * 1000L;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true);
+
+        this.hits = Counter.builder("users.directory.cache").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("users.directory.cache").tag("result", "miss").register(registry);
+        Gauge.builder("users.directory.cache.hit.ratio", this, UserDirectory::hitRatio).register(registry);
+        Gauge.builder("users.directory.cache.size", this, UserDirectory::size).register(registry);
+    }
+
+    /** Perfil do cache ou do banco; vazio se o usuário não existe. */
+    public Optional<UserProfile> find(Long userId) {
+        if (userId == null) return Optional.empty();
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            Entry e = entries.get(userId);
+            if (e != null) {
+                if (e.expiresAt > now) {
+                    hits.increment();
+                    return Optional.of(e.profile);
+                }
+                entries.remove(userId);
+            }
+        }
+
+        misses.increment();
+        long gen = generation.get();
+        Optional<UserProfile> loaded = userRepository.findById(userId).map(UserProfile::of);
+
+        loaded.ifPresent(profile -> {
+            synchronized (entries) {
+                if (generation.get() == gen) {
+                    entries.put(userId, new Entry(profile, now + ttlMillis));
+                    trimToSize();
+                }
+            }
+        });
+        return loaded;
+    }
+
+    public void evict(Long userId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(userId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        if (event.getUserId() != null) evict(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTokensInvalidated(UserTokensInvalidatedEvent event) {
+        if (event.getUserId() != null) evict(event.getUserId());
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<Long, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static final class Entry {
+        final UserProfile profile;
+        final long expiresAt;
+
+        Entry(UserProfile profile, long expiresAt) {
+            this.profile = profile;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -9,9 +9,12 @@ import br.com.barbearia.apibarbearia.users.dto.*;
 import br.com.barbearia.apibarbearia.users.entity.Role.Role;
 import br.com.barbearia.apibarbearia.users.entity.User;
 import br.com.barbearia.apibarbearia.users.entity.UserInvite;
+import br.com.barbearia.apibarbearia.users.events.UserProfileChangedEvent;
+import br.com.barbearia.apibarbearia.users.events.UserTokensInvalidatedEvent;
 import br.com.barbearia.apibarbearia.users.repository.UserInviteRepository;
 import br.com.barbearia.apibarbearia.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -35,6 +38,8 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final UserEmailNotificationService emailNotificationService;
     private final AvailabilityService availabilityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserDirectory userDirectory;
 
     // =========================================================
     // LISTAGEM E CONSULTA
@@ -92,6 +97,7 @@ public class UserService {
             if (!existing.isActive()) {
                 userRepository.delete(existing);
                 userRepository.flush();
+                publishProfileChanged(existing);
             }
         });
 
@@ -176,6 +182,7 @@ public class UserService {
         userRepository.findByEmail(invite.getEmail()).ifPresent(u -> {
             userRepository.delete(u);
             userRepository.flush();
+            publishProfileChanged(u);
         });
 
         User newUser = User.builder()
@@ -251,17 +258,22 @@ public class UserService {
         target.setEmail(email);
         target.setUpdatedAt(Instant.now());
 
+        boolean roleChanged = actor == Role.DEV && req.getRole() != null && req.getRole() != target.getRole();
         if (actor == Role.DEV) {
             target.setRole(req.getRole());
         }
+        // o cargo vai no token: tokens antigos deixam de valer
+        if (roleChanged) target.setTokenInvalidationTimestamp(Instant.now());
 
         User saved = userRepository.save(target);
+        if (roleChanged) publishTokensInvalidated(saved);
+        else publishProfileChanged(saved);
 
         try {
             if (updatedBySelf) {
                 emailNotificationService.sendUserUpdatedBySelf(saved.getEmail(), saved.getName());
             } else {
-                User adminUser = getUser(currentUserId());
+                UserProfile adminUser = currentUserProfile();
                 emailNotificationService.sendUserUpdatedByAdmin(
                         saved.getEmail(), saved.getName(), saved.getEmail(),
                         saved.getRole().name(), adminUser.getEmail(), actor.name()
@@ -287,9 +299,10 @@ public class UserService {
 
         String targetEmail = target.getEmail();
         String targetName = target.getName();
-        User adminUser = getUser(currentUserId());
+        UserProfile adminUser = currentUserProfile();
 
         userRepository.delete(target);
+        eventPublisher.publishEvent(new UserTokensInvalidatedEvent(target.getId(), Instant.now(), false));
 
         try {
             emailNotificationService.sendUserDeletedByAdmin(targetEmail, targetName, adminUser.getEmail());
@@ -309,7 +322,9 @@ public class UserService {
 
         target.setActive(true);
         target.setUpdatedAt(Instant.now());
-        return toResponse(userRepository.save(target));
+        User saved = userRepository.save(target);
+        publishTokensInvalidated(saved);
+        return toResponse(saved);
     }
 
     @Transactional
@@ -326,9 +341,10 @@ public class UserService {
         target.setMustChangePassword(true);
         target.setTokenInvalidationTimestamp(Instant.now());
         userRepository.save(target);
+        publishTokensInvalidated(target);
 
         try {
-            User adminUser = getUser(currentUserId());
+            UserProfile adminUser = currentUserProfile();
             emailNotificationService.sendPasswordResetByAdmin(
                     target.getEmail(), target.getName(), temp, adminUser.getEmail()
             );
@@ -354,6 +370,7 @@ public class UserService {
         user.setEmailVerificationCode(code);
         user.setEmailVerificationExpiresAt(Instant.now().plusSeconds(300));
         userRepository.save(user);
+        publishProfileChanged(user);
 
         try {
             emailNotificationService.sendPasswordResetCode(user.getEmail(), user.getName(), code);
@@ -391,6 +408,7 @@ public class UserService {
         user.setEmailVerificationCode(null);
         user.setTokenInvalidationTimestamp(Instant.now());
         userRepository.save(user);
+        publishTokensInvalidated(user);
     }
 
     // =========================================================
@@ -436,6 +454,7 @@ public class UserService {
 
         user.setUpdatedAt(Instant.now());
         User saved = userRepository.save(user);
+        publishProfileChanged(saved);
 
         if ((nameChanged || phoneChanged) && !emailChanged) {
             try {
@@ -462,7 +481,9 @@ public class UserService {
         user.setEmailVerificationExpiresAt(null);
         user.setTokenInvalidationTimestamp(Instant.now());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        publishTokensInvalidated(saved);
+        return saved;
     }
 
     @Transactional
@@ -481,6 +502,7 @@ public class UserService {
         user.setMustChangePassword(false);
         user.setTokenInvalidationTimestamp(Instant.now());
         userRepository.save(user);
+        publishTokensInvalidated(user);
 
         try {
             emailNotificationService.sendPasswordChanged(user.getEmail(), user.getName());
@@ -519,6 +541,22 @@ public class UserService {
         return userRepository.findById(id).orElseThrow(() -> new NotFoundException("Usuário não encontrado."));
     }
 
+    /** Quem está agindo: só nome/e-mail para as notificações, vem do diretório. */
+    private UserProfile currentUserProfile() {
+        Long id = currentUserId();
+        if (id == null) throw new BadRequestException("Sessão inválida.");
+        return userDirectory.find(id).orElseThrow(() -> new NotFoundException("Usuário não encontrado."));
+    }
+
+    private void publishTokensInvalidated(User user) {
+        eventPublisher.publishEvent(new UserTokensInvalidatedEvent(
+                user.getId(), user.getTokenInvalidationTimestamp(), user.isActive()));
+    }
+
+    private void publishProfileChanged(User user) {
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId()));
+    }
+
     private String normalizeEmail(String email) {
         return email == null ? null : email.toLowerCase().trim();
     }
@@ -0,0 +1,163 @@
+package br.com.barbearia.apibarbearia.appointment.events;
+
+import br.com.barbearia.apibarbearia.appointment.entity.AppointmentOutboxEntry;
+import br.com.barbearia.apibarbearia.appointment.entity.enums.NotificationRecipient;
+import br.com.barbearia.apibarbearia.appointment.entity.enums.OutboxStatus;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentOutboxRepository;
+import br.com.barbearia.apibarbearia.notification.email.appointment.AppointmentEmailNotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AppointmentOutboxDispatcherTest {
+
+    private AppointmentOutboxRepository repository;
+    private AppointmentNotificationHandler handler;
+    private SimpleMeterRegistry registry;
+    private AppointmentOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AppointmentOutboxRepository.class);
+        handler = mock(AppointmentNotificationHandler.class);
+        registry = new SimpleMeterRegistry();
+        dispatcher = new AppointmentOutboxDispatcher(repository, handler, mock(PlatformTransactionManager.class),
+                registry, 2, 10, 3, 300, 30, 3600);
+
+        when(repository.renewLease(anyLong(), any(), any())).thenReturn(1);
+        when(repository.markSent(anyLong(), any(), any())).thenReturn(1);
+        when(repository.reschedule(anyLong(), any(), any(), anyString())).thenReturn(1);
+        when(repository.markDead(anyLong(), any(), anyString())).thenReturn(1);
+    }
+
+    @Test
+    void claimsInBatchesAndMarksDeliveredRowsSent() {
+        AppointmentOutboxEntry a = entry(1L, 0);
+        AppointmentOutboxEntry b = entry(2L, 0);
+        AppointmentOutboxEntry c = entry(3L, 0);
+        when(repository.lockDue(any(), eq(2)))
+                .thenReturn(List.of(a, b))
+                .thenReturn(List.of(c));
+
+        assertThat(dispatcher.drain()).isEqualTo(3);
+
+        verify(repository, times(2)).lockDue(any(), eq(2)); // lote curto encerra o ciclo
+        assertThat(a.getStatus()).isEqualTo(OutboxStatus.PROCESSING);
+        assertThat(a.getAttempts()).isEqualTo(1);
+        assertThat(a.getLockedUntil()).isAfter(Instant.now().plusSeconds(290));
+        verify(handler, times(3)).deliver(any(), eq(NotificationRecipient.CLIENT));
+        verify(repository).markSent(eq(1L), eq(a.getLockedUntil()), any());
+        verify(repository).markSent(eq(3L), eq(c.getLockedUntil()), any());
+        assertThat(registry.get("appointment.outbox.deliveries").tag("result", "sent").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void failuresBackOffExponentiallyThenGoDead() {
+        AppointmentOutboxEntry second = entry(1L, 1);
+        AppointmentOutboxEntry last = entry(2L, 2);
+        when(repository.lockDue(any(), anyInt())).thenReturn(List.of(second, last)).thenReturn(List.of());
+        doThrow(new IllegalStateException("SMTP fora")).when(handler).deliver(any(), any());
+
+        Instant before = Instant.now();
+        dispatcher.drain();
+
+        ArgumentCaptor<Instant> next = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).reschedule(eq(1L), any(), next.capture(), eq("SMTP fora"));
+        // segunda tentativa: 30s * 2 = 60s, mais até 10% de jitter
+        assertThat(next.getValue()).isBetween(before.plusSeconds(60), Instant.now().plusSeconds(67));
+
+        verify(repository).markDead(eq(2L), eq(last.getLockedUntil()), eq("SMTP fora"));
+        verify(repository, never()).markSent(any(), any(), any());
+        assertThat(registry.get("appointment.outbox.deliveries").tag("result", "dead").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void renewsTheLeasePerRowAndSkipsRowsTakenByAnotherNode() {
+        AppointmentOutboxEntry taken = entry(1L, 0);
+        AppointmentOutboxEntry mine = entry(2L, 0);
+        when(repository.lockDue(any(), anyInt())).thenReturn(List.of(taken, mine)).thenReturn(List.of());
+        when(repository.renewLease(eq(1L), any(), any())).thenReturn(0);
+
+        dispatcher.drain();
+
+        ArgumentCaptor<Instant> held = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> renewed = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).renewLease(eq(2L), held.capture(), renewed.capture());
+        assertThat(renewed.getValue()).isAfterOrEqualTo(held.getValue());
+        assertThat(mine.getLockedUntil()).isEqualTo(renewed.getValue());
+
+        verify(handler, times(1)).deliver(any(), any());
+        verify(repository, never()).markSent(eq(1L), any(), any());
+        verify(repository).markSent(eq(2L), eq(renewed.getValue()), any());
+        assertThat(registry.get("appointment.outbox.deliveries").tag("result", "lost").counter().count()).isEqualTo(1);
+        assertThat(registry.get("appointment.outbox.deliveries").tag("result", "sent").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void backoffIsCapped() {
+        assertThat(dispatcher.backoff(1)).isBetween(Duration.ofSeconds(30), Duration.ofSeconds(33));
+        assertThat(dispatcher.backoff(40)).isBetween(Duration.ofHours(1), Duration.ofSeconds(3960));
+    }
+
+    @Test
+    void writerStoresOneRowPerRecipientWithReadablePayload() {
+        AppointmentNotificationHandler realHandler =
+                new AppointmentNotificationHandler(mock(AppointmentEmailNotificationService.class));
+        AppointmentOutboxWriter writer = new AppointmentOutboxWriter(repository, realHandler, dispatcher);
+
+        writer.onAppointmentChanged(event(AppointmentEventType.CONFIRMED));
+        verify(repository, never()).saveAll(any());
+
+        writer.onAppointmentChanged(event(AppointmentEventType.CREATED));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AppointmentOutboxEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+
+        assertThat(saved.getValue()).extracting(AppointmentOutboxEntry::getRecipient)
+                .containsExactly(NotificationRecipient.CLIENT, NotificationRecipient.PROFESSIONAL);
+        AppointmentOutboxEntry row = saved.getValue().get(0);
+        assertThat(row.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        AppointmentChangedEvent read = OutboxPayload.read(row.getPayload());
+        assertThat(read.getAppointmentCode()).isEqualTo("AG-0001");
+        assertThat(read.getStartAt()).isEqualTo(LocalDateTime.of(2030, 1, 7, 14, 30));
+    }
+
+    private AppointmentOutboxEntry entry(Long id, int attempts) {
+        return AppointmentOutboxEntry.builder()
+                .id(id)
+                .eventType(AppointmentEventType.CREATED)
+                .recipient(NotificationRecipient.CLIENT)
+                .payload(OutboxPayload.write(event(AppointmentEventType.CREATED)))
+                .status(OutboxStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static AppointmentChangedEvent event(AppointmentEventType type) {
+        return AppointmentChangedEvent.builder()
+                .type(type)
+                .appointmentId(10L)
+                .appointmentCode("AG-0001")
+                .clientName("Cliente")
+                .clientEmail("cliente@exemplo.com")
+                .professionalName("Profissional")
+                .professionalEmail("pro@barbearia.com")
+                .serviceName("Corte")
+                .durationMinutes(30)
+                .startAt(LocalDateTime.of(2030, 1, 7, 14, 30))
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.dto.response.AnyProfessionalSlotResponse;
+import br.com.barbearia.apibarbearia.appointment.dto.response.ProfessionalSimpleResponse;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
+import br.com.barbearia.apibarbearia.availability.engine.DayBitmap;
+import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
+import br.com.barbearia.apibarbearia.users.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AnyProfessionalSlotServiceTest {
+
+    private static final Long SERVICE = 10L;
+    private static final LocalDate DAY = LocalDate.now().plusDays(7);
+
+    private static final User ANA = professional(1L, "Ana");
+    private static final User BRUNO = professional(2L, "bruno");
+    private static final User CAIO = professional(3L, "Caio");
+
+    private AppointmentAvailabilityFacade facade;
+    private AnyProfessionalSlotService service;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        facade = mock(AppointmentAvailabilityFacade.class);
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.listAppointmentsForProfessionals(any(), any(), any(), anyList())).thenReturn(List.of());
+        service = new AnyProfessionalSlotService(facade, appointmentRepository, 3, 16, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void mergesStartsIntoOneOrderedTimelineWithoutDuplicates() {
+        offer(BRUNO, 600, 540, 570); // fora de ordem de propósito
+        offer(ANA, 540, 600);
+        catalogWith(BRUNO, ANA);
+
+        List<AnyProfessionalSlotResponse> slots = service.listSlots(SERVICE, DAY, 30);
+
+        assertThat(slots).extracting(AnyProfessionalSlotResponse::getStart)
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(10, 0));
+        assertThat(slots.get(0).getEnd()).isEqualTo(LocalTime.of(9, 30));
+        // mesmo horário de dois profissionais: um slot, profissionais em ordem alfabética
+        assertThat(names(slots.get(0))).containsExactly("Ana", "bruno");
+        assertThat(names(slots.get(1))).containsExactly("bruno");
+        assertThat(names(slots.get(2))).containsExactly("Ana", "bruno");
+    }
+
+    @Test
+    void slowProfessionalIsDroppedAfterTheTimeoutWithoutFailingTheRequest() {
+        offer(ANA, 540);
+        offer(BRUNO, 570);
+        when(facade.findFreeStarts(eq(CAIO.getId()), any(), anyInt(), anyInt(), any(), any())).thenAnswer(inv -> {
+            release.await();
+            return 0;
+        });
+        catalogWith(ANA, BRUNO, CAIO);
+
+        long start = System.nanoTime();
+        List<AnyProfessionalSlotResponse> slots = service.listSlots(SERVICE, DAY, 30);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(slots).extracting(AnyProfessionalSlotResponse::getStart)
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 30));
+        assertThat(slots).flatExtracting(AnyProfessionalSlotResponse::getProfessionals)
+                .extracting(ProfessionalSimpleResponse::getName).doesNotContain("Caio");
+        assertThat(elapsedMs).isLessThan(2_000);
+    }
+
+    private void catalogWith(User... professionals) {
+        CatalogItem item = new CatalogItem("Corte", "", 30, new BigDecimal("50.00"), 99L);
+        item.setResponsibles(Set.of(professionals));
+        when(facade.getServiceOrFail(SERVICE)).thenReturn(item);
+    }
+
+    /** Inícios livres (minutos do dia) que o profissional devolve. */
+    private void offer(User professional, int... starts) {
+        when(facade.findFreeStarts(eq(professional.getId()), eq(DAY), eq(30), eq(30), any(DayBitmap.class), any(int[].class)))
+                .thenAnswer(inv -> {
+                    int[] buffer = inv.getArgument(5);
+                    System.arraycopy(starts, 0, buffer, 0, starts.length);
+                    return starts.length;
+                });
+    }
+
+    private static List<String> names(AnyProfessionalSlotResponse slot) {
+        return slot.getProfessionals().stream().map(ProfessionalSimpleResponse::getName).collect(Collectors.toList());
+    }
+
+    private static User professional(Long id, String name) {
+        return User.builder().id(id).name(name).active(true).build();
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentDaySlotsResponse;
+import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentSlotResponse;
+import br.com.barbearia.apibarbearia.appointment.entity.Appointment;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
+import br.com.barbearia.apibarbearia.availability.engine.CompiledSchedule;
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleDay;
+import br.com.barbearia.apibarbearia.availability.service.AvailabilityService;
+import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
+import br.com.barbearia.apibarbearia.catalog.repository.CatalogRepository;
+import br.com.barbearia.apibarbearia.common.exception.BadRequestException;
+import br.com.barbearia.apibarbearia.users.entity.User;
+import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AppointmentAvailabilityFacadeTest {
+
+    private static final Long SERVICE = 10L;
+    private static final Long PROFESSIONAL = 1L;
+    /** Segunda-feira futura: atende seg e ter, 09:00-10:00; qua não atende. */
+    private static final LocalDate MONDAY = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+    private CatalogRepository catalogRepository;
+    private AppointmentRepository appointmentRepository;
+    private AvailabilityService availabilityService;
+    private AppointmentAvailabilityFacade facade;
+
+    @BeforeEach
+    void setUp() {
+        catalogRepository = mock(CatalogRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        appointmentRepository = mock(AppointmentRepository.class);
+        availabilityService = mock(AvailabilityService.class);
+        facade = new AppointmentAvailabilityFacade(catalogRepository, userRepository, availabilityService,
+                appointmentRepository, new AvailableSlotCache(new SimpleMeterRegistry(), 100, 300));
+
+        User professional = User.builder().id(PROFESSIONAL).name("Barbeiro").active(true).build();
+        CatalogItem service = new CatalogItem("Corte", "", 30, new BigDecimal("50.00"), 99L);
+        service.setResponsibles(Set.of(professional));
+
+        when(catalogRepository.findById(SERVICE)).thenReturn(Optional.of(service));
+        when(userRepository.findById(PROFESSIONAL)).thenReturn(Optional.of(professional));
+        when(availabilityService.getCompiledSchedule(PROFESSIONAL))
+                .thenReturn(CompiledSchedule.of(List.of(day(DayOfWeek.MONDAY), day(DayOfWeek.TUESDAY))));
+        when(availabilityService.findBlocksInRange(eq(PROFESSIONAL), any(), any())).thenReturn(List.of());
+        when(appointmentRepository.listDayAppointments(eq(PROFESSIONAL), any(), any(), anyList())).thenReturn(List.of());
+    }
+
+    @Test
+    void rejectsInvertedAndOversizedRangesBeforeLoadingAnything() {
+        assertThatThrownBy(() -> facade.searchAvailableSlots(SERVICE, PROFESSIONAL, MONDAY, MONDAY.minusDays(1), 20, 30))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("data final");
+        assertThatThrownBy(() -> facade.searchAvailableSlots(SERVICE, PROFESSIONAL, MONDAY, MONDAY.plusDays(62), 20, 30))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("62 dias");
+        verifyNoInteractions(catalogRepository, availabilityService, appointmentRepository);
+
+        assertThat(facade.searchAvailableSlots(SERVICE, PROFESSIONAL, MONDAY, MONDAY.plusDays(61), 20, 30)).isNotEmpty();
+    }
+
+    @Test
+    void stopsOnceTheLimitIsReached() {
+        List<AppointmentDaySlotsResponse> result =
+                facade.searchAvailableSlots(SERVICE, PROFESSIONAL, MONDAY, MONDAY.plusDays(13), 3, 30);
+
+        assertThat(result).extracting(AppointmentDaySlotsResponse::getDate).containsExactly(MONDAY, MONDAY.plusDays(1));
+        assertThat(starts(result.get(0))).containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 30));
+        assertThat(starts(result.get(1))).containsExactly(LocalTime.of(9, 0));
+        verify(appointmentRepository, times(1)).listDayAppointments(eq(PROFESSIONAL), any(), any(), anyList());
+    }
+
+    @Test
+    void appointmentCursorMarksEachDayOnlyWithItsOwnAppointments() {
+        // ordenados por início, como a consulta devolve; o de quarta cai num dia sem expediente
+        when(appointmentRepository.listDayAppointments(eq(PROFESSIONAL), any(), any(), anyList())).thenReturn(List.of(
+                appointment(MONDAY, 9, 0),
+                appointment(MONDAY.plusDays(1), 9, 30),
+                appointment(MONDAY.plusDays(2), 9, 0)));
+
+        List<AppointmentDaySlotsResponse> result =
+                facade.searchAvailableSlots(SERVICE, PROFESSIONAL, MONDAY, MONDAY.plusDays(7), 20, 30);
+
+        assertThat(result).extracting(AppointmentDaySlotsResponse::getDate)
+                .containsExactly(MONDAY, MONDAY.plusDays(1), MONDAY.plusDays(7));
+        assertThat(starts(result.get(0))).containsExactly(LocalTime.of(9, 30));
+        assertThat(starts(result.get(1))).containsExactly(LocalTime.of(9, 0));
+        assertThat(starts(result.get(2))).containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 30));
+    }
+
+    private static List<LocalTime> starts(AppointmentDaySlotsResponse day) {
+        return day.getSlots().stream().map(AppointmentSlotResponse::getStart).collect(Collectors.toList());
+    }
+
+    private static ScheduleDay day(DayOfWeek dow) {
+        ScheduleDay d = new ScheduleDay();
+        d.setDayOfWeek(dow);
+        d.setActive(true);
+        d.setStartTime(LocalTime.of(9, 0));
+        d.setEndTime(LocalTime.of(10, 0));
+        return d;
+    }
+
+    private static Appointment appointment(LocalDate date, int hour, int minute) {
+        return Appointment.builder()
+                .professionalUserId(PROFESSIONAL)
+                .startAt(date.atTime(hour, minute))
+                .endAt(date.atTime(hour, minute).plusMinutes(30))
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.entity.AppointmentCodeCounter;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentCodeCounterRepository;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AppointmentCodeServiceTest {
+
+    @Test
+    void twoNodesHandOutUniqueCodesUnderConcurrentLoad() throws Exception {
+        String prefix = LocalDate.now().format(DateTimeFormatter.ofPattern("yyMM"));
+
+        // contador "do banco" compartilhado pelos dois nós; o semáforo faz o papel do lock de linha
+        Map<String, Integer> table = new HashMap<>();
+        Semaphore rowLock = new Semaphore(1);
+        AppointmentCodeCounterRepository counters = mock(AppointmentCodeCounterRepository.class);
+        when(counters.lockByPrefix(anyString())).thenAnswer(inv -> {
+            rowLock.acquire();
+            synchronized (table) {
+                Integer v = table.get(inv.<String>getArgument(0));
+                return Optional.ofNullable(v == null ? null : new AppointmentCodeCounter(inv.getArgument(0), v));
+            }
+        });
+        when(counters.saveAndFlush(any())).thenAnswer(inv -> {
+            AppointmentCodeCounter c = inv.getArgument(0);
+            synchronized (table) {
+                table.put(c.getPrefix(), c.getLastValue());
+            }
+            rowLock.release();
+            return c;
+        });
+
+        AppointmentRepository appointments = mock(AppointmentRepository.class);
+        when(appointments.findMaxCodeByPrefix(prefix)).thenReturn(prefix + "0041");
+
+        PlatformTransactionManager tx = mock(PlatformTransactionManager.class);
+        AppointmentCodeService nodeA = new AppointmentCodeService(appointments, counters, tx, 50);
+        AppointmentCodeService nodeB = new AppointmentCodeService(appointments, counters, tx, 50);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            AppointmentCodeService node = t % 2 == 0 ? nodeA : nodeB;
+            futures.add(pool.submit(() -> {
+                List<String> codes = new ArrayList<>();
+                for (int i = 0; i < 200; i++) codes.add(node.generateCode());
+                return codes;
+            }));
+        }
+
+        Set<String> all = new HashSet<>();
+        for (Future<List<String>> f : futures) all.addAll(f.get(30, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        assertThat(all).hasSize(1600);
+        assertThat(all).allMatch(nodeA::isValidFormat);
+        assertThat(all).allMatch(c -> c.startsWith(prefix) && Integer.parseInt(c.substring(4)) > 41);
+    }
+}
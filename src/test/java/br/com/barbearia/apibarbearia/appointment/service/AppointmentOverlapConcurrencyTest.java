@@ -0,0 +1,274 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.entity.Appointment;
+import br.com.barbearia.apibarbearia.appointment.entity.enums.AppointmentStatus;
+import br.com.barbearia.apibarbearia.common.exception.ConflictException;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Criação concorrente pelo {@link AppointmentOverlapGuard} de produção: a constraint é
+ * instalada no start do contexto e só uma das reservas do mesmo horário é gravada; as
+ * demais recebem {@link ConflictException}. Também mede a mesma carga pelo caminho antigo
+ * (findOverlapsForUpdate, sem a constraint) e pelo atual; o resultado sai no log.
+ *
+ * Precisa de um Postgres: BARBEARIA_TEST_DB_URL (e opcionalmente _USER / _PASSWORD).
+ */
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AppointmentOverlapGuard.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "BARBEARIA_TEST_DB_URL", matches = ".+")
+class AppointmentOverlapConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 100;
+    private static final int PROFESSIONALS = 3;
+    private static final long PROFESSIONAL = 9_000_001L;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private static final AtomicInteger CODES = new AtomicInteger();
+
+    @Autowired
+    private AppointmentOverlapGuard guard;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("BARBEARIA_TEST_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("BARBEARIA_TEST_DB_USER", "barbearia"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("BARBEARIA_TEST_DB_PASSWORD", ""));
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+    }
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM appointments WHERE professional_user_id BETWEEN ? AND ?",
+                PROFESSIONAL, PROFESSIONAL + PROFESSIONALS - 1);
+    }
+
+    @Test
+    void concurrentBookingsOfTheSameSlotLeaveOneWinner() throws Exception {
+        assertThat(guard.isEnforcedByDatabase()).isTrue();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            // mesmo profissional, inícios a cada 5 min dentro de 30 min: todos se sobrepõem
+            LocalDateTime s = START.plusMinutes(5L * (t % 6));
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    tx.executeWithoutResult(status -> guard.insert(appointment(s, s.plusMinutes(30))));
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int booked = 0;
+        for (Future<Boolean> f : results) {
+            if (f.get(1, TimeUnit.MINUTES)) booked++;
+        }
+        pool.shutdown();
+
+        assertThat(booked).isEqualTo(1);
+        assertThat(activeRows()).isEqualTo(1);
+    }
+
+    @Test
+    void lockingPathVersusExclusionConstraintUnderContention() throws Exception {
+        // Antes: lock pessimista, como rodava sem a constraint.
+        AppointmentOverlapGuard locking =
+                new AppointmentOverlapGuard(appointmentRepository, jdbcTemplate, entityManagerFactory, false);
+        assertThat(locking.isEnforcedByDatabase()).isFalse();
+        Run before;
+        int beforeOverlaps;
+        jdbcTemplate.execute("ALTER TABLE appointments DROP CONSTRAINT IF EXISTS " + AppointmentOverlapGuard.CONSTRAINT_NAME);
+        try {
+            before = race(locking);
+            beforeOverlaps = overlaps();
+        } finally {
+            cleanUp();
+            guard.installConstraint();
+        }
+
+        // Depois: a mesma carga pelo guard com a constraint.
+        assertThat(guard.isEnforcedByDatabase()).isTrue();
+        Run after = race(guard);
+        int afterOverlaps = overlaps();
+
+        log.info("[OVERLAP] FOR UPDATE: {} tentativas/s, {} criados, {} conflitos, {} erros de lock, {} sobreposições",
+                Math.round(before.throughput()), before.booked, before.conflicts, before.failed, beforeOverlaps);
+        log.info("[OVERLAP] EXCLUDE   : {} tentativas/s, {} criados, {} conflitos, {} erros de lock, {} sobreposições",
+                Math.round(after.throughput()), after.booked, after.conflicts, after.failed, afterOverlaps);
+
+        assertThat(afterOverlaps).isZero();
+        assertThat(after.failed).isZero();
+        assertThat(after.booked).isPositive();
+        assertThat(after.booked + after.conflicts).isEqualTo(after.attempts);
+        assertThat(before.booked + before.conflicts + before.failed).isEqualTo(before.attempts);
+    }
+
+    @Test
+    void adjacentAndCancelledAppointmentsDoNotConflict() {
+        tx.executeWithoutResult(status -> guard.insert(appointment(START, START.plusMinutes(30))));
+        tx.executeWithoutResult(status -> guard.insert(appointment(START.plusMinutes(30), START.plusMinutes(60))));
+
+        assertThatThrownBy(() -> tx.executeWithoutResult(status ->
+                guard.insert(appointment(START.plusMinutes(15), START.plusMinutes(45)))))
+                .isInstanceOf(ConflictException.class);
+
+        jdbcTemplate.update("UPDATE appointments SET status = 'CANCELLED' WHERE professional_user_id = ? AND start_at = ?",
+                PROFESSIONAL, START);
+        tx.executeWithoutResult(status -> guard.insert(appointment(START, START.plusMinutes(30))));
+
+        assertThat(activeRows()).isEqualTo(2);
+    }
+
+    /**
+     * THREADS threads, cada uma com ATTEMPTS_PER_THREAD reservas em transações próprias.
+     * Grade de 15 min com duração de 30 min: tentativas vizinhas se sobrepõem.
+     */
+    private Run race(AppointmentOverlapGuard target) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    long professional = PROFESSIONAL + random.nextInt(PROFESSIONALS);
+                    LocalDateTime s = START.minusHours(1).plusMinutes(15L * random.nextInt(40));
+                    try {
+                        tx.executeWithoutResult(status ->
+                                target.insert(appointment(professional, s, s.plusMinutes(30))));
+                        booked.incrementAndGet();
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    } catch (TransientDataAccessException e) {
+                        // deadlock/timeout de lock: só acontece no caminho antigo
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) f.get(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - t0;
+        pool.shutdown();
+
+        return new Run(THREADS * ATTEMPTS_PER_THREAD, booked.get(), conflicts.get(), failed.get(), elapsed);
+    }
+
+    private int overlaps() {
+        Integer n = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments a JOIN appointments b " +
+                        "ON a.professional_user_id = b.professional_user_id AND a.id < b.id " +
+                        "AND a.start_at < b.end_at AND a.end_at > b.start_at " +
+                        "WHERE a.professional_user_id BETWEEN ? AND ? " +
+                        "AND a.status IN ('PENDING', 'CONFIRMED') AND b.status IN ('PENDING', 'CONFIRMED')",
+                Integer.class, PROFESSIONAL, PROFESSIONAL + PROFESSIONALS - 1);
+        return n == null ? 0 : n;
+    }
+
+    private int activeRows() {
+        Integer n = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments WHERE professional_user_id = ? " +
+                "AND status IN ('PENDING', 'CONFIRMED')", Integer.class, PROFESSIONAL);
+        return n == null ? 0 : n;
+    }
+
+    private static Appointment appointment(LocalDateTime startAt, LocalDateTime endAt) {
+        return appointment(PROFESSIONAL, startAt, endAt);
+    }
+
+    private static Appointment appointment(long professional, LocalDateTime startAt, LocalDateTime endAt) {
+        return Appointment.builder()
+                .code("TST-" + CODES.incrementAndGet() + "-" + System.nanoTime() % 1_000_000L)
+                .clientName("Cliente")
+                .clientEmail("cliente@exemplo.com")
+                .clientPhone("11999999999")
+                .serviceId(1L)
+                .serviceName("Corte")
+                .durationMinutes((int) Duration.between(startAt, endAt).toMinutes())
+                .professionalUserId(professional)
+                .professionalName("Barbeiro")
+                .professionalEmail("barbeiro@exemplo.com")
+                .startAt(startAt)
+                .endAt(endAt)
+                .status(AppointmentStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static final class Run {
+        final int attempts;
+        final int booked;
+        final int conflicts;
+        final int failed;
+        final long elapsedNanos;
+
+        Run(int attempts, int booked, int conflicts, int failed, long elapsedNanos) {
+            this.attempts = attempts;
+            this.booked = booked;
+            this.conflicts = conflicts;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        double throughput() {
+            return attempts / (elapsedNanos / 1e9);
+        }
+    }
+}
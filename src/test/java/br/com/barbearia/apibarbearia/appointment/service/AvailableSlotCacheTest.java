@@ -0,0 +1,59 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.dto.response.AppointmentSlotResponse;
+import br.com.barbearia.apibarbearia.appointment.events.AppointmentChangedEvent;
+import br.com.barbearia.apibarbearia.appointment.events.AppointmentEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailableSlotCacheTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+
+    @Test
+    void appointmentEventEvictsOnlyThatProfessionalAndDay() {
+        AvailableSlotCache cache = new AvailableSlotCache(new SimpleMeterRegistry(), 100, 300);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<AppointmentSlotResponse>> loader = () -> {
+            loads.incrementAndGet();
+            return List.of(AppointmentSlotResponse.builder().date(DAY).start(LocalTime.of(9, 0)).end(LocalTime.of(9, 30)).build());
+        };
+
+        cache.get(1L, DAY, 30, 5, loader);
+        cache.get(1L, DAY.plusDays(1), 30, 5, loader);
+        cache.get(2L, DAY, 30, 5, loader);
+        cache.get(1L, DAY, 30, 5, loader);
+        assertThat(loads).hasValue(3);
+
+        cache.onAppointmentChanged(AppointmentChangedEvent.builder()
+                .type(AppointmentEventType.CREATED)
+                .professionalUserId(1L)
+                .startAt(DAY.atTime(9, 0))
+                .build());
+
+        cache.get(1L, DAY, 30, 5, loader);
+        cache.get(1L, DAY.plusDays(1), 30, 5, loader);
+        cache.get(2L, DAY, 30, 5, loader);
+        assertThat(loads).hasValue(4);
+        assertThat(cache.hitRatio()).isEqualTo(3.0 / 7.0);
+    }
+
+    @Test
+    void keepsAtMostMaxEntries() {
+        AvailableSlotCache cache = new AvailableSlotCache(new SimpleMeterRegistry(), 2, 300);
+
+        for (long p = 1; p <= 5; p++) {
+            cache.get(p, DAY, 30, 5, List::of);
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.entity.AppointmentCancelToken;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentCancelTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CancelLinkServiceTest {
+
+    private static final String SECRET = "segredo-de-teste-com-pelo-menos-32-bytes!!";
+
+    private final AppointmentCancelTokenRepository legacy = mock(AppointmentCancelTokenRepository.class);
+    private final CancelLinkService links = new CancelLinkService(legacy, new SimpleMeterRegistry(), SECRET, 100);
+
+    @Test
+    void signedLinkRoundTripsWithoutTouchingTheTable() {
+        LocalDateTime expires = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS);
+        String token = links.issue(42L, expires);
+
+        CancelLinkService.CancelLink link = links.resolve(token).orElseThrow();
+
+        assertThat(token.length()).isLessThan(60);
+        assertThat(link.getAppointmentId()).isEqualTo(42L);
+        assertThat(link.getExpiresAt()).isEqualTo(expires);
+        assertThat(link.isUsed()).isFalse();
+        assertThat(link.isExpired()).isFalse();
+        verifyNoInteractions(legacy);
+    }
+
+    @Test
+    void tamperedOrForeignLinksAreRejected() {
+        String token = links.issue(42L, LocalDateTime.now().plusDays(1));
+        char[] chars = token.toCharArray();
+        chars[3] = chars[3] == 'A' ? 'B' : 'A';
+
+        CancelLinkService other = new CancelLinkService(legacy, new SimpleMeterRegistry(), SECRET + "x", 100);
+
+        assertThat(links.resolve(new String(chars))).isEmpty();
+        assertThat(other.resolve(token)).isEmpty();
+        assertThat(links.resolve("lixo.lixo")).isEmpty();
+    }
+
+    @Test
+    void consumedLinkIsFlaggedAsUsed() {
+        String token = links.issue(42L, LocalDateTime.now().plusDays(1));
+
+        links.consume(links.resolve(token).orElseThrow());
+
+        assertThat(links.resolve(token).orElseThrow().isUsed()).isTrue();
+        assertThat(links.resolve(links.issue(42L, LocalDateTime.now().plusDays(1))).orElseThrow().isUsed()).isFalse();
+    }
+
+    @Test
+    void legacyTokensStillResolveFromTheTable() {
+        AppointmentCancelToken row = AppointmentCancelToken.builder()
+                .appointmentId(7L).token("a-b").expiresAt(LocalDateTime.now().plusHours(1)).build();
+        when(legacy.findByToken(anyString())).thenReturn(Optional.empty());
+        when(legacy.findByToken("a-b")).thenReturn(Optional.of(row));
+
+        CancelLinkService.CancelLink link = links.resolve("a-b").orElseThrow();
+        links.consume(link);
+
+        assertThat(link.getAppointmentId()).isEqualTo(7L);
+        assertThat(row.isUsed()).isTrue();
+        verify(legacy).save(row);
+        assertThat(links.resolve("c-d")).isEmpty();
+    }
+}
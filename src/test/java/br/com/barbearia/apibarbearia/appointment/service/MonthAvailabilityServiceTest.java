@@ -0,0 +1,133 @@
+package br.com.barbearia.apibarbearia.appointment.service;
+
+import br.com.barbearia.apibarbearia.appointment.dto.response.DayAvailabilityResponse;
+import br.com.barbearia.apibarbearia.appointment.entity.Appointment;
+import br.com.barbearia.apibarbearia.appointment.events.AppointmentChangedEvent;
+import br.com.barbearia.apibarbearia.appointment.events.AppointmentEventType;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentRepository;
+import br.com.barbearia.apibarbearia.availability.engine.CompiledSchedule;
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleDay;
+import br.com.barbearia.apibarbearia.availability.service.AvailabilityService;
+import br.com.barbearia.apibarbearia.catalog.entity.CatalogItem;
+import br.com.barbearia.apibarbearia.users.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MonthAvailabilityServiceTest {
+
+    private static final Long SERVICE = 10L;
+    private static final Long PROFESSIONAL = 1L;
+    /** Mês que vem: nenhum dia no passado; expediente 09:00-10:00 todos os dias. */
+    private static final YearMonth MONTH = YearMonth.now().plusMonths(1);
+    private static final LocalDate DAY = MONTH.atDay(10);
+
+    private AppointmentRepository appointmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.listDayAppointments(eq(PROFESSIONAL), any(), any(), anyList())).thenReturn(List.of());
+    }
+
+    @Test
+    void createdMarksTheBookedMinutesAndCancelOrNoShowReleasesThem() {
+        MonthAvailabilityService service = service(300);
+        assertThat(freeMinutes(service, DAY)).isEqualTo(60);
+
+        service.onAppointmentChanged(event(AppointmentEventType.CREATED, DAY.atTime(9, 0), 30));
+        assertThat(freeMinutes(service, DAY)).isEqualTo(30);
+        assertThat(freeMinutes(service, DAY.plusDays(1))).isEqualTo(60);
+
+        service.onAppointmentChanged(event(AppointmentEventType.CREATED, DAY.atTime(9, 30), 30));
+        List<DayAvailabilityResponse> full = service.getMonth(SERVICE, PROFESSIONAL, MONTH.toString());
+        assertThat(full.get(DAY.getDayOfMonth() - 1).getFreeMinutes()).isZero();
+        assertThat(full.get(DAY.getDayOfMonth() - 1).isAvailable()).isFalse();
+
+        service.onAppointmentChanged(event(AppointmentEventType.CANCELED, DAY.atTime(9, 0), 30));
+        assertThat(freeMinutes(service, DAY)).isEqualTo(30);
+
+        service.onAppointmentChanged(event(AppointmentEventType.NO_SHOW, DAY.atTime(9, 30), 30));
+        assertThat(freeMinutes(service, DAY)).isEqualTo(60);
+
+        // tudo acima saiu do mesmo estado montado uma vez
+        verify(appointmentRepository, times(1)).listDayAppointments(eq(PROFESSIONAL), any(), any(), anyList());
+    }
+
+    @Test
+    void confirmedDoesNotChangeTheMap() {
+        MonthAvailabilityService service = service(300);
+        freeMinutes(service, DAY);
+
+        service.onAppointmentChanged(event(AppointmentEventType.CONFIRMED, DAY.atTime(9, 0), 30));
+
+        assertThat(freeMinutes(service, DAY)).isEqualTo(60);
+    }
+
+    @Test
+    void expiredMonthIsRebuiltFromTheDatabase() throws InterruptedException {
+        MonthAvailabilityService service = service(1);
+        assertThat(freeMinutes(service, DAY)).isEqualTo(60);
+
+        // agendamento gravado por outra instância: nenhum evento chega aqui
+        List<Appointment> booked = new ArrayList<>();
+        booked.add(Appointment.builder().professionalUserId(PROFESSIONAL)
+                .startAt(DAY.atTime(9, 0)).endAt(DAY.atTime(9, 45)).build());
+        when(appointmentRepository.listDayAppointments(eq(PROFESSIONAL), any(), any(), anyList())).thenReturn(booked);
+        assertThat(freeMinutes(service, DAY)).isEqualTo(60);
+
+        Thread.sleep(1_100);
+
+        assertThat(freeMinutes(service, DAY)).isEqualTo(15);
+        verify(appointmentRepository, times(2)).listDayAppointments(eq(PROFESSIONAL), any(), any(), anyList());
+    }
+
+    private MonthAvailabilityService service(long ttlSeconds) {
+        User professional = User.builder().id(PROFESSIONAL).name("Barbeiro").active(true).build();
+        CatalogItem item = new CatalogItem("Corte", "", 30, new BigDecimal("50.00"), 99L);
+
+        AppointmentAvailabilityFacade facade = mock(AppointmentAvailabilityFacade.class);
+        when(facade.getServiceOrFail(SERVICE)).thenReturn(item);
+        when(facade.getProfessionalOrFail(PROFESSIONAL)).thenReturn(professional);
+
+        List<ScheduleDay> week = new ArrayList<>();
+        for (DayOfWeek dow : DayOfWeek.values()) {
+            ScheduleDay d = new ScheduleDay();
+            d.setDayOfWeek(dow);
+            d.setActive(true);
+            d.setStartTime(LocalTime.of(9, 0));
+            d.setEndTime(LocalTime.of(10, 0));
+            week.add(d);
+        }
+        AvailabilityService availabilityService = mock(AvailabilityService.class);
+        when(availabilityService.getCompiledSchedule(PROFESSIONAL)).thenReturn(CompiledSchedule.of(week));
+        when(availabilityService.findBlocksInRange(eq(PROFESSIONAL), any(), any())).thenReturn(List.of());
+
+        return new MonthAvailabilityService(facade, availabilityService, appointmentRepository, 10, ttlSeconds);
+    }
+
+    private static int freeMinutes(MonthAvailabilityService service, LocalDate date) {
+        return service.getMonth(SERVICE, PROFESSIONAL, MONTH.toString()).get(date.getDayOfMonth() - 1).getFreeMinutes();
+    }
+
+    private static AppointmentChangedEvent event(AppointmentEventType type, LocalDateTime startAt, int minutes) {
+        return AppointmentChangedEvent.builder()
+                .type(type)
+                .professionalUserId(PROFESSIONAL)
+                .startAt(startAt)
+                .endAt(startAt.plusMinutes(minutes))
+                .build();
+    }
+}
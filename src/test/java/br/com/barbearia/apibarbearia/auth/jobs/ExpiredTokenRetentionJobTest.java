@@ -0,0 +1,86 @@
+package br.com.barbearia.apibarbearia.auth.jobs;
+
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentCancelTokenRepository;
+import br.com.barbearia.apibarbearia.appointment.repository.AppointmentOutboxRepository;
+import br.com.barbearia.apibarbearia.auth.repository.RevokedTokenRepository;
+import br.com.barbearia.apibarbearia.auth.repository.TokenBlacklistRepository;
+import br.com.barbearia.apibarbearia.users.repository.UserInviteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ExpiredTokenRetentionJobTest {
+
+    private TokenBlacklistRepository blacklist;
+    private RevokedTokenRepository revoked;
+    private AppointmentCancelTokenRepository cancelTokens;
+    private UserInviteRepository invites;
+    private AppointmentOutboxRepository outbox;
+    private PlatformTransactionManager txManager;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        blacklist = mock(TokenBlacklistRepository.class);
+        revoked = mock(RevokedTokenRepository.class);
+        cancelTokens = mock(AppointmentCancelTokenRepository.class);
+        invites = mock(UserInviteRepository.class);
+        outbox = mock(AppointmentOutboxRepository.class);
+        txManager = mock(PlatformTransactionManager.class);
+        registry = new SimpleMeterRegistry();
+
+        when(revoked.findExpiredIds(any(), any())).thenReturn(Collections.emptyList());
+        when(cancelTokens.findExpiredIds(any(), any())).thenReturn(Collections.emptyList());
+        when(invites.findExpiredIds(any(), any())).thenReturn(Collections.emptyList());
+        when(outbox.findExpiredIds(any(), any())).thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    void deletesInBatchesUntilAShortBatchOneTransactionEach() {
+        when(blacklist.findExpiredIds(any(), any()))
+                .thenReturn(Arrays.asList(1L, 2L))
+                .thenReturn(Arrays.asList(3L, 4L))
+                .thenReturn(Collections.singletonList(5L));
+        when(blacklist.deleteByIds(anyCollection())).thenAnswer(inv -> ((Collection<?>) inv.getArgument(0)).size());
+
+        Map<String, Integer> purged = job(2, 100).purgeAll(Instant.now());
+
+        assertThat(purged).containsEntry("token_blacklist", 5).containsEntry("user_invites", 0);
+        verify(blacklist, times(3)).deleteByIds(anyCollection());
+        verify(txManager, times(7)).commit(any()); // 3 lotes + 1 consulta vazia em cada outra tabela
+        assertThat(registry.get("retention.purged").tag("table", "token_blacklist").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    void maxBatchesBoundsOneRunAndGraceAppliesToInvites() {
+        when(blacklist.findExpiredIds(any(), any())).thenReturn(Arrays.asList(1L, 2L));
+        when(blacklist.deleteByIds(anyCollection())).thenReturn(2);
+        Instant now = Instant.parse("2030-01-07T12:00:00Z");
+
+        Map<String, Integer> purged = job(2, 3).purgeAll(now);
+
+        assertThat(purged).containsEntry("token_blacklist", 6);
+        verify(blacklist, times(3)).findExpiredIds(eq(now), any());
+        verify(invites).findExpiredIds(eq(now.minus(24, ChronoUnit.HOURS)), any());
+        verify(invites, never()).deleteByIds(anyCollection());
+    }
+
+    private ExpiredTokenRetentionJob job(int batchSize, int maxBatches) {
+        return new ExpiredTokenRetentionJob(blacklist, revoked, cancelTokens, invites, outbox, txManager, registry,
+                batchSize, maxBatches, 24);
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import br.com.barbearia.apibarbearia.auth.repository.TokenBlacklistRepository;
+import br.com.barbearia.apibarbearia.users.entity.Role.Role;
+import br.com.barbearia.apibarbearia.users.entity.User;
+import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import javax.servlet.FilterChain;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cadeia de autenticação montada sem Spring e sem banco: JwtService + VerifiedTokenCache,
+ * RevocationIndex, TokenEpochRegistry e um UserDetailsService em memória que conta as
+ * "idas ao banco". Usada pelo teste de paridade e pelo AuthFilterBenchmark (src/jmh).
+ */
+final class AuthFilterFixtures {
+
+    static final String SECRET = "bench-secret-bench-secret-bench-secret-bench";
+    static final String REACHED = "auth.bench.reached";
+
+    /** Tipos de token e o que o filtro tem que responder para cada um. */
+    enum TokenKind {
+        VALID(200, null),
+        EXPIRED(401, "Token expirado ou inválido."),
+        MALFORMED(401, "Token inválido ou malformado."),
+        TAMPERED(401, "Token inválido ou malformado."),
+        REVOKED(401, "Token revogado."),
+        KICKED(401, "Token expirado ou inválido."),
+        DELETED_USER(401, "Token expirado ou inválido.");
+
+        final int status;
+        final String message;
+
+        TokenKind(int status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+    }
+
+    private static final long ACTIVE_ID = 1L;
+    private static final long KICKED_ID = 2L;
+    private static final long DELETED_ID = 3L;
+
+    final JwtAuthenticationFilter filter;
+    final AtomicLong userLoads = new AtomicLong();
+    private final Map<TokenKind, String> tokens = new EnumMap<>(TokenKind.class);
+    private final FilterChain chain = (rq, rs) -> rq.setAttribute(REACHED, Boolean.TRUE);
+
+    private AuthFilterFixtures(boolean statelessPrincipal) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtService jwt = new JwtService(SECRET, 15, 60, new VerifiedTokenCache(registry, 10_000));
+        JwtService alreadyExpired = new JwtService(SECRET, -1, -1, new VerifiedTokenCache(registry, 10));
+
+        UserRepository users = mock(UserRepository.class);
+        when(users.findTokenState(anyLong())).thenReturn(Optional.empty());
+        when(users.findTokenState(ACTIVE_ID)).thenReturn(Optional.of(state(ACTIVE_ID, null)));
+        // kick depois da emissão: tokens anteriores deixam de valer
+        when(users.findTokenState(KICKED_ID)).thenReturn(Optional.of(state(KICKED_ID, Instant.now().plusSeconds(3600))));
+        TokenEpochRegistry epochs = new TokenEpochRegistry(users, registry);
+
+        RevocationIndex revocations = new RevocationIndex(mock(TokenBlacklistRepository.class), registry, 100_000);
+
+        UserDetailsService details = username -> {
+            userLoads.incrementAndGet();
+            if (!String.valueOf(ACTIVE_ID).equals(username) && !String.valueOf(KICKED_ID).equals(username)) {
+                throw new UsernameNotFoundException("Usuário não encontrado com ID: " + username);
+            }
+            return org.springframework.security.core.userdetails.User.builder()
+                    .username(username)
+                    .password("{noop}x")
+                    .roles(Role.STAFF.name())
+                    .build();
+        };
+
+        this.filter = new JwtAuthenticationFilter(jwt, details, epochs, revocations, statelessPrincipal);
+
+        String valid = jwt.generateAccessToken(user(ACTIVE_ID));
+        String revoked = jwt.generateAccessToken(user(ACTIVE_ID));
+        Claims revokedClaims = jwt.parseClaims(revoked);
+        revocations.add(revokedClaims.getId(), revokedClaims.getExpiration().toInstant());
+
+        tokens.put(TokenKind.VALID, valid);
+        tokens.put(TokenKind.EXPIRED, alreadyExpired.generateAccessToken(user(ACTIVE_ID)));
+        tokens.put(TokenKind.MALFORMED, "nao.e.um-jwt");
+        tokens.put(TokenKind.TAMPERED, valid.substring(0, valid.length() - 4) + (valid.endsWith("AAAA") ? "BBBB" : "AAAA"));
+        tokens.put(TokenKind.REVOKED, revoked);
+        tokens.put(TokenKind.KICKED, jwt.generateAccessToken(user(KICKED_ID)));
+        tokens.put(TokenKind.DELETED_USER, jwt.generateAccessToken(user(DELETED_ID)));
+    }
+
+    static AuthFilterFixtures create(boolean statelessPrincipal) {
+        return new AuthFilterFixtures(statelessPrincipal);
+    }
+
+    String token(TokenKind kind) {
+        return tokens.get(kind);
+    }
+
+    /**
+     * Uma requisição autenticada pelo filtro. Reaproveita request/response da thread
+     * (sem alocação do próprio harness). Devolve 200 se chegou ao "controller", senão o status.
+     */
+    int run(String token, MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        request.clearAttributes();
+        request.addHeader("Authorization", "Bearer " + token);
+        response.reset();
+        try {
+            filter.doFilter(request, response, chain);
+            return request.getAttribute(REACHED) != null ? 200 : response.getStatus();
+        } finally {
+            request.removeHeader("Authorization");
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("Profissional " + id)
+                .email("p" + id + "@barbearia.com")
+                .role(Role.STAFF)
+                .active(true)
+                .build();
+    }
+
+    private static UserRepository.TokenState state(long id, Instant invalidatedAt) {
+        return new UserRepository.TokenState() {
+            @Override public Long getId() { return id; }
+            @Override public Instant getTokenInvalidationTimestamp() { return invalidatedAt; }
+            @Override public boolean isActive() { return true; }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import br.com.barbearia.apibarbearia.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void encodesAndMatchesLikeBCrypt() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new SimpleMeterRegistry(), 4, 2, 4, 5000);
+        try {
+            String hash = encoder.encode("segredo123");
+            assertThat(hash).startsWith("$2a$04$");
+            assertThat(encoder.matches("segredo123", hash)).isTrue();
+            assertThat(encoder.matches("outra", hash)).isFalse();
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void fullQueueFailsFastWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(registry, blockingEncoder(started, release), 1, 1, 30_000);
+        try {
+            CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("x", "hash"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("x", "hash"));
+            awaitQueueDepth(registry, 1);
+
+            // 1 thread ocupada + fila de 1 cheia; sem hash medido ainda, 100 ms por hash -> 1 s
+            assertThatThrownBy(() -> encoder.matches("x", "hash"))
+                    .isInstanceOfSatisfying(TooManyRequestsException.class,
+                            e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+            assertThat(registry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void lowerCostHashesAreFlaggedForRehash() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new SimpleMeterRegistry(), 6, 1, 4, 5000);
+        try {
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("x"))).isTrue();
+            assertThat(encoder.upgradeEncoding(encoder.encode("x"))).isFalse();
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    /** Encoder que segura a thread do pool até o teste liberar. */
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    return release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        };
+    }
+
+    private static void awaitQueueDepth(SimpleMeterRegistry registry, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("auth.password.queue.depth").gauge().value() < depth) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
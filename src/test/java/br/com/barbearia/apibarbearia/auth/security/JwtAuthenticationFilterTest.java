@@ -0,0 +1,48 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import br.com.barbearia.apibarbearia.auth.security.AuthFilterFixtures.TokenKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paridade de aceitação: otimizações no caminho de autenticação não podem mudar quais
+ * tokens passam nem a mensagem de quem é barrado, nos dois modos de principal.
+ */
+class JwtAuthenticationFilterTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void everyTokenKindGetsTheExpectedOutcome(boolean statelessPrincipal) throws Exception {
+        AuthFilterFixtures fixtures = AuthFilterFixtures.create(statelessPrincipal);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/me");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        for (TokenKind kind : TokenKind.values()) {
+            // duas vezes: a segunda passa pelos caches (token verificado, época, índice)
+            for (int round = 0; round < 2; round++) {
+                int status = fixtures.run(fixtures.token(kind), request, response);
+
+                assertThat(status).as("%s (rodada %d)", kind, round).isEqualTo(kind.status);
+                if (kind.message != null) {
+                    assertThat(response.getContentAsString()).as("%s", kind).contains(kind.message);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void statelessModeSkipsTheUserLookup(boolean statelessPrincipal) throws Exception {
+        AuthFilterFixtures fixtures = AuthFilterFixtures.create(statelessPrincipal);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/me");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        for (int i = 0; i < 10; i++) fixtures.run(fixtures.token(TokenKind.VALID), request, response);
+
+        assertThat(fixtures.userLoads.get()).isEqualTo(statelessPrincipal ? 0 : 10);
+    }
+}
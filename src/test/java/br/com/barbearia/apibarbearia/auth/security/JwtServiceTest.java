@@ -0,0 +1,66 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-42";
+
+    @Test
+    void verifiedTokenIsServedFromCacheUntilEvicted() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new SimpleMeterRegistry(), 100);
+        JwtService jwt = new JwtService(SECRET, 60, 120, cache);
+
+        String token = jwt.generateAccessToken("7", Collections.singletonMap("role", "ADMIN"));
+
+        Claims first = jwt.parseClaims(token);
+        Claims second = jwt.parseClaims(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwt.getSubject(token)).isEqualTo("7");
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.hitRatio()).isEqualTo(2.0 / 3);
+
+        jwt.forgetVerified(token);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void rejectedTokensAreNeverCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new SimpleMeterRegistry(), 100);
+        JwtService jwt = new JwtService(SECRET, 60, 120, cache);
+        JwtService expiredIssuer = new JwtService(SECRET, -1, -1, cache);
+
+        String token = jwt.generateAccessToken("7", null);
+        jwt.parseClaims(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThatThrownBy(() -> jwt.parseClaims(tampered)).isInstanceOf(JwtException.class);
+
+        String expired = expiredIssuer.generateAccessToken("7", null);
+        assertThatThrownBy(() -> jwt.parseClaims(expired)).isInstanceOf(ExpiredJwtException.class);
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheStaysBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new SimpleMeterRegistry(), 10);
+        JwtService jwt = new JwtService(SECRET, 60, 120, cache);
+
+        for (int i = 0; i < 50; i++) {
+            jwt.parseClaims(jwt.generateAccessToken(String.valueOf(i), null));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import br.com.barbearia.apibarbearia.common.exception.UnauthorizedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+    private static final long WINDOW = 300_000;
+
+    @Test
+    void slidingWindowForgetsOldFailures() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1024, WINDOW, 10);
+        long t0 = 1_000_000_000L;
+
+        for (int i = 0; i < 5; i++) counter.increment("k", t0);
+        assertThat(counter.count("k", t0 + WINDOW / 2)).isEqualTo(5);
+
+        counter.increment("k", t0 + WINDOW / 2);
+        assertThat(counter.count("k", t0 + WINDOW + 1)).isEqualTo(1);
+        assertThat(counter.count("k", t0 + 2 * WINDOW)).isZero();
+    }
+
+    @Test
+    void memoryIsFixedAndActiveKeysSurviveAFlood() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1024, WINDOW, 10);
+        long now = 1_000_000_000L;
+
+        counter.increment("hot", now);
+        for (int i = 0; i < 200_000; i++) {
+            counter.increment("stuffing-" + i, now - WINDOW); // chaves já ociosas
+            if (i % 1000 == 0) counter.increment("hot", now);
+        }
+
+        assertThat(counter.capacity()).isEqualTo(1024);
+        assertThat(counter.evictedIdle() + counter.overflowed()).isGreaterThan(190_000);
+        assertThat(counter.count("hot", now)).isEqualTo(201);
+    }
+
+    @Test
+    void floodOfActiveKeysNeverEvictsTheTargetAndFailsClosed() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(64, WINDOW, 10);
+        long now = 1_000_000_000L;
+
+        for (int i = 0; i < 9; i++) counter.increment("ana@barbearia.com", now);
+        for (int i = 0; i < 100_000; i++) {
+            counter.increment("flood-" + i + "@x.com", now + i % 1000); // todas ativas na janela
+        }
+
+        assertThat(counter.count("ana@barbearia.com", now + 1000)).isEqualTo(9);
+        assertThat(counter.evictedIdle()).isZero();
+        assertThat(counter.overflowed()).isGreaterThan(99_000);
+        // chave nova sem slot herda o transbordo do conjunto: já nasce limitada
+        assertThat(counter.count("nova@x.com", now + 1000)).isGreaterThan(1000);
+
+        // passada a janela, os slots voltam a ser reaproveitados
+        long later = now + 2 * WINDOW;
+        assertThat(counter.increment("nova@x.com", later)).isEqualTo(1);
+        assertThat(counter.evictedIdle()).isPositive();
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1024, WINDOW, 10);
+        long now = 1_000_000_000L;
+        int threads = 8;
+        int perThread = 10_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) counter.increment("shared", now);
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(counter.count("shared", now)).isEqualTo(threads * perThread);
+    }
+
+    @Test
+    void accountLimitAppliesAcrossIpsAndSuccessResetsIt() {
+        LoginRateLimiter limiter = new LoginRateLimiter(new SimpleMeterRegistry(), 300, 50, 10, 1024);
+
+        for (int i = 0; i < 10; i++) limiter.onFail("10.0.0." + i, "ana@barbearia.com");
+
+        assertThatThrownBy(() -> limiter.check("10.0.0.99", "ana@barbearia.com"))
+                .isInstanceOf(UnauthorizedException.class);
+        limiter.check("10.0.0.99", "bia@barbearia.com");
+
+        limiter.onSuccess("10.0.0.1", "ana@barbearia.com");
+        limiter.check("10.0.0.99", "ana@barbearia.com");
+    }
+
+    @Test
+    void ipLimitBlocksCredentialStuffingFromOneAddress() {
+        LoginRateLimiter limiter = new LoginRateLimiter(new SimpleMeterRegistry(), 300, 50, 10, 1024);
+
+        for (int i = 0; i < 50; i++) limiter.onFail("203.0.113.7", "user" + i + "@x.com");
+
+        assertThatThrownBy(() -> limiter.check("203.0.113.7", "new@x.com"))
+                .isInstanceOf(UnauthorizedException.class);
+        limiter.check("203.0.113.8", "new@x.com");
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import br.com.barbearia.apibarbearia.auth.repository.TokenBlacklistRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RevocationIndexTest {
+
+    @Test
+    void revokedJtisAreFoundAndOthersMostlyStopAtTheBloomFilter() {
+        TokenBlacklistRepository repo = mock(TokenBlacklistRepository.class);
+        RevocationIndex index = new RevocationIndex(repo, new SimpleMeterRegistry(), 10_000);
+        Instant exp = Instant.now().plusSeconds(3600);
+
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            revoked.add(jti);
+            index.add(jti, exp);
+        }
+
+        assertThat(revoked).allMatch(index::isRevoked);
+
+        int bloomHits = 0;
+        RevocationIndex.Bloom bloom = new RevocationIndex.Bloom(10_000);
+        revoked.forEach(bloom::put);
+        for (int i = 0; i < 100_000; i++) {
+            String other = UUID.randomUUID().toString();
+            assertThat(index.isRevoked(other)).isFalse();
+            if (bloom.mightContain(other)) bloomHits++;
+        }
+        // dimensionado para ~1% de falso positivo
+        assertThat(bloomHits).isLessThan(2_000);
+    }
+
+    @Test
+    void pruneDropsExpiredJtisAndKeepsLiveOnes() {
+        TokenBlacklistRepository repo = mock(TokenBlacklistRepository.class);
+        RevocationIndex index = new RevocationIndex(repo, new SimpleMeterRegistry(), 1024);
+
+        index.add("expired", Instant.now().minusSeconds(1));
+        index.add("live", Instant.now().plusSeconds(3600));
+
+        index.prune();
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.isRevoked("live")).isTrue();
+        assertThat(index.isRevoked("expired")).isFalse();
+    }
+
+    @Test
+    void syncLoadsRevocationsWrittenElsewhere() {
+        TokenBlacklistRepository repo = mock(TokenBlacklistRepository.class);
+        Instant exp = Instant.now().plusSeconds(600);
+        when(repo.findRevokedSince(any(), any())).thenReturn(Collections.singletonList(new TokenBlacklistRepository.RevokedJti() {
+            @Override public String getJti() { return "from-other-node"; }
+            @Override public Instant getExpiresAt() { return exp; }
+        }));
+        RevocationIndex index = new RevocationIndex(repo, new SimpleMeterRegistry(), 1024);
+
+        assertThat(index.isRevoked("from-other-node")).isFalse();
+        index.sync();
+        assertThat(index.isRevoked("from-other-node")).isTrue();
+    }
+}
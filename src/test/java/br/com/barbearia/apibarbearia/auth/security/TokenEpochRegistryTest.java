@@ -0,0 +1,86 @@
+package br.com.barbearia.apibarbearia.auth.security;
+
+import br.com.barbearia.apibarbearia.users.events.UserTokensInvalidatedEvent;
+import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TokenEpochRegistryTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-07T12:00:00.500Z");
+
+    @Test
+    void unknownUserIsLoadedOnceThenServedFromMemory() {
+        UserRepository repo = mock(UserRepository.class);
+        when(repo.findTokenState(1L)).thenReturn(Optional.of(state(1L, null, true)));
+        TokenEpochRegistry registry = new TokenEpochRegistry(repo, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(registry.accepts(1L, Date.from(T0))).isTrue();
+        }
+        verify(repo, times(1)).findTokenState(1L);
+    }
+
+    @Test
+    void kickRejectsOlderTokensButKeepsTokensIssuedRightAfter() {
+        UserRepository repo = mock(UserRepository.class);
+        when(repo.findTokenState(1L)).thenReturn(Optional.of(state(1L, null, true)));
+        TokenEpochRegistry registry = new TokenEpochRegistry(repo, new SimpleMeterRegistry());
+        registry.accepts(1L, Date.from(T0));
+
+        registry.onTokensInvalidated(new UserTokensInvalidatedEvent(1L, T0, true));
+
+        assertThat(registry.accepts(1L, Date.from(T0.minusSeconds(60)))).isFalse();
+        // iat tem resolução de segundos: token emitido na própria troca de senha
+        assertThat(registry.accepts(1L, Date.from(T0.plusMillis(100).truncatedTo(ChronoUnit.SECONDS)))).isTrue();
+        assertThat(registry.accepts(1L, Date.from(T0.plusSeconds(5)))).isTrue();
+        assertThat(registry.accepts(1L, null)).isFalse();
+    }
+
+    @Test
+    void deletedOrMissingUsersAreRevoked() {
+        UserRepository repo = mock(UserRepository.class);
+        when(repo.findTokenState(anyLong())).thenReturn(Optional.empty());
+        TokenEpochRegistry registry = new TokenEpochRegistry(repo, new SimpleMeterRegistry());
+
+        assertThat(registry.accepts(9L, Date.from(T0))).isFalse();
+
+        registry.onTokensInvalidated(new UserTokensInvalidatedEvent(2L, T0, false));
+        assertThat(registry.accepts(2L, Date.from(T0.plusSeconds(60)))).isFalse();
+    }
+
+    @Test
+    void syncReplacesSnapshotAndDropsRemovedUsers() {
+        UserRepository repo = mock(UserRepository.class);
+        when(repo.findTokenState(anyLong())).thenReturn(Optional.empty());
+        when(repo.findAllTokenStates()).thenReturn(Arrays.asList(
+                state(1L, T0, true),
+                state(2L, null, false)
+        ));
+        TokenEpochRegistry registry = new TokenEpochRegistry(repo, new SimpleMeterRegistry());
+
+        registry.sync();
+
+        assertThat(registry.accepts(1L, Date.from(T0.minusSeconds(1)))).isFalse();
+        assertThat(registry.accepts(1L, Date.from(T0.plusSeconds(1)))).isTrue();
+        assertThat(registry.accepts(2L, Date.from(T0))).isFalse();
+        verify(repo, never()).findTokenState(anyLong());
+    }
+
+    private static UserRepository.TokenState state(Long id, Instant invalidatedAt, boolean active) {
+        return new UserRepository.TokenState() {
+            @Override public Long getId() { return id; }
+            @Override public Instant getTokenInvalidationTimestamp() { return invalidatedAt; }
+            @Override public boolean isActive() { return active; }
+        };
+    }
+}
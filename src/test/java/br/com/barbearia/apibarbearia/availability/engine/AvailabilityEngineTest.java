@@ -0,0 +1,221 @@
+package br.com.barbearia.apibarbearia.availability.engine;
+
+import br.com.barbearia.apibarbearia.availability.dto.ScheduleDTOs;
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleBlock;
+import br.com.barbearia.apibarbearia.availability.entity.ScheduleDay;
+import br.com.barbearia.apibarbearia.availability.entity.TimeInterval;
+import br.com.barbearia.apibarbearia.availability.entity.enums.BlockType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityEngineTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 7);
+
+    @Test
+    void gridStartsAtEachFreeStretchAndSkipsBreaks() {
+        ScheduleDTOs.DayConfig day = day("08:00", "10:00", "09:00", "09:10");
+
+        DayBitmap working = AvailabilityEngine.workingMinutes(day, DATE, Collections.emptyList());
+        int[] out = new int[DayBitmap.MINUTES_PER_DAY];
+        int count = AvailabilityEngine.findStarts(working, null, 30, 20, 0, out);
+
+        // 08:00, 08:20 | 09:10, 09:30 (a grade recomeça depois da pausa)
+        assertThat(Arrays.copyOf(out, count)).containsExactly(480, 500, 550, 570);
+    }
+
+    @Test
+    void busyAppointmentsRemoveOverlappingStarts() {
+        ScheduleDTOs.DayConfig day = day("08:00", "10:00");
+        DayBitmap working = AvailabilityEngine.workingMinutes(day, DATE, Collections.emptyList());
+
+        DayBitmap busy = new DayBitmap();
+        AvailabilityEngine.markBusy(busy, LocalTime.of(8, 30), LocalTime.of(9, 0));
+
+        int[] out = new int[DayBitmap.MINUTES_PER_DAY];
+        int count = AvailabilityEngine.findStarts(working, busy, 30, 30, 0, out);
+
+        assertThat(Arrays.copyOf(out, count)).containsExactly(480, 540, 570);
+    }
+
+    @Test
+    void fullDayBlockEmptiesTheDayAndPartialBlockCutsIt() {
+        ScheduleDTOs.DayConfig day = day("08:00", "18:00");
+
+        ScheduleBlock full = ScheduleBlock.createFullDayBlock(null, DATE.minusDays(1), DATE.plusDays(1), "férias", BlockType.BLOCKED);
+        assertThat(AvailabilityEngine.workingMinutes(day, DATE, List.of(full)).isEmpty()).isTrue();
+
+        ScheduleBlock partial = ScheduleBlock.createPartialBlock(null, DATE, LocalTime.of(12, 0), LocalTime.of(14, 0), "médico", BlockType.BLOCKED);
+        DayBitmap working = AvailabilityEngine.workingMinutes(day, DATE, List.of(partial));
+
+        assertThat(AvailabilityEngine.fits(working, LocalTime.of(11, 0), LocalTime.of(12, 0))).isTrue();
+        assertThat(AvailabilityEngine.fits(working, LocalTime.of(11, 30), LocalTime.of(12, 30))).isFalse();
+        assertThat(working.cardinality()).isEqualTo(8 * 60);
+    }
+
+    @Test
+    void compiledScheduleMatchesDayConfig() {
+        ScheduleDay saturday = new ScheduleDay();
+        saturday.setDayOfWeek(DayOfWeek.SATURDAY);
+        saturday.setActive(true);
+        saturday.setStartTime(LocalTime.of(8, 0));
+        saturday.setEndTime(LocalTime.of(18, 0));
+        saturday.setBreaks(new ArrayList<>(List.of(new TimeInterval(LocalTime.of(12, 0), LocalTime.of(13, 0)))));
+
+        CompiledSchedule compiled = CompiledSchedule.of(List.of(saturday));
+        ScheduleBlock partial = ScheduleBlock.createPartialBlock(null, DATE, LocalTime.of(15, 0), LocalTime.of(16, 0), "médico", BlockType.BLOCKED);
+
+        DayBitmap expected = AvailabilityEngine.workingMinutes(day("08:00", "18:00", "12:00", "13:00"), DATE, List.of(partial));
+        DayBitmap actual = compiled.workingMinutes(DATE, List.of(partial));
+
+        assertThat(actual.cardinality()).isEqualTo(expected.cardinality());
+        assertThat(actual.copy().andNot(expected).isEmpty()).isTrue();
+        assertThat(compiled.dayStart(DayOfWeek.SATURDAY)).isEqualTo(480);
+        assertThat(compiled.isActive(DayOfWeek.SUNDAY)).isFalse();
+        assertThat(compiled.workingMinutes(DATE.plusDays(1), Collections.emptyList()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void blockIntervalTreeMatchesLinearOverlapScan() {
+        Random random = new Random(7);
+        List<ScheduleBlock> blocks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDate start = DATE.plusDays(random.nextInt(700));
+            if (random.nextBoolean()) {
+                blocks.add(ScheduleBlock.createFullDayBlock(null, start, start.plusDays(random.nextInt(15)), "férias", BlockType.BLOCKED));
+            } else {
+                int from = 8 * 60 + random.nextInt(20) * 30;
+                blocks.add(ScheduleBlock.createPartialBlock(null, start, DayBitmap.toTime(from), DayBitmap.toTime(from + 30 + random.nextInt(4) * 30), "médico", BlockType.BLOCKED));
+            }
+        }
+        BlockIntervalTree tree = BlockIntervalTree.of(blocks);
+
+        for (int round = 0; round < 2000; round++) {
+            LocalDate s = DATE.plusDays(random.nextInt(720) - 10);
+            boolean fullDay = random.nextBoolean();
+            LocalDate e = fullDay ? s.plusDays(random.nextInt(5)) : s;
+            int from = 8 * 60 + random.nextInt(20) * 30;
+            LocalTime st = fullDay ? null : DayBitmap.toTime(from);
+            LocalTime et = fullDay ? null : DayBitmap.toTime(from + 30);
+
+            boolean expected = false;
+            for (ScheduleBlock b : blocks) {
+                if (e.isBefore(b.getStartDate()) || s.isAfter(b.getEndDate())) continue;
+                if (fullDay || b.isFullDay()
+                        || (s.equals(b.getStartDate()) && st.isBefore(b.getEndTime()) && et.isAfter(b.getStartTime()))) {
+                    expected = true;
+                    break;
+                }
+            }
+
+            assertThat(tree.findConflict(s, e, fullDay, st, et) != BlockIntervalTree.Conflict.NONE)
+                    .as("round %d", round)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void matchesNaiveSlotLoopOnRandomDays() {
+        Random random = new Random(42);
+
+        for (int round = 0; round < 500; round++) {
+            int dayStart = 6 * 60 + random.nextInt(4) * 30;
+            int dayEnd = dayStart + 4 * 60 + random.nextInt(10) * 30;
+
+            ScheduleDTOs.DayConfig day = new ScheduleDTOs.DayConfig();
+            day.setDayOfWeek(DayOfWeek.SATURDAY);
+            day.setActive(true);
+            day.setStartTime(DayBitmap.toTime(dayStart));
+            day.setEndTime(DayBitmap.toTime(dayEnd));
+            List<ScheduleDTOs.IntervalDTO> breaks = new ArrayList<>();
+            int cursor = dayStart + 60;
+            while (cursor + 30 < dayEnd && random.nextBoolean()) {
+                int len = 5 + random.nextInt(6) * 5;
+                breaks.add(interval(cursor, cursor + len));
+                cursor += len + 60 + random.nextInt(60);
+            }
+            day.setBreaks(breaks);
+
+            List<int[]> appointments = new ArrayList<>();
+            DayBitmap busy = new DayBitmap();
+            for (int i = 0, n = random.nextInt(8); i < n; i++) {
+                int s = dayStart + random.nextInt(dayEnd - dayStart);
+                int e = Math.min(s + 15 + random.nextInt(60), 1439);
+                appointments.add(new int[]{s, e});
+                AvailabilityEngine.markBusy(busy, DayBitmap.toTime(s), DayBitmap.toTime(e));
+            }
+
+            int duration = 15 + random.nextInt(8) * 5;
+            int step = 5 * (1 + random.nextInt(4));
+
+            DayBitmap working = AvailabilityEngine.workingMinutes(day, DATE, Collections.emptyList());
+            int[] out = new int[DayBitmap.MINUTES_PER_DAY];
+            int count = AvailabilityEngine.findStarts(working, busy, duration, step, 0, out);
+
+            assertThat(Arrays.copyOf(out, count))
+                    .as("round %d", round)
+                    .containsExactly(naive(dayStart, dayEnd, breaks, appointments, duration, step));
+        }
+    }
+
+    /** Reimplementação direta do laço antigo (cursor de step em step + varredura dos ocupados). */
+    private static int[] naive(int dayStart, int dayEnd, List<ScheduleDTOs.IntervalDTO> breaks,
+                               List<int[]> busy, int duration, int step) {
+        List<int[]> free = new ArrayList<>();
+        free.add(new int[]{dayStart, dayEnd});
+        for (ScheduleDTOs.IntervalDTO br : breaks) {
+            int bs = DayBitmap.minuteOf(br.getStart());
+            int be = DayBitmap.minuteOf(br.getEnd());
+            List<int[]> next = new ArrayList<>();
+            for (int[] i : free) {
+                if (!(i[0] < be && i[1] > bs)) { next.add(i); continue; }
+                if (i[0] < bs) next.add(new int[]{i[0], bs});
+                if (i[1] > be) next.add(new int[]{be, i[1]});
+            }
+            free = next;
+        }
+
+        List<Integer> res = new ArrayList<>();
+        for (int[] i : free) {
+            for (int c = i[0]; c + duration <= i[1]; c += step) {
+                boolean collides = false;
+                for (int[] b : busy) {
+                    if (c < b[1] && c + duration > b[0]) { collides = true; break; }
+                }
+                if (!collides) res.add(c);
+            }
+        }
+        return res.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static ScheduleDTOs.DayConfig day(String start, String end, String... breaks) {
+        ScheduleDTOs.DayConfig d = new ScheduleDTOs.DayConfig();
+        d.setDayOfWeek(DATE.getDayOfWeek());
+        d.setActive(true);
+        d.setStartTime(LocalTime.parse(start));
+        d.setEndTime(LocalTime.parse(end));
+        List<ScheduleDTOs.IntervalDTO> list = new ArrayList<>();
+        for (int i = 0; i + 1 < breaks.length; i += 2) {
+            list.add(interval(DayBitmap.minuteOf(LocalTime.parse(breaks[i])), DayBitmap.minuteOf(LocalTime.parse(breaks[i + 1]))));
+        }
+        d.setBreaks(list);
+        return d;
+    }
+
+    private static ScheduleDTOs.IntervalDTO interval(int start, int end) {
+        ScheduleDTOs.IntervalDTO i = new ScheduleDTOs.IntervalDTO();
+        i.setStart(DayBitmap.toTime(start));
+        i.setEnd(DayBitmap.toTime(end));
+        return i;
+    }
+}
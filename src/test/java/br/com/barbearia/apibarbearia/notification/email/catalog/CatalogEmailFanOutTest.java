@@ -0,0 +1,132 @@
+package br.com.barbearia.apibarbearia.notification.email.catalog;
+
+import br.com.barbearia.apibarbearia.catalog.events.CatalogChangedEvent;
+import br.com.barbearia.apibarbearia.catalog.events.CatalogEventType;
+import br.com.barbearia.apibarbearia.catalog.repository.CatalogRepository;
+import br.com.barbearia.apibarbearia.notification.email.digest.EmailDigestBuffer;
+import br.com.barbearia.apibarbearia.notification.email.sender.EmailMessage;
+import br.com.barbearia.apibarbearia.notification.email.sender.EmailSender;
+import br.com.barbearia.apibarbearia.notification.email.template.DigestTemplate;
+import br.com.barbearia.apibarbearia.notification.email.template.EmailLayout;
+import br.com.barbearia.apibarbearia.notification.email.template.catalog.CatalogCreatedTemplate;
+import br.com.barbearia.apibarbearia.notification.email.template.catalog.CatalogDeletedTemplate;
+import br.com.barbearia.apibarbearia.notification.email.template.catalog.CatalogStatusTemplate;
+import br.com.barbearia.apibarbearia.notification.email.template.catalog.CatalogUpdatedTemplate;
+import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import br.com.barbearia.apibarbearia.users.repository.UserRepository.EmailRecipient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class CatalogEmailFanOutTest {
+
+    private static final Long AUTHOR = 1L;
+    private static final Long RESPONSIBLE = 2L;
+
+    private UserRepository userRepository;
+    private CatalogRepository catalogRepository;
+    private CatalogEmailNotificationService emails;
+    private EmailSender emailSender;
+    private SimpleMeterRegistry registry;
+    private EmailDigestBuffer digest;
+    private CatalogEmailFanOut fanOut;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        catalogRepository = mock(CatalogRepository.class);
+        emailSender = mock(EmailSender.class);
+        registry = new SimpleMeterRegistry();
+
+        EmailLayout layout = new EmailLayout("Barbearia", "https://front");
+        emails = spy(new CatalogEmailNotificationService(new CatalogCreatedTemplate(layout),
+                new CatalogUpdatedTemplate(layout), new CatalogDeletedTemplate(layout), new CatalogStatusTemplate(layout)));
+        // janela 0: sem espera, cada público sai em lotes de 2
+        digest = new EmailDigestBuffer(emailSender, new DigestTemplate(layout), registry, 0, 100, 20, 2, 1, 16);
+        fanOut = new CatalogEmailFanOut(userRepository, catalogRepository, emails, digest, registry, 1, 16);
+
+        when(catalogRepository.findResponsibleIds(10L)).thenReturn(Collections.singletonList(RESPONSIBLE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOut.shutdown();
+        digest.shutdown();
+    }
+
+    @Test
+    void rendersOncePerAudienceAndHandsEachAudienceToTheDigest() throws InterruptedException {
+        List<EmailRecipient> users = new ArrayList<>();
+        users.add(recipient(AUTHOR, "Admin"));
+        users.add(recipient(RESPONSIBLE, "Barbeiro"));
+        for (long id = 3; id <= 6; id++) users.add(recipient(id, "Cliente <" + id + ">"));
+        when(userRepository.findActiveEmailRecipients()).thenReturn(users);
+        when(emailSender.sendAll(anyList())).thenAnswer(inv -> {
+            List<EmailMessage> batch = inv.getArgument(0);
+            return batch.stream().filter(m -> m.getTo().startsWith("u5")).collect(Collectors.toList());
+        });
+
+        fanOut.fanOut(event(CatalogEventType.CREATED));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmailMessage>> batches = ArgumentCaptor.forClass(List.class);
+        verify(emailSender, timeout(2000).times(4)).sendAll(batches.capture());
+        List<EmailMessage> all = batches.getAllValues().stream().flatMap(List::stream).collect(Collectors.toList());
+
+        assertThat(all).extracting(EmailMessage::getSubject).containsExactly(
+                "Sucesso: Serviço criado no catálogo",
+                "Você é responsável por um novo serviço",
+                "Novidade: Novo serviço no catálogo", "Novidade: Novo serviço no catálogo",
+                "Novidade: Novo serviço no catálogo", "Novidade: Novo serviço no catálogo");
+        assertThat(all.get(2).getHtml()).contains("Olá, Cliente &lt;3&gt;").doesNotContain("\u0000");
+        assertThat(all.get(3).getHtml()).contains("Olá, Cliente &lt;4&gt;");
+        verify(emails, times(3)).compose(any(), any());
+
+        // contadores são atualizados logo depois do sendAll do último lote
+        for (int i = 0; i < 200 && registry.get("mail.digest.sending").gauge().value() > 0; i++) Thread.sleep(10);
+        assertThat(registry.get("mail.digest.messages").tag("result", "sent").counter().count()).isEqualTo(5);
+        assertThat(registry.get("mail.digest.messages").tag("result", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void updateSkipsUsersOutsideTheResponsibleDiff() {
+        CatalogChangedEvent event = new CatalogChangedEvent(CatalogEventType.UPDATED, 10L, "Corte", 30,
+                new BigDecimal("50.00"), true, AUTHOR, "Admin", "admin@barbearia.com",
+                new HashSet<>(Collections.singletonList(7L)), new HashSet<>(Collections.singletonList(8L)));
+        HashSet<Long> responsibles = new HashSet<>(Arrays.asList(RESPONSIBLE, 7L));
+
+        assertThat(CatalogEmailFanOut.audienceOf(event, AUTHOR, responsibles)).isEqualTo(CatalogAudience.AUTHOR);
+        assertThat(CatalogEmailFanOut.audienceOf(event, 7L, responsibles)).isEqualTo(CatalogAudience.ADDED_RESPONSIBLE);
+        assertThat(CatalogEmailFanOut.audienceOf(event, 8L, responsibles)).isEqualTo(CatalogAudience.REMOVED_RESPONSIBLE);
+        assertThat(CatalogEmailFanOut.audienceOf(event, RESPONSIBLE, responsibles)).isEqualTo(CatalogAudience.RESPONSIBLE);
+        assertThat(CatalogEmailFanOut.audienceOf(event, 9L, responsibles)).isNull();
+    }
+
+    private static CatalogChangedEvent event(CatalogEventType type) {
+        return new CatalogChangedEvent(type, 10L, "Corte & Barba", 30, new BigDecimal("60.00"), true,
+                AUTHOR, "Admin", "admin@barbearia.com");
+    }
+
+    private static EmailRecipient recipient(Long id, String name) {
+        return new EmailRecipient() {
+            @Override public Long getId() { return id; }
+            @Override public String getName() { return name; }
+            @Override public String getEmail() { return "u" + id + "@exemplo.com"; }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.barbearia.apibarbearia.notification.email.digest;
+
+import br.com.barbearia.apibarbearia.notification.email.sender.EmailMessage;
+import br.com.barbearia.apibarbearia.notification.email.sender.EmailSender;
+import br.com.barbearia.apibarbearia.notification.email.template.DigestTemplate;
+import br.com.barbearia.apibarbearia.notification.email.template.EmailLayout;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class EmailDigestBufferTest {
+
+    private static final PersonalizedEmail HOURS = item("Agenda atualizada (horário)", "<p>seg 09:00 - 18:00</p>");
+    private static final PersonalizedEmail BREAK = item("Agenda atualizada (pausa)", "<p>seg 12:00 - 13:00</p>");
+
+    private EmailSender emailSender;
+    private SimpleMeterRegistry registry;
+    private EmailDigestBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        emailSender = mock(EmailSender.class);
+        when(emailSender.sendAll(anyList())).thenReturn(Collections.emptyList());
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) buffer.shutdown();
+    }
+
+    @Test
+    void mergesABurstIntoOneDigestPerRecipient() {
+        buffer = buffer(100, 20);
+        buffer.offer("ana@exemplo.com", "Ana <A>", HOURS);
+        buffer.offer("bia@exemplo.com", "Bia", HOURS);
+        buffer.offer("ANA@exemplo.com", "Ana <A>", BREAK);
+
+        assertThat(buffer.flush(System.currentTimeMillis() - 60_000)).isZero();
+        assertThat(buffer.buffered()).isEqualTo(2);
+        assertThat(buffer.flush(Long.MAX_VALUE)).isEqualTo(2);
+
+        List<EmailMessage> sent = captureSent(1);
+        EmailMessage ana = sent.get(0);
+        assertThat(ana.getTo()).isEqualTo("ana@exemplo.com");
+        assertThat(ana.getSubject()).isEqualTo("Resumo: 2 atualizações para você");
+        assertThat(ana.getHtml())
+                .contains("Olá, Ana &lt;A&gt;")
+                .contains("Agenda atualizada (horário)", "<p>seg 09:00 - 18:00</p>")
+                .contains("Agenda atualizada (pausa)", "<p>seg 12:00 - 13:00</p>");
+
+        // Só uma notificação na janela: sai o e-mail normal.
+        EmailMessage bia = sent.get(1);
+        assertThat(bia.getSubject()).isEqualTo("Agenda atualizada (horário)");
+        assertThat(bia.getHtml()).isEqualTo(HOURS.html("Bia"));
+
+        assertThat(registry.get("mail.digest.emails").tag("type", "digest").counter().count()).isEqualTo(1);
+        assertThat(registry.get("mail.digest.emails").tag("type", "single").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void capacityLimitsSendBeforeTheWindowCloses() {
+        buffer = buffer(1, 2);
+        buffer.offer("ana@exemplo.com", "Ana", HOURS);
+        buffer.offer("ana@exemplo.com", "Ana", BREAK); // max-items: sai na hora
+        List<EmailMessage> first = captureSent(1);
+        assertThat(first).extracting(EmailMessage::getSubject).containsExactly("Resumo: 2 atualizações para você");
+        assertThat(buffer.buffered()).isZero();
+
+        buffer.offer("ana@exemplo.com", "Ana", HOURS);
+        buffer.offer("bia@exemplo.com", "Bia", HOURS); // max-recipients: Ana sai para abrir espaço
+        List<EmailMessage> second = captureSent(2);
+        assertThat(second.subList(1, 2)).extracting(EmailMessage::getTo).containsExactly("ana@exemplo.com");
+        assertThat(buffer.buffered()).isEqualTo(1);
+    }
+
+    private EmailDigestBuffer buffer(int maxRecipients, int maxItems) {
+        DigestTemplate template = new DigestTemplate(new EmailLayout("Barbearia", "https://front"));
+        return new EmailDigestBuffer(emailSender, template, registry, 120, maxRecipients, maxItems, 50, 1, 16);
+    }
+
+    /** Todas as mensagens enviadas até a chamada {@code calls} de sendAll, em ordem. */
+    private List<EmailMessage> captureSent(int calls) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmailMessage>> batches = ArgumentCaptor.forClass(List.class);
+        verify(emailSender, timeout(2000).times(calls)).sendAll(batches.capture());
+        return batches.getAllValues().stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    private static PersonalizedEmail item(String subject, String content) {
+        return PersonalizedEmail.render(subject, nome -> "<h1>Olá, " + nome + "</h1>" + content, content);
+    }
+}
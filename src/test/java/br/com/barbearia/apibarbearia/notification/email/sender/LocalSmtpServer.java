@@ -0,0 +1,130 @@
+package br.com.barbearia.apibarbearia.notification.email.sender;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo em memória (sem TLS/AUTH) para testar o envio de ponta a ponta.
+ * Conta conexões, guarda os destinatários aceitos e recusa com 550 qualquer endereço
+ * que contenha "recusado". Com {@link #stall()}, aceita conexões e não responde nada.
+ */
+final class LocalSmtpServer implements AutoCloseable {
+
+    final AtomicInteger connections = new AtomicInteger();
+    final List<String> delivered = new CopyOnWriteArrayList<>();
+
+    private final ServerSocket server;
+    private final Set<Socket> open = ConcurrentHashMap.newKeySet();
+    private volatile boolean stalled;
+
+    LocalSmtpServer() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "local-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    /** Novas conexões ficam sem resposta, como um servidor travado. */
+    void stall() {
+        stalled = true;
+    }
+
+    /** Derruba as conexões abertas, como um servidor que encerra sessões ociosas. */
+    void dropConnections() throws IOException {
+        for (Socket socket : open) socket.close();
+        open.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        dropConnections();
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.incrementAndGet();
+                open.add(socket);
+                Thread session = new Thread(() -> serve(socket), "local-smtp-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.ISO_8859_1));
+            OutputStream out = s.getOutputStream();
+            if (stalled) {
+                while (in.readLine() != null) {
+                    // lê e não responde, até o cliente desistir
+                }
+                return;
+            }
+            reply(out, "220 localhost ESMTP");
+
+            String rcpt = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String cmd = line.toUpperCase();
+                if (cmd.startsWith("EHLO")) {
+                    reply(out, "250-localhost\r\n250 8BITMIME");
+                } else if (cmd.startsWith("HELO") || cmd.startsWith("MAIL FROM") || cmd.startsWith("NOOP")) {
+                    reply(out, "250 OK");
+                } else if (cmd.startsWith("RSET")) {
+                    rcpt = null;
+                    reply(out, "250 OK");
+                } else if (cmd.startsWith("RCPT TO")) {
+                    if (line.contains("recusado")) {
+                        reply(out, "550 5.1.1 Usuario desconhecido");
+                    } else {
+                        rcpt = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                        reply(out, "250 OK");
+                    }
+                } else if (cmd.equals("DATA")) {
+                    reply(out, "354 Fim com <CRLF>.<CRLF>");
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // corpo descartado
+                    }
+                    delivered.add(rcpt);
+                    rcpt = null;
+                    reply(out, "250 OK enfileirado");
+                } else if (cmd.startsWith("QUIT")) {
+                    reply(out, "221 Tchau");
+                    return;
+                } else {
+                    reply(out, "502 Comando nao implementado");
+                }
+            }
+        } catch (IOException e) {
+            // conexão derrubada
+        } finally {
+            open.remove(socket);
+        }
+    }
+
+    private static void reply(OutputStream out, String text) throws IOException {
+        out.write((text + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+    }
+}
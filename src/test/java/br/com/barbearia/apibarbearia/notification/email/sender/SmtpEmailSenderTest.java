@@ -0,0 +1,134 @@
+package br.com.barbearia.apibarbearia.notification.email.sender;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SmtpEmailSenderTest {
+
+    private LocalSmtpServer server;
+    private SmtpConnectionPool pool;
+    private SmtpEmailSender sender;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new LocalSmtpServer();
+
+        JavaMailSenderImpl mail = new JavaMailSenderImpl();
+        mail.setHost("127.0.0.1");
+        mail.setPort(server.port());
+        Properties props = new Properties();
+        props.put("mail.smtp.timeout", "5000");
+        props.put("mail.smtp.connectiontimeout", "5000");
+        mail.setJavaMailProperties(props);
+
+        registry = new SimpleMeterRegistry();
+        pool = new SmtpConnectionPool(mail, registry, 2, 60_000, 100, 5_000, 5_000, 5_000);
+        sender = new SmtpEmailSender(pool);
+        ReflectionTestUtils.setField(sender, "from", "contato@barbearia.com");
+        ReflectionTestUtils.setField(sender, "fromName", "Barbearia");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pool.shutdown();
+        server.close();
+    }
+
+    @Test
+    void consecutiveSendsReuseOneSession() {
+        sender.sendHtml("a@exemplo.com", "Olá", "<p>1</p>");
+        sender.sendHtml("b@exemplo.com", "Olá", "<p>2</p>");
+        sender.sendHtml("c@exemplo.com", "Olá", "<p>3</p>");
+
+        assertThat(server.delivered).containsExactly("a@exemplo.com", "b@exemplo.com", "c@exemplo.com");
+        assertThat(server.connections.get()).isEqualTo(1);
+        assertThat(registry.get("mail.smtp.connections").tag("result", "reused").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void sendAllPushesTheBatchOverOneSessionAndReportsRejected() {
+        List<EmailMessage> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) batch.add(new EmailMessage("u" + i + "@exemplo.com", "Lote", "<p>" + i + "</p>"));
+        batch.add(2, new EmailMessage("recusado@exemplo.com", "Lote", "<p>x</p>"));
+
+        List<EmailMessage> failed = sender.sendAll(batch);
+
+        assertThat(failed).extracting(EmailMessage::getTo).containsExactly("recusado@exemplo.com");
+        assertThat(server.delivered).hasSize(5).doesNotContain("recusado@exemplo.com");
+        assertThat(server.connections.get()).isEqualTo(1);
+    }
+
+    @Test
+    void reconnectsWhenTheServerDropsAPooledSession() throws Exception {
+        sender.sendHtml("a@exemplo.com", "Olá", "<p>1</p>");
+        server.dropConnections();
+        Thread.sleep(50);
+
+        sender.sendHtml("b@exemplo.com", "Olá", "<p>2</p>");
+        List<EmailMessage> failed = sender.sendAll(Arrays.asList(
+                new EmailMessage("c@exemplo.com", "Olá", "<p>3</p>"),
+                new EmailMessage("d@exemplo.com", "Olá", "<p>4</p>")));
+
+        assertThat(failed).isEmpty();
+        assertThat(server.delivered).containsExactly("a@exemplo.com", "b@exemplo.com", "c@exemplo.com", "d@exemplo.com");
+        assertThat(server.connections.get()).isEqualTo(2);
+    }
+
+    @Test
+    void stalledServerTimesOutInsteadOfHoldingTheConnection() {
+        JavaMailSenderImpl mail = new JavaMailSenderImpl();
+        mail.setHost("127.0.0.1");
+        mail.setPort(server.port());
+        SmtpConnectionPool bounded = new SmtpConnectionPool(mail, new SimpleMeterRegistry(), 1, 60_000, 100, 5_000, 500, 300);
+        assertThat(mail.getJavaMailProperties())
+                .containsEntry("mail.smtp.connectiontimeout", "500")
+                .containsEntry("mail.smtp.timeout", "300")
+                .containsEntry("mail.smtp.writetimeout", "300");
+        assertThat(pool.createMimeMessage().getSession().getProperty("mail.smtp.timeout")).isEqualTo("5000");
+
+        server.stall();
+        SmtpEmailSender stalled = new SmtpEmailSender(bounded);
+        ReflectionTestUtils.setField(stalled, "from", "contato@barbearia.com");
+        ReflectionTestUtils.setField(stalled, "fromName", "Barbearia");
+
+        long start = System.nanoTime();
+        List<EmailMessage> failed = stalled.sendAll(Arrays.asList(
+                new EmailMessage("a@exemplo.com", "Olá", "<p>1</p>"),
+                new EmailMessage("b@exemplo.com", "Olá", "<p>2</p>")));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(failed).hasSize(2);
+        assertThat(elapsedMs).isLessThan(3_000);
+        // a permissão voltou: o próximo envio não espera o borrow-timeout
+        assertThatThrownBy(() -> stalled.sendHtml("c@exemplo.com", "Olá", "<p>3</p>"))
+                .hasMessage("Falha ao enviar e-mail.");
+        bounded.shutdown();
+    }
+
+    @Test
+    void unreachableServerFailsTheWholeBatchWithoutRetryingEachMessage() throws Exception {
+        server.close();
+
+        List<EmailMessage> failed = sender.sendAll(Arrays.asList(
+                new EmailMessage("a@exemplo.com", "Olá", "<p>1</p>"),
+                new EmailMessage("b@exemplo.com", "Olá", "<p>2</p>")));
+
+        assertThat(failed).hasSize(2);
+        assertThatThrownBy(() -> sender.sendHtml("c@exemplo.com", "Olá", "<p>3</p>"))
+                .hasMessage("Falha ao enviar e-mail.");
+        assertThat(registry.get("mail.smtp.connections").tag("result", "opened").counter().count()).isZero();
+    }
+}
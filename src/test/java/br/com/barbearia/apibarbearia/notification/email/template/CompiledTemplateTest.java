@@ -0,0 +1,62 @@
+package br.com.barbearia.apibarbearia.notification.email.template;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledTemplateTest {
+
+    @Test
+    void escapesTextSlotsAndKeepsRawSlots() {
+        CompiledTemplate template = CompiledTemplate.compile(
+                "<p title='{{name}}'>{{name}}</p>{{{html}}}", "name", "html");
+
+        assertThat(template.render("Ana & <Bia>", "<b>ok</b>"))
+                .isEqualTo("<p title='Ana &amp; &lt;Bia&gt;'>Ana &amp; &lt;Bia&gt;</p><b>ok</b>");
+        assertThat(template.render(null, null)).isEqualTo("<p title=''></p>");
+    }
+
+    @Test
+    void fragmentsComposeIntoRawSlots() {
+        CompiledTemplate row = CompiledTemplate.compile("<li>{{item}} ✨</li>", "item");
+        CompiledTemplate list = CompiledTemplate.compile("<ul>{{{first}}}{{{second}}}</ul>", "first", "second");
+
+        assertThat(list.render(row.bind("a'b"), null)).isEqualTo("<ul><li>a&#39;b ✨</li></ul>");
+        assertThatThrownBy(() -> row.render(row.bind("x")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnknownUnusedOrMissingValues() {
+        assertThatThrownBy(() -> CompiledTemplate.compile("{{a}}{{b}}", "a"))
+                .hasMessageContaining("desconhecido: b");
+        assertThatThrownBy(() -> CompiledTemplate.compile("{{a}}", "a", "b"))
+                .hasMessageContaining("não usado no template: b");
+        assertThatThrownBy(() -> CompiledTemplate.compile("{{a", "a"))
+                .hasMessageContaining("sem fechamento");
+        assertThatThrownBy(() -> CompiledTemplate.compile("{{a}}", "a").render())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void escapeReturnsSameInstanceWhenNothingToEscape() {
+        String plain = "Corte e barba";
+        assertThat(CompiledTemplate.escape(plain)).isSameAs(plain);
+        assertThat(CompiledTemplate.escape("\"x\"")).isEqualTo("&quot;x&quot;");
+    }
+
+    @Test
+    void baseLayoutRendersButtonOnlyWithUrl() {
+        EmailLayout layout = new EmailLayout("Barbearia <Top>", "https://front");
+
+        String withButton = layout.baseTemplate("Olá", "Sub", "<p>c</p>", "Ver", "https://front/x?a=1&b=2");
+        assertThat(withButton)
+                .contains("Barbearia &lt;Top&gt;")
+                .contains("<a href='https://front/x?a=1&amp;b=2' class='btn'>Ver</a>");
+
+        assertThat(layout.baseTemplate("Olá", "Sub", "<p>c</p>", "Ver", null))
+                .doesNotContain("class='btn'")
+                .contains("<p>c</p>");
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.barbearia.apibarbearia.users.service;
+
+import br.com.barbearia.apibarbearia.users.dto.UserProfile;
+import br.com.barbearia.apibarbearia.users.entity.Role.Role;
+import br.com.barbearia.apibarbearia.users.entity.User;
+import br.com.barbearia.apibarbearia.users.events.UserProfileChangedEvent;
+import br.com.barbearia.apibarbearia.users.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserDirectoryTest {
+
+    private final UserRepository repository = mock(UserRepository.class);
+    private final UserDirectory directory = new UserDirectory(repository, new SimpleMeterRegistry(), 100, 600);
+
+    @Test
+    void servesFromMemoryUntilTheUserChanges() {
+        when(repository.findById(7L)).thenReturn(Optional.of(user("Ana"))).thenReturn(Optional.of(user("Ana Paula")));
+
+        assertThat(directory.find(7L)).map(UserProfile::getName).contains("Ana");
+        assertThat(directory.find(7L)).map(UserProfile::getName).contains("Ana");
+        verify(repository, times(1)).findById(7L);
+
+        directory.onProfileChanged(new UserProfileChangedEvent(7L));
+
+        assertThat(directory.find(7L)).map(UserProfile::getName).contains("Ana Paula");
+        verify(repository, times(2)).findById(7L);
+        assertThat(directory.hitRatio()).isEqualTo(1 / 3.0);
+    }
+
+    @Test
+    void loadRacingAnEvictionIsNotStored() {
+        when(repository.findById(7L)).thenAnswer(inv -> {
+            directory.evict(7L); // alteração commitada enquanto a leitura estava no banco
+            return Optional.of(user("Ana"));
+        });
+
+        assertThat(directory.find(7L)).isPresent();
+        assertThat(directory.size()).isZero();
+    }
+
+    private static User user(String name) {
+        return User.builder().id(7L).name(name).email("ana@barbearia.com").role(Role.STAFF).active(true).build();
+    }
+}